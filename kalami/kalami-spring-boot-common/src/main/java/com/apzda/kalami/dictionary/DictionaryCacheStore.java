@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.dictionary;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 字典缓存的二级(集中式)存储，同时负责在集群内广播失效通知.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface DictionaryCacheStore {
+
+    /**
+     * 批量读取, 只返回存在的key. 值为null表示已确认不存在的字典项.
+     */
+    @Nonnull
+    Map<String, Object> getAll(@Nonnull Collection<String> keys);
+
+    void putAll(@Nonnull Map<String, Object> entries, @Nonnull Duration ttl);
+
+    /**
+     * 删除以<code>prefix</code>开头的缓存并通知集群内所有节点, prefix为null时删除全部.
+     */
+    void evict(@Nullable String prefix);
+
+    /**
+     * 订阅集群内的失效通知
+     */
+    void subscribe(@Nonnull EvictionListener listener);
+
+    @FunctionalInterface
+    interface EvictionListener {
+
+        void onEvicted(@Nullable String prefix);
+
+    }
+
+}
@@ -16,6 +16,10 @@
  */
 package com.apzda.kalami.dictionary;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * @author ninggf (windywany@gmail.com)
  * @version 1.0.0
@@ -28,4 +32,23 @@ public interface Transformer<T> {
 
     Object transform(T value, boolean all);
 
+    default Map<T, Object> transformAll(Collection<T> values) {
+        return transformAll(values, false);
+    }
+
+    /**
+     * 批量转换. 默认逐个调用{@link #transform(Object, boolean)}，需要远程调用的转换器应重写此方法一次完成转换.
+     * @param values 待转换的值
+     * @param all 是否返回整个对象
+     * @return 值 -> 转换结果，未包含的值视为转换结果为null
+     * @throws RuntimeException 批量转换失败时抛出，调用方可退回逐个转换
+     */
+    default Map<T, Object> transformAll(Collection<T> values, boolean all) {
+        Map<T, Object> result = new HashMap<>(values.size());
+        for (T value : values) {
+            result.put(value, transform(value, all));
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.event;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 字典变更事件，发布后清除字典缓存.
+ * <p/>
+ * <code>code</code>为字典表(sys_dict_item)中的字典编码，<code>table</code>为通过{@code @Dict(table=...)}
+ * 翻译的业务表，二者均为null时清除全部字典缓存. <code>tenantId</code>为null时清除所有租户的缓存.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Getter
+public class DictionaryChangedEvent extends ApplicationEvent {
+
+    private final String table;
+
+    private final String code;
+
+    private final String tenantId;
+
+    public DictionaryChangedEvent(@Nonnull Object source, @Nullable String table, @Nullable String code) {
+        this(source, table, code, null);
+    }
+
+    public DictionaryChangedEvent(@Nonnull Object source, @Nullable String table, @Nullable String code,
+            @Nullable String tenantId) {
+        super(source);
+        this.table = table;
+        this.code = code;
+        this.tenantId = tenantId;
+    }
+
+    @Nonnull
+    public static DictionaryChangedEvent ofCode(@Nonnull Object source, @Nonnull String code) {
+        return new DictionaryChangedEvent(source, null, code);
+    }
+
+    @Nonnull
+    public static DictionaryChangedEvent ofTable(@Nonnull Object source, @Nonnull String table) {
+        return new DictionaryChangedEvent(source, table, null);
+    }
+
+}
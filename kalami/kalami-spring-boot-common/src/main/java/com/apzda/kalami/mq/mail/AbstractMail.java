@@ -18,7 +18,6 @@
 package com.apzda.kalami.mq.mail;
 
 import cn.hutool.core.util.StrUtil;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -33,7 +32,6 @@ import java.util.UUID;
  * @version 1.0.0
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public abstract class AbstractMail implements IMail {
 
@@ -53,6 +51,23 @@ public abstract class AbstractMail implements IMail {
 
     private Map<String, String> properties = new HashMap<>();
 
+    /**
+     * 已编码的内容，{@link #content}为空时按需转换(二进制内容转为Base64).
+     */
+    protected byte[] rawContent;
+
+    public AbstractMail(String mailId, String recipients, String content, Long postTime, Boolean transactional,
+            boolean async, String contentType, Map<String, String> properties) {
+        this.mailId = mailId;
+        this.recipients = recipients;
+        this.content = content;
+        this.postTime = postTime;
+        this.transactional = transactional;
+        this.async = async;
+        this.contentType = contentType;
+        this.properties = properties;
+    }
+
     @Override
     public String toString() {
         return StrUtil.format("id={}, recipients={}, type={}, content={}", getMailId(), getRecipients(),
@@ -66,6 +81,26 @@ public abstract class AbstractMail implements IMail {
         return mailId;
     }
 
+    @Override
+    public String getContent() {
+        if (content == null && rawContent != null) {
+            content = IMail.toContent(rawContent, hasBinaryContent());
+        }
+        return content;
+    }
+
+    @Override
+    public void setContent(String content) {
+        this.content = content;
+        this.rawContent = null;
+    }
+
+    @Override
+    public void setRawContent(byte[] rawContent) {
+        this.rawContent = rawContent;
+        this.content = null;
+    }
+
     @Override
     public void addProperty(String key, String value) {
         properties.put(key, value);
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Map;
 
 /**
@@ -31,6 +33,16 @@ import java.util.Map;
  */
 public interface IMail {
 
+    /**
+     * 编码属性，未指定时内容为JSON.
+     */
+    String CODEC_PROPERTY = "_codec";
+
+    /**
+     * 压缩属性，未指定时内容未压缩.
+     */
+    String COMPRESSION_PROPERTY = "_compression";
+
     String getMailId();
 
     void setMailId(String id);
@@ -39,6 +51,65 @@ public interface IMail {
 
     void setContent(String content);
 
+    /**
+     * 已编码(UTF-8)的内容，不为空时发送时直接用作消息体.
+     */
+    default byte[] getRawContent() {
+        return null;
+    }
+
+    default void setRawContent(byte[] rawContent) {
+    }
+
+    /**
+     * 获取UTF-8编码的内容，优先使用已编码的内容以避免重复编码.
+     */
+    default byte[] encodeContent() {
+        val rawContent = getRawContent();
+        if (rawContent != null) {
+            return rawContent;
+        }
+        val content = getContent();
+        if (content == null) {
+            return null;
+        }
+        return hasBinaryContent() ? Base64.getDecoder().decode(content) : content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否有内容，不会将已编码的内容转换为字符串.
+     */
+    default boolean hasContent() {
+        val rawContent = getRawContent();
+        if (rawContent != null) {
+            return rawContent.length > 0;
+        }
+        val content = getContent();
+        return StringUtils.isNotBlank(content);
+    }
+
+    /**
+     * 已编码内容的字符串形式.
+     * @param rawContent 已编码的内容
+     * @param binary 是否为二进制内容，是时返回其Base64形式
+     * @return 字符串形式的内容
+     */
+    static String toContent(byte[] rawContent, boolean binary) {
+        if (rawContent == null) {
+            return null;
+        }
+        return binary ? Base64.getEncoder().encodeToString(rawContent) : new String(rawContent, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 内容是否为二进制(非JSON编码或已压缩)，此时{@link #getContent()}为其Base64形式.
+     */
+    default boolean hasBinaryContent() {
+        val properties = getProperties();
+        return properties != null
+                && (properties.containsKey(CODEC_PROPERTY) || properties.containsKey(COMPRESSION_PROPERTY));
+    }
+
     String getRecipients();
 
     void setRecipients(String recipients);
@@ -64,6 +135,9 @@ public interface IMail {
     Map<String, String> getProperties();
 
     default Object payload(ObjectMapper objectMapper) throws ClassNotFoundException, JsonProcessingException {
+        if (hasBinaryContent()) {
+            throw new IllegalStateException(String.format("content of %s is binary and needs its codec", getMailId()));
+        }
         val contentType = getContentType();
         val content = getContent();
         if (StringUtils.isNotBlank(contentType) && StringUtils.isNotBlank(content)) {
@@ -18,6 +18,10 @@ package com.apzda.kalami.service;
 
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author ninggf (windywany@gmail.com)
  * @since 2025/05/16
@@ -27,6 +31,23 @@ public interface CounterService {
 
     int count(@NonNull String key, long interval);
 
+    /**
+     * 批量计数，重复的key只计一次.
+     * @param keys 计数器
+     * @param interval 时间窗口(秒)
+     * @return key与计数的映射，顺序与{@code keys}一致
+     */
+    @NonNull
+    default Map<String, Integer> countAll(@NonNull Collection<String> keys, long interval) {
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (!counts.containsKey(key)) {
+                counts.put(key, count(key, interval));
+            }
+        }
+        return counts;
+    }
+
     default void shutdown() {
     }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.service;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 带防护令牌(fencing token)的分布式锁. 每次成功加锁都会得到一个单调递增的令牌，
+ * 写入共享资源时携带该令牌，资源方拒绝比已见令牌更小的写入，即可防止锁过期后旧持有者的写入.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface FencedLock extends Lock {
+
+    /**
+     * 当前线程持有锁时的防护令牌.
+     * @return 令牌，未持有锁时为0
+     */
+    long getFencingToken();
+
+}
@@ -20,10 +20,13 @@ import com.apzda.kalami.context.KalamiContextHolder;
 import com.apzda.kalami.dictionary.Transformer;
 import com.apzda.kalami.user.UidTransformer;
 import com.apzda.kalami.user.UserInfoService;
+import com.apzda.kalami.utils.TransformerUtils;
 import lombok.val;
 import org.springframework.data.util.Lazy;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -63,4 +66,10 @@ public class TenantTransformer implements Transformer<Serializable> {
         return null;
     }
 
+    @Override
+    public Map<Serializable, Object> transformAll(Collection<Serializable> values, boolean all) {
+        return TransformerUtils.transformAll(values, userInfoService.get().getTenants(values),
+                (vo) -> all ? vo : vo.getShortName());
+    }
+
 }
@@ -21,10 +21,13 @@ import com.apzda.kalami.context.KalamiContextHolder;
 import com.apzda.kalami.dictionary.Transformer;
 import com.apzda.kalami.tenant.Organization;
 import com.apzda.kalami.tenant.Tenant;
+import com.apzda.kalami.utils.TransformerUtils;
 import lombok.val;
 import org.springframework.data.util.Lazy;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -64,6 +67,12 @@ public class UidTransformer implements Transformer<Serializable> {
         return null;
     }
 
+    @Override
+    public Map<Serializable, Object> transformAll(Collection<Serializable> values, boolean all) {
+        return TransformerUtils.transformAll(values, userInfoService.get().getUserInfos(values),
+                (userInfo) -> all ? userInfo : userInfo.getDisplayName());
+    }
+
     public static class DefaultUserInfoService implements UserInfoService {
 
         @Override
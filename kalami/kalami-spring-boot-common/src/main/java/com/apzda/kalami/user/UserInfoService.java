@@ -21,6 +21,10 @@ import com.apzda.kalami.tenant.Organization;
 import com.apzda.kalami.tenant.Tenant;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -36,4 +40,45 @@ public interface UserInfoService {
 
     Agent getAgent(Serializable agentId);
 
+    /**
+     * 批量获取用户信息，默认逐个调用{@link #getUserInfo(Serializable)}. 远程实现应重写为一次调用.
+     * @return uid -> 用户信息，不存在的用户不包含在结果中
+     */
+    default Map<Serializable, UserInfo> getUserInfos(Collection<? extends Serializable> uids) {
+        return getAll(uids, this::getUserInfo);
+    }
+
+    /**
+     * 批量获取租户，默认逐个调用{@link #getTenant(Serializable)}.
+     */
+    default Map<Serializable, Tenant> getTenants(Collection<? extends Serializable> tenantIds) {
+        return getAll(tenantIds, this::getTenant);
+    }
+
+    /**
+     * 批量获取组织，默认逐个调用{@link #getOrganization(Serializable)}.
+     */
+    default Map<Serializable, Organization> getOrganizations(Collection<? extends Serializable> orgIds) {
+        return getAll(orgIds, this::getOrganization);
+    }
+
+    /**
+     * 批量获取代理商，默认逐个调用{@link #getAgent(Serializable)}.
+     */
+    default Map<Serializable, Agent> getAgents(Collection<? extends Serializable> agentIds) {
+        return getAll(agentIds, this::getAgent);
+    }
+
+    private static <V> Map<Serializable, V> getAll(Collection<? extends Serializable> ids,
+            Function<Serializable, V> loader) {
+        Map<Serializable, V> result = new HashMap<>(ids.size());
+        for (Serializable id : ids) {
+            V value = loader.apply(id);
+            if (value != null) {
+                result.put(id, value);
+            }
+        }
+        return result;
+    }
+
 }
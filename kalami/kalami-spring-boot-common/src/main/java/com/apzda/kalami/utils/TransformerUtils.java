@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.utils;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 批量转换工具.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public abstract class TransformerUtils {
+
+    /**
+     * 将批量查询的结果对应回待转换的值.
+     * @param values 待转换的值
+     * @param loaded 批量查询结果(id -> 对象)，不存在的id不包含在其中
+     * @param mapper 对象 -> 转换结果
+     * @return 值 -> 转换结果
+     */
+    @Nonnull
+    public static <T, V> Map<T, Object> transformAll(@Nonnull Collection<T> values, @Nonnull Map<?, V> loaded,
+            @Nonnull Function<V, Object> mapper) {
+        // 返回结果中的id类型可能与传入的不同
+        val byId = new HashMap<String, V>(loaded.size());
+        loaded.forEach((id, vo) -> byId.put(String.valueOf(id), vo));
+        val result = new HashMap<T, Object>(values.size());
+        for (val value : values) {
+            val vo = byId.get(String.valueOf(value));
+            if (vo != null) {
+                result.put(value, mapper.apply(vo));
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.user;
+
+import com.apzda.kalami.context.KalamiContextHolder;
+import com.apzda.kalami.tenant.Organization;
+import com.apzda.kalami.tenant.OrganizationTransformer;
+import com.apzda.kalami.tenant.Tenant;
+import com.apzda.kalami.tenant.TenantTransformer;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class UserInfoTransformerTest {
+
+    private GenericApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void batch_defaults_should_call_single_lookups() {
+        // given
+        val service = spy(new UidTransformer.DefaultUserInfoService() {
+            @Override
+            public UserInfo getUserInfo(Serializable uid) {
+                return "1".equals(uid) ? user("1", "Admin") : null;
+            }
+        });
+        use(service);
+
+        // when
+        val result = new UidTransformer().transformAll(List.of("1", "2"), false);
+
+        // then
+        assertThat(result).hasSize(1).containsEntry("1", "Admin");
+        verify(service).getUserInfo("1");
+        verify(service).getUserInfo("2");
+    }
+
+    @Test
+    void overridden_batch_methods_should_be_called_once() {
+        // given: 返回结果中的id为Long
+        val service = spy(new UidTransformer.DefaultUserInfoService() {
+            @Override
+            public Map<Serializable, Tenant> getTenants(Collection<? extends Serializable> tenantIds) {
+                val tenant = new Tenant();
+                tenant.setId("1");
+                tenant.setShortName("T1");
+                return Map.of(1L, tenant);
+            }
+        });
+        use(service);
+
+        // when
+        val names = new TenantTransformer().transformAll(List.of("1", "2"), false);
+        val tenants = new TenantTransformer().transformAll(List.of("1"), true);
+
+        // then
+        assertThat(names).hasSize(1).containsEntry("1", "T1");
+        assertThat(tenants.get("1")).isInstanceOf(Tenant.class);
+        verify(service, times(2)).getTenants(any());
+        verify(service, never()).getTenant(any());
+    }
+
+    @Test
+    void batch_failure_should_propagate() {
+        // given
+        use(new UidTransformer.DefaultUserInfoService() {
+            @Override
+            public Map<Serializable, Organization> getOrganizations(Collection<? extends Serializable> orgIds) {
+                throw new IllegalStateException("unavailable");
+            }
+        });
+
+        // then
+        assertThatThrownBy(() -> new OrganizationTransformer().transformAll(List.of("1"), false))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void use(UserInfoService service) {
+        context = new GenericApplicationContext();
+        context.registerBean(UserInfoService.class, () -> service);
+        context.refresh();
+        new KalamiContextHolder() {
+        }.setApplicationContext(context);
+    }
+
+    private static UserInfo user(String uid, String displayName) {
+        val user = mock(UserInfo.class);
+        when(user.getUid()).thenReturn(uid);
+        when(user.getDisplayName()).thenReturn(displayName);
+        return user;
+    }
+
+}
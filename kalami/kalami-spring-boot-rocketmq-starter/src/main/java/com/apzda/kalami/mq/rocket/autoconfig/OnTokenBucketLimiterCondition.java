@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.autoconfig;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties.LimiterType;
+import lombok.val;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 限流器类型为{@link LimiterType#TOKEN_BUCKET}时匹配. 按绑定配置属性的方式解析类型，
+ * {@code token-bucket}、{@code token_bucket}、{@code TOKEN_BUCKET}等写法均可匹配.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class OnTokenBucketLimiterCondition extends SpringBootCondition {
+
+    static final String PROPERTY = "kalami.rocketmq.limit.type";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        val message = ConditionMessage.forCondition("TokenBucketLimiter");
+        val type = Binder.get(context.getEnvironment()).bind(PROPERTY, LimiterType.class).orElse(LimiterType.COUNTER);
+        if (type == LimiterType.TOKEN_BUCKET) {
+            return ConditionOutcome.match(message.foundExactly(PROPERTY + "=" + type));
+        }
+        return ConditionOutcome.noMatch(message.because(PROPERTY + " is " + type));
+    }
+
+}
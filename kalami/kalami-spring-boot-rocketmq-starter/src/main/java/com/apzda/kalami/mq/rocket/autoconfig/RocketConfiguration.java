@@ -18,6 +18,10 @@
 package com.apzda.kalami.mq.rocket.autoconfig;
 
 import com.apzda.kalami.mq.messenger.IMessenger;
+import com.apzda.kalami.mq.rocket.codec.MessageCodec;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.codec.MessageCompressor;
+import com.apzda.kalami.mq.rocket.concurrent.VirtualThreads;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
 import com.apzda.kalami.mq.rocket.consumer.AbstractConsumer;
 import com.apzda.kalami.mq.rocket.consumer.DefaultConsumer;
@@ -25,6 +29,7 @@ import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
 import com.apzda.kalami.mq.rocket.domain.service.impl.MailboxServiceImpl;
 import com.apzda.kalami.mq.rocket.limiter.DefaultRateLimiter;
 import com.apzda.kalami.mq.rocket.limiter.RateLimiter;
+import com.apzda.kalami.mq.rocket.limiter.TokenBucketRateLimiter;
 import com.apzda.kalami.mq.rocket.listener.ISendCallback;
 import com.apzda.kalami.mq.rocket.messenger.SimpleMessengerImpl;
 import com.apzda.kalami.mq.rocket.messenger.TransactionalMessengerImpl;
@@ -46,6 +51,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.*;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,9 +69,17 @@ class RocketConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    static TransactionChecker transactionChecker(IMailboxService mailboxService, ObjectMapper objectMapper,
+    static MessageCodecs messageCodecs(ObjectMapper objectMapper, ObjectProvider<MessageCodec> codecs,
+            ObjectProvider<MessageCompressor> compressors, RocketMqConfigProperties properties) {
+        return new MessageCodecs(objectMapper, codecs.orderedStream().toList(), compressors.orderedStream().toList(),
+                Math.toIntExact(properties.getMaxDecompressedSize().toBytes()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    static TransactionChecker transactionChecker(IMailboxService mailboxService, MessageCodecs codecs,
             ObjectProvider<ISendCallback> callbackProvider) {
-        return new RocketMqTransactionChecker(mailboxService, objectMapper, callbackProvider.orderedStream().toList());
+        return new RocketMqTransactionChecker(mailboxService, codecs, callbackProvider.orderedStream().toList());
     }
 
     @Bean
@@ -134,10 +148,16 @@ class RocketConfiguration {
     @Bean("simpleMessenger")
     @Qualifier("SimpleMessengerImpl")
     @ConditionalOnMissingBean(name = "simpleMessenger")
-    IMessenger messenger(ClientServiceProvider provider, ObjectMapper objectMapper,
+    IMessenger messenger(ClientServiceProvider provider, MessageCodecs codecs,
             @Autowired(required = false) Producer producer, @Autowired(required = false) RateLimiter limiter,
-            ObjectProvider<ISendCallback> sendCallback) {
-        return new SimpleMessengerImpl(provider, producer, limiter, objectMapper,
+            ObjectProvider<ISendCallback> sendCallback, RocketMqConfigProperties properties) {
+        val virtualThreads = properties.getVirtualThreads();
+        if (virtualThreads.isEnabled()) {
+            return new SimpleMessengerImpl(provider, producer, limiter, codecs,
+                    sendCallback.orderedStream().toList(),
+                    VirtualThreads.newCallbackExecutor("messenger-"));
+        }
+        return new SimpleMessengerImpl(provider, producer, limiter, codecs,
                 sendCallback.orderedStream().toList());
     }
 
@@ -145,22 +165,33 @@ class RocketConfiguration {
     @Qualifier("TransactionalMessengerImpl")
     @ConditionalOnMissingBean(name = "transactionalMessenger")
     @ConditionalOnClass(Transactional.class)
-    IMessenger transactionalMessenger(RocketMqConfigProperties properties, ObjectMapper objectMapper,
+    IMessenger transactionalMessenger(RocketMqConfigProperties properties, MessageCodecs codecs,
             @Autowired(required = false) @Qualifier("TransactionalProducer") Producer producer,
             @Autowired(required = false) @Qualifier("SimpleRocketProducer") Producer simpleProducer,
             IMailboxService mailboxService, ClientServiceProvider clientServiceProvider,
             ObjectProvider<ISendCallback> sendCallback) {
-        return new TransactionalMessengerImpl(properties, producer == null ? simpleProducer : producer, objectMapper,
+        return new TransactionalMessengerImpl(properties, producer == null ? simpleProducer : producer, codecs,
                 mailboxService, clientServiceProvider, sendCallback.orderedStream().toList());
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kalami.rocketmq.limit.enabled", havingValue = "true")
+    @Conditional(OnTokenBucketLimiterCondition.class)
+    RateLimiter tokenBucketRateLimiter(ObjectProvider<CounterService> counter, RocketMqConfigProperties properties,
+            MessageCodecs codecs, ObjectProvider<ISendCallback> sendCallback) {
+        val leaseSize = properties.getLimit().getLeaseSize();
+        return new TokenBucketRateLimiter(leaseSize > 0 ? counter.getIfAvailable() : null, codecs, properties,
+                sendCallback.orderedStream().toList());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(Counter.class)
     @ConditionalOnProperty(name = "kalami.rocketmq.limit.enabled", havingValue = "true")
     RateLimiter defaultRateLimiter(CounterService counter, RocketMqConfigProperties properties,
-            ObjectMapper objectMapper, ObjectProvider<ISendCallback> sendCallback) {
-        return new DefaultRateLimiter(counter, objectMapper, properties, sendCallback.orderedStream().toList());
+            MessageCodecs codecs, ObjectProvider<ISendCallback> sendCallback) {
+        return new DefaultRateLimiter(counter, codecs, properties, sendCallback.orderedStream().toList());
     }
 
     @Configuration
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * 基于Jackson的编解码器.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class JacksonMessageCodec implements MessageCodec {
+
+    private final String name;
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonMessageCodec(@Nonnull String name, @Nonnull ObjectMapper objectMapper) {
+        this.name = name;
+        this.objectMapper = objectMapper;
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    @Override
+    public byte[] encode(@Nonnull Object message) throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Override
+    public Object decode(@Nonnull ByteBuffer body, @Nonnull Type type) throws IOException {
+        val buffer = body.duplicate();
+        val javaType = objectMapper.constructType(type);
+        if (buffer.hasArray()) {
+            return objectMapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                    javaType);
+        }
+        try (val in = new ByteBufferBackedInputStream(buffer)) {
+            return objectMapper.readValue(in, javaType);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * LZ4块压缩，压缩数据前4字节为原始长度.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class Lz4MessageCompressor implements MessageCompressor {
+
+    public static final String NAME = "lz4";
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4SafeDecompressor decompressor;
+
+    private final int maxDecompressedSize;
+
+    public Lz4MessageCompressor() {
+        this(DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * @param maxDecompressedSize 解压后最大长度，超过时拒绝解压
+     */
+    public Lz4MessageCompressor(int maxDecompressedSize) {
+        val factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        // 消息来自外部，使用会检查输入边界的解压器
+        this.decompressor = factory.safeDecompressor();
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    public byte[] compress(@Nonnull byte[] data) {
+        val maxLength = compressor.maxCompressedLength(data.length);
+        val out = new byte[Integer.BYTES + maxLength];
+        ByteBuffer.wrap(out).putInt(data.length);
+        val length = compressor.compress(data, 0, data.length, out, Integer.BYTES, maxLength);
+        return Arrays.copyOf(out, Integer.BYTES + length);
+    }
+
+    @Nonnull
+    @Override
+    public byte[] decompress(@Nonnull ByteBuffer data) throws IOException {
+        val src = MessageCompressor.toArray(data);
+        if (src.length < Integer.BYTES) {
+            throw new IOException("Corrupted lz4 data: " + src.length + " bytes");
+        }
+        val length = ByteBuffer.wrap(src).getInt();
+        MessageCompressor.checkLength(NAME, length, maxDecompressedSize);
+        val out = new byte[length];
+        try {
+            val decompressed = decompressor.decompress(src, Integer.BYTES, src.length - Integer.BYTES, out, 0, length);
+            if (decompressed != length) {
+                throw new IOException("Corrupted lz4 data: expect " + length + " bytes but got " + decompressed);
+            }
+        }
+        catch (RuntimeException e) {
+            throw new IOException("Corrupted lz4 data: " + e.getMessage(), e);
+        }
+        return out;
+    }
+
+}
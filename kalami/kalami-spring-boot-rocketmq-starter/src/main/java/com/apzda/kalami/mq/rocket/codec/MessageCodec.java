@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * 消息编解码器，通过消息属性{@code _codec}协商，未指定时为{@code json}.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface MessageCodec {
+
+    @Nonnull
+    String getName();
+
+    @Nonnull
+    byte[] encode(@Nonnull Object message) throws IOException;
+
+    /**
+     * 解码.
+     * @param body 消息体，其position不会被改变
+     * @param type 目标类型
+     * @return 消息
+     */
+    Object decode(@Nonnull ByteBuffer body, @Nonnull Type type) throws IOException;
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import com.apzda.kalami.mq.mail.IMail;
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编解码器注册表. 内置json，类路径上存在时自动注册smile、cbor、lz4和zstd，
+ * 同名的自定义{@link MessageCodec}或{@link MessageCompressor}会覆盖内置实现.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class MessageCodecs {
+
+    public static final String JSON = "json";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, MessageCodec> codecs = new HashMap<>();
+
+    private final Map<String, MessageCompressor> compressors = new HashMap<>();
+
+    public MessageCodecs(@Nonnull ObjectMapper objectMapper) {
+        this(objectMapper, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public MessageCodecs(@Nonnull ObjectMapper objectMapper, @Nonnull List<MessageCodec> codecs,
+            @Nonnull List<MessageCompressor> compressors) {
+        this(objectMapper, codecs, compressors, MessageCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * @param maxDecompressedSize 内置压缩器解压后的最大长度
+     */
+    public MessageCodecs(@Nonnull ObjectMapper objectMapper, @Nonnull List<MessageCodec> codecs,
+            @Nonnull List<MessageCompressor> compressors, int maxDecompressedSize) {
+        this.objectMapper = objectMapper;
+        val classLoader = MessageCodecs.class.getClassLoader();
+        register(new JacksonMessageCodec(JSON, objectMapper));
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", classLoader)) {
+            register(new SmileMessageCodec(objectMapper));
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", classLoader)) {
+            register(new CBORMessageCodec(objectMapper));
+        }
+        if (ClassUtils.isPresent("net.jpountz.lz4.LZ4Factory", classLoader)) {
+            register(new Lz4MessageCompressor(maxDecompressedSize));
+        }
+        if (ClassUtils.isPresent("com.github.luben.zstd.Zstd", classLoader)) {
+            register(ZstdMessageCompressor.withMaxDecompressedSize(maxDecompressedSize));
+        }
+        codecs.forEach(this::register);
+        compressors.forEach(this::register);
+        log.debug("Message codecs: {}, compressors: {}", this.codecs.keySet(), this.compressors.keySet());
+    }
+
+    public void register(@Nonnull MessageCodec codec) {
+        codecs.put(codec.getName(), codec);
+    }
+
+    public void register(@Nonnull MessageCompressor compressor) {
+        compressors.put(compressor.getName(), compressor);
+    }
+
+    @Nonnull
+    public MessageCodec getCodec(String name) {
+        val codec = codecs.get(StringUtils.defaultIfBlank(name, JSON));
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format("Message codec '%s' is not available", name));
+        }
+        return codec;
+    }
+
+    @Nonnull
+    public MessageCompressor getCompressor(@Nonnull String name) {
+        val compressor = compressors.get(name);
+        if (compressor == null) {
+            throw new IllegalArgumentException(String.format("Message compressor '%s' is not available", name));
+        }
+        return compressor;
+    }
+
+    /**
+     * 按生产者配置编码消息，并在{@code mail}上记录编码和压缩属性.
+     */
+    @Nonnull
+    public byte[] encode(@Nonnull Object message, @Nonnull RocketMqConfigProperties.ProducerConfig config,
+            @Nonnull IMail mail) throws IOException {
+        val codec = getCodec(config.getCodec());
+        var body = codec.encode(message);
+        if (!JSON.equals(codec.getName())) {
+            mail.addProperty(IMail.CODEC_PROPERTY, codec.getName());
+        }
+        val compression = config.getCompression();
+        if (StringUtils.isNotBlank(compression) && body.length >= config.getCompressThreshold().toBytes()) {
+            val compressor = getCompressor(compression);
+            body = compressor.compress(body);
+            mail.addProperty(IMail.COMPRESSION_PROPERTY, compressor.getName());
+        }
+        return body;
+    }
+
+    /**
+     * 消息是否需要由本注册表解码(非JSON编码或已压缩).
+     */
+    public boolean isEncoded(@Nonnull MessageView messageView) {
+        val properties = messageView.getProperties();
+        return properties.containsKey(IMail.CODEC_PROPERTY) || properties.containsKey(IMail.COMPRESSION_PROPERTY);
+    }
+
+    public Object decode(@Nonnull MessageView messageView, @Nonnull Type type) throws JsonProcessingException {
+        return decode(messageView.getBody(), messageView.getProperties(), type);
+    }
+
+    /**
+     * 获取邮件的负载，用于发送回调.
+     */
+    public Object payload(@Nonnull IMail mail) throws ClassNotFoundException, JsonProcessingException {
+        if (!mail.hasBinaryContent()) {
+            return mail.payload(objectMapper);
+        }
+        val contentType = mail.getContentType();
+        val content = mail.encodeContent();
+        if (StringUtils.isBlank(contentType) || content == null || content.length == 0) {
+            throw new IllegalStateException(String.format("contentType or content of %s is empty", mail.getMailId()));
+        }
+        return decode(ByteBuffer.wrap(content), mail.getProperties(), Class.forName(contentType));
+    }
+
+    private Object decode(@Nonnull ByteBuffer body, @Nonnull Map<String, String> properties, @Nonnull Type type)
+            throws JsonProcessingException {
+        try {
+            val compression = properties.get(IMail.COMPRESSION_PROPERTY);
+            if (StringUtils.isNotBlank(compression)) {
+                body = ByteBuffer.wrap(getCompressor(compression).decompress(body));
+            }
+            return getCodec(properties.get(IMail.CODEC_PROPERTY)).decode(body, type);
+        }
+        catch (JsonProcessingException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+}
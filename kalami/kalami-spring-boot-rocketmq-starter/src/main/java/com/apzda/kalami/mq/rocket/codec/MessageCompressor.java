@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 消息压缩器，通过消息属性{@code _compression}协商.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface MessageCompressor {
+
+    /**
+     * 默认的解压后最大长度.
+     */
+    int DEFAULT_MAX_DECOMPRESSED_SIZE = 32 * 1024 * 1024;
+
+    @Nonnull
+    String getName();
+
+    @Nonnull
+    byte[] compress(@Nonnull byte[] data) throws IOException;
+
+    @Nonnull
+    byte[] decompress(@Nonnull ByteBuffer data) throws IOException;
+
+    /**
+     * 检查压缩数据中声明的原始长度，防止恶意或损坏的消息耗尽内存.
+     * @param name 压缩算法
+     * @param length 声明的原始长度
+     * @param maxSize 允许的最大长度
+     * @throws IOException 长度非法或超过最大长度时
+     */
+    static void checkLength(@Nonnull String name, long length, int maxSize) throws IOException {
+        if (length < 0) {
+            throw new IOException(String.format("Corrupted %s data: invalid length %d", name, length));
+        }
+        if (length > maxSize) {
+            throw new IOException(
+                    String.format("Decompressed %s data too large: %d > %d bytes", name, length, maxSize));
+        }
+    }
+
+    static byte[] toArray(@Nonnull ByteBuffer data) {
+        val buffer = data.duplicate();
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        val bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
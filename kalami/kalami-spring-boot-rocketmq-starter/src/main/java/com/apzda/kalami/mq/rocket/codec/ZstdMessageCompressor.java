@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.codec;
+
+import com.github.luben.zstd.Zstd;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Zstandard压缩.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class ZstdMessageCompressor implements MessageCompressor {
+
+    public static final String NAME = "zstd";
+
+    private final int level;
+
+    private final int maxDecompressedSize;
+
+    public ZstdMessageCompressor() {
+        this(Zstd.defaultCompressionLevel());
+    }
+
+    public ZstdMessageCompressor(int level) {
+        this(level, DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * @param level 压缩级别
+     * @param maxDecompressedSize 解压后最大长度，超过时拒绝解压
+     */
+    public ZstdMessageCompressor(int level, int maxDecompressedSize) {
+        this.level = level;
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    /**
+     * 使用默认压缩级别.
+     * @param maxDecompressedSize 解压后最大长度，超过时拒绝解压
+     */
+    @Nonnull
+    public static ZstdMessageCompressor withMaxDecompressedSize(int maxDecompressedSize) {
+        return new ZstdMessageCompressor(Zstd.defaultCompressionLevel(), maxDecompressedSize);
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    public byte[] compress(@Nonnull byte[] data) {
+        return Zstd.compress(data, level);
+    }
+
+    @Nonnull
+    @Override
+    public byte[] decompress(@Nonnull ByteBuffer data) throws IOException {
+        val src = MessageCompressor.toArray(data);
+        // rocketmq-client-java内嵌了较旧的zstd-jni，只能使用两者共有的API
+        @SuppressWarnings("deprecation")
+        val length = Zstd.decompressedSize(src);
+        if (length < 0) {
+            throw new IOException("Corrupted zstd data: unknown content size " + length);
+        }
+        MessageCompressor.checkLength(NAME, length, maxDecompressedSize);
+        try {
+            return Zstd.decompress(src, (int) length);
+        }
+        catch (RuntimeException e) {
+            throw new IOException("Corrupted zstd data: " + e.getMessage(), e);
+        }
+    }
+
+}
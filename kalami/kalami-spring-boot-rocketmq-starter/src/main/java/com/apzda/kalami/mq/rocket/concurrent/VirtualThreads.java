@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.concurrent;
+
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.slf4j.MDC;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 虚拟线程工具，当前JDK(低于21)不支持虚拟线程时回退为平台线程.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public abstract class VirtualThreads {
+
+    /**
+     * 创建有并发上限的执行器，提交的任务会携带提交者的MDC上下文.
+     * <p>
+     * 提交不会阻塞调用者: 每个任务都在新线程中运行，在线程内取得许可后才执行，超出上限的任务在各自线程中等待.
+     * @param prefix 线程名前缀
+     * @param maxConcurrency 最大并发数
+     * @return 执行器
+     */
+    @Nonnull
+    public static SimpleAsyncTaskExecutor newExecutor(@Nonnull String prefix, int maxConcurrency) {
+        val executor = new SimpleAsyncTaskExecutor(prefix);
+        try {
+            executor.setVirtualThreads(true);
+        }
+        catch (UnsupportedOperationException e) {
+            log.warn("Virtual threads are not supported by JDK {}, fallback to platform threads: {}",
+                    Runtime.version(), prefix);
+            executor.setDaemon(true);
+        }
+        val permits = new Semaphore(Math.max(1, maxConcurrency));
+        executor.setTaskDecorator(task -> withPermit(permits, withMdc(task)));
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(30));
+        return executor;
+    }
+
+    /**
+     * 创建不限并发的回调执行器. 回调由有并发上限的任务提交，若与任务共用执行器，并发额度用完时任务与回调会互相等待.
+     * 不支持虚拟线程时使用{@link ForkJoinPool#commonPool()}.
+     * @param prefix 线程名前缀
+     * @return 执行器
+     */
+    @Nonnull
+    public static Executor newCallbackExecutor(@Nonnull String prefix) {
+        val executor = new SimpleAsyncTaskExecutor(prefix);
+        try {
+            executor.setVirtualThreads(true);
+        }
+        catch (UnsupportedOperationException e) {
+            return ForkJoinPool.commonPool();
+        }
+        executor.setTaskDecorator(VirtualThreads::withMdc);
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(30));
+        return executor;
+    }
+
+    /**
+     * 创建线程工厂，用于长时间运行的任务(不受并发上限约束).
+     * @param prefix 线程名前缀
+     * @return 线程工厂
+     */
+    @Nonnull
+    public static ThreadFactory newThreadFactory(@Nonnull String prefix) {
+        try {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        catch (UnsupportedOperationException e) {
+            val counter = new AtomicInteger(0);
+            return r -> {
+                val thread = new Thread(r);
+                thread.setName(prefix + counter.getAndAdd(1));
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    @Nonnull
+    private static Runnable withPermit(@Nonnull Semaphore permits, @Nonnull Runnable task) {
+        return () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            }
+            finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * 将当前线程的MDC上下文(如tid)传递给任务，任务结束后恢复执行线程原有的上下文.
+     * @param task 任务
+     * @return 包装后的任务
+     */
+    @Nonnull
+    public static Runnable withMdc(@Nonnull Runnable task) {
+        val context = MDC.getCopyOfContextMap();
+        return () -> {
+            val previous = MDC.getCopyOfContextMap();
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            else {
+                MDC.clear();
+            }
+            try {
+                task.run();
+            }
+            finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                }
+                else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+
+}
@@ -27,6 +27,7 @@ import org.apache.rocketmq.client.apis.consumer.FilterExpressionType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.boot.web.server.Shutdown;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
@@ -58,10 +59,17 @@ public class RocketMqConfigProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration requestTimeout = Duration.ofSeconds(5);
 
+    /**
+     * 解压后消息体的最大长度，超过时拒绝解压
+     */
+    private DataSize maxDecompressedSize = DataSize.ofMegabytes(32);
+
     private LimitConfig limit = new LimitConfig();
 
     private PostmanConfig postman = new PostmanConfig();
 
+    private VirtualThreadsConfig virtualThreads = new VirtualThreadsConfig();
+
     private Map<String, ConsumerConfig> consumers = new HashMap<>();
 
     private Map<String, ProducerConfig> producers = new HashMap<>();
@@ -79,6 +87,21 @@ public class RocketMqConfigProperties {
 
         private boolean direct;
 
+        /**
+         * 消息编码: json, smile, cbor或自定义MessageCodec的名称
+         */
+        private String codec = "json";
+
+        /**
+         * 压缩算法: lz4, zstd或自定义MessageCompressor的名称，为空时不压缩
+         */
+        private String compression;
+
+        /**
+         * 消息体不小于此值时才压缩
+         */
+        private DataSize compressThreshold = DataSize.ofKilobytes(4);
+
     }
 
     @Data
@@ -126,6 +149,81 @@ public class RocketMqConfigProperties {
                 Duration.ofMinutes(8), Duration.ofMinutes(9), Duration.ofMinutes(10), Duration.ofMinutes(20),
                 Duration.ofMinutes(30), Duration.ofHours(1), Duration.ofHours(2));
 
+        /**
+         * 批量投递配置
+         */
+        private BatchConfig batch = new BatchConfig();
+
+        /**
+         * 提交后立即投递配置
+         */
+        private WakeupConfig wakeup = new WakeupConfig();
+
+    }
+
+    @Data
+    public static class WakeupConfig {
+
+        /**
+         * 是否启用: 事务提交后通过本地就绪队列唤醒投递者，数据库轮询降级为兜底扫描
+         */
+        private boolean enabled = false;
+
+        /**
+         * 就绪队列容量，队列满时由兜底扫描投递
+         */
+        @Min(1)
+        private int capacity = 10000;
+
+        /**
+         * 兜底扫描间隔，默认30秒
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration sweepPeriod = Duration.ofSeconds(30);
+
+    }
+
+    @Data
+    public static class VirtualThreadsConfig {
+
+        /**
+         * 是否使用虚拟线程执行投递、限流与回调任务(需要JDK21+，否则回退为平台线程)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个执行器的最大并发数(发送回调的执行器不受此限制)
+         */
+        @Min(1)
+        private int maxConcurrency = 256;
+
+    }
+
+    @Data
+    public static class BatchConfig {
+
+        /**
+         * 是否启用批量投递
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每次认领的邮件数量
+         */
+        @Min(1)
+        private int size = 100;
+
+        /**
+         * 认领租期，超过租期仍未完成投递的邮件可被其它节点重新认领
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration lease = Duration.ofSeconds(60);
+
+        /**
+         * 节点标识，为空时自动生成
+         */
+        private String nodeId;
+
     }
 
     @Data
@@ -139,10 +237,50 @@ public class RocketMqConfigProperties {
 
         /**
          * The name of a bean which is implemented
-         * {@link com.apzda.kalami.mq.rocket.listener.IMessageListener}.
+         * {@link com.apzda.kalami.mq.rocket.listener.IMessageListener}, or
+         * {@link com.apzda.kalami.mq.rocket.listener.IBatchMessageListener} when batch
+         * consuming is enabled.
          */
         private String listener;
 
+        /**
+         * 批量消费配置
+         */
+        private BatchConsumeConfig batch = new BatchConsumeConfig();
+
+    }
+
+    @Data
+    public static class BatchConsumeConfig {
+
+        /**
+         * 是否启用批量消费
+         */
+        private boolean enabled = false;
+
+        /**
+         * 消费组，为空时使用`{所属消费者的消费组}-batch-{topic}`。同一消费组的订阅关系需保持一致，因此不能与所属消费者的消费组相同
+         */
+        private String group;
+
+        /**
+         * 每批最多消息数
+         */
+        @Min(1)
+        private int size = 32;
+
+        /**
+         * 累积时间窗口，默认1秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration window = Duration.ofSeconds(1);
+
+        /**
+         * 消息不可见时间，未确认的消息在此时间后重新投递
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration invisibleDuration = Duration.ofSeconds(30);
+
     }
 
     @Setter
@@ -174,6 +312,29 @@ public class RocketMqConfigProperties {
         @DurationUnit(ChronoUnit.SECONDS)
         private Duration interval = Duration.ofSeconds(1);
 
+        /**
+         * 限流器类型
+         */
+        private LimiterType type = LimiterType.COUNTER;
+
+        /**
+         * 令牌桶每次从共享计数器中租用的令牌数，大于0时启用集群范围限流
+         */
+        private int leaseSize = 0;
+
+    }
+
+    public enum LimiterType {
+
+        /**
+         * 基于计数器
+         */
+        COUNTER,
+        /**
+         * 基于本地令牌桶
+         */
+        TOKEN_BUCKET
+
     }
 
 }
@@ -19,6 +19,7 @@ package com.apzda.kalami.mq.rocket.consumer;
 
 import cn.hutool.core.util.StrUtil;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.listener.BatchMessageListenerDelegate;
 import com.apzda.kalami.mq.rocket.listener.MessageListenerDelegate;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.PreDestroy;
@@ -69,6 +70,8 @@ public abstract class AbstractConsumer implements ApplicationListener<Applicatio
 
     private final Map<String, MessageListenerDelegate> listeners = new HashMap<>();
 
+    private final List<BatchReceiver> receivers = new ArrayList<>();
+
     protected final ClientServiceProvider clientServiceProvider;
 
     protected final ClientConfiguration clientConfiguration;
@@ -91,6 +94,9 @@ public abstract class AbstractConsumer implements ApplicationListener<Applicatio
     @PreDestroy
     public void close() {
         val consumerName = this.getClass().getSimpleName();
+        for (val receiver : receivers) {
+            receiver.close();
+        }
         if (this.consumer != null) {
             log.debug("{} is closing ...", consumerName);
             try {
@@ -132,10 +138,20 @@ public abstract class AbstractConsumer implements ApplicationListener<Applicatio
                 topicNames.add(topicName);
                 val filter = topic.getFilter();
                 val filterExpression = new FilterExpression(filter.getExpression(), filter.getType());
+                if (topic.getBatch().isEnabled()) {
+                    val delegate = new BatchMessageListenerDelegate(topic, event.getApplicationContext());
+                    receivers.add(createBatchReceiver(topic, filterExpression, delegate));
+                    continue;
+                }
                 filters.put(topicName, filterExpression);
                 listeners.put(topicName, new MessageListenerDelegate(topic, event.getApplicationContext()));
             }
-            this.init();
+            if (!filters.isEmpty()) {
+                this.init();
+            }
+            for (val receiver : receivers) {
+                receiver.start();
+            }
             log.info("{}@{} will consume messages from topics: {}", this.getClass().getSimpleName(), this.consumerGroup,
                     topicNames);
         }
@@ -166,6 +182,20 @@ public abstract class AbstractConsumer implements ApplicationListener<Applicatio
         return listener.consume(messageView);
     }
 
+    @Nonnull
+    protected BatchReceiver createBatchReceiver(@Nonnull RocketMqConfigProperties.TopicConfig topic,
+            @Nonnull FilterExpression filterExpression, @Nonnull BatchMessageListenerDelegate delegate)
+            throws ClientException {
+        val group = StringUtils.hasText(topic.getBatch().getGroup()) ? topic.getBatch().getGroup()
+                : consumerGroup + "-batch-" + topic.getTopic();
+        if (consumerGroup.equals(group)) {
+            // 同一消费组内的订阅关系必须一致，与PushConsumer共用消费组会导致消息丢失或错投
+            throw new IllegalStateException(StrUtil.format("Batch group of topic '{}' must not be the same as {}@{}",
+                    topic.getTopic(), this.getClass().getSimpleName(), consumerGroup));
+        }
+        return new BatchReceiver(clientServiceProvider, clientConfiguration, group, topic, filterExpression, delegate);
+    }
+
     protected void init() throws ClientException {
         this.consumer = this.clientServiceProvider.newPushConsumerBuilder()
             .setClientConfiguration(this.clientConfiguration)
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.consumer;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.listener.BatchMessageListenerDelegate;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.ClientServiceProvider;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.FilterExpression;
+import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
+import org.apache.rocketmq.client.apis.message.MessageView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 基于{@link SimpleConsumer}的批量接收器: 累积消息直到达到批量大小或时间窗口，然后一次性交给监听器处理.
+ * 消费成功的消息会被确认，失败的消息在不可见时间过后重新投递.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class BatchReceiver implements Runnable {
+
+    /**
+     * 单次receive最多能拉取的消息数.
+     */
+    private static final int MAX_RECEIVE_NUM = 32;
+
+    private final String topic;
+
+    private final SimpleConsumer consumer;
+
+    private final BatchMessageListenerDelegate listener;
+
+    private final int size;
+
+    private final long window;
+
+    private final Duration invisibleDuration;
+
+    private final Thread thread;
+
+    /**
+     * 尚未返回的拉取请求，只在接收线程内访问
+     */
+    private CompletableFuture<List<MessageView>> pending;
+
+    private volatile boolean running = true;
+
+    public BatchReceiver(@Nonnull ClientServiceProvider clientServiceProvider,
+            @Nonnull ClientConfiguration clientConfiguration, @Nonnull String group,
+            @Nonnull RocketMqConfigProperties.TopicConfig config, @Nonnull FilterExpression filterExpression,
+            @Nonnull BatchMessageListenerDelegate listener) throws ClientException {
+        val batch = config.getBatch();
+        this.topic = config.getTopic();
+        this.listener = listener;
+        this.size = Math.max(1, batch.getSize());
+        this.window = Math.max(1, batch.getWindow().toMillis());
+        this.invisibleDuration = batch.getInvisibleDuration();
+        this.consumer = clientServiceProvider.newSimpleConsumerBuilder()
+            .setClientConfiguration(clientConfiguration)
+            .setConsumerGroup(group)
+            .setAwaitDuration(batch.getWindow())
+            .setSubscriptionExpressions(Collections.singletonMap(topic, filterExpression))
+            .build();
+        this.thread = new Thread(this, "BatchReceiver-" + topic);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void close() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            consumer.close();
+        }
+        catch (Exception e) {
+            log.warn("Cannot close BatchReceiver of {}: {}", topic, e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                val messages = receive();
+                if (!messages.isEmpty()) {
+                    consume(messages);
+                }
+            }
+            catch (Exception e) {
+                log.warn("BatchReceiver of {} error: {}", topic, e.getMessage());
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                }
+                catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 累积一批消息. 收到首批消息后开始计时，之后每次只等待窗口的剩余时间；SimpleConsumer不支持按次指定等待时长，
+     * 因此以异步方式拉取，超时未返回的拉取保留到下一批继续等待，其结果不会丢失.
+     */
+    @Nonnull
+    private List<MessageView> receive() throws ClientException {
+        val messages = new ArrayList<MessageView>(size);
+        long deadline = 0;
+        while (running && messages.size() < size) {
+            if (pending == null) {
+                pending = consumer.receiveAsync(Math.min(MAX_RECEIVE_NUM, size - messages.size()), invisibleDuration);
+            }
+            final List<MessageView> received;
+            try {
+                if (deadline == 0) {
+                    received = pending.get();
+                }
+                else {
+                    val remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    received = pending.get(remaining, TimeUnit.MILLISECONDS);
+                }
+            }
+            catch (TimeoutException e) {
+                break;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                break;
+            }
+            catch (ExecutionException e) {
+                pending = null;
+                if (e.getCause() instanceof ClientException ce) {
+                    throw ce;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            pending = null;
+
+            if (received.isEmpty()) {
+                if (!messages.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            messages.addAll(received);
+            if (deadline == 0) {
+                deadline = System.currentTimeMillis() + window;
+            }
+        }
+        return messages;
+    }
+
+    private void consume(@Nonnull List<MessageView> messages) {
+        final List<ConsumeResult> results;
+        try {
+            results = listener.consume(messages);
+        }
+        catch (Exception e) {
+            log.warn("Cannot consume {} messages from {}: {}", messages.size(), topic, e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < messages.size(); i++) {
+            if (results.get(i) != ConsumeResult.SUCCESS) {
+                continue;
+            }
+            val messageView = messages.get(i);
+            consumer.ackAsync(messageView).whenComplete((v, e) -> {
+                if (e != null) {
+                    log.warn("Cannot ack message {} of {}: {}", messageView.getMessageId(), topic, e.getMessage());
+                }
+            });
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Consumed {} messages from {}", messages.size(), topic);
+        }
+    }
+
+}
@@ -70,9 +70,29 @@ public class Mailbox implements IMail {
 
     private String remark;
 
+    /**
+     * 批量投递时的认领者标识. 只有批量投递会读写该列，未启用批量投递时无需此列.
+     */
+    @TableField(select = false)
+    private String owner;
+
     @TableField(exist = false)
     private boolean async;
 
+    @TableField(exist = false)
+    private byte[] rawContent;
+
+    /**
+     * 只携带已编码内容时，入库前才转换为字符串.
+     */
+    @Override
+    public String getContent() {
+        if (content == null && rawContent != null) {
+            content = IMail.toContent(rawContent, hasBinaryContent());
+        }
+        return content;
+    }
+
     @Override
     public void addProperty(String key, String value) {
         if (properties == null) {
@@ -19,6 +19,12 @@ package com.apzda.kalami.mq.rocket.domain.service;
 
 import com.apzda.kalami.mq.rocket.domain.entity.Mailbox;
 import com.apzda.kalami.mq.rocket.domain.vo.MailStatus;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -37,4 +43,86 @@ public interface IMailboxService {
 
     boolean removeById(Mailbox trans);
 
+    /**
+     * 认领最多{@code limit}封待投递（或租期已过期）的邮件，认领成功的邮件状态为{@link MailStatus#SENDING}.
+     * @param owner 认领者标识
+     * @param limit 最多认领数量
+     * @param now 当前时间
+     * @param leaseUntil 租期截止时间
+     * @return 认领到的邮件
+     */
+    @Nonnull
+    default List<Mailbox> claim(@Nonnull String owner, int limit, long now, long leaseUntil) {
+        val claimed = new ArrayList<Mailbox>();
+        for (int i = 0; i < limit; i++) {
+            val mail = getByStatusAndNextRetryAtLe(MailStatus.PENDING, now);
+            if (mail == null) {
+                break;
+            }
+            mail.setStatus(MailStatus.SENDING);
+            mail.setOwner(owner);
+            mail.setNextRetryAt(leaseUntil);
+            if (updateStatus(mail, MailStatus.PENDING)) {
+                claimed.add(mail);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 认领指定的待投递邮件(已到投递时间且状态仍为{@link MailStatus#PENDING})，认领成功的邮件状态为{@link MailStatus#SENDING}.
+     * @param owner 认领者标识
+     * @param mails 待认领的邮件
+     * @param now 当前时间
+     * @param leaseUntil 租期截止时间
+     * @return 认领到的邮件
+     */
+    @Nonnull
+    default List<Mailbox> claim(@Nonnull String owner, @Nonnull Collection<Mailbox> mails, long now,
+            long leaseUntil) {
+        val claimed = new ArrayList<Mailbox>();
+        for (val mail : mails) {
+            if (mail.getNextRetryAt() != null && mail.getNextRetryAt() > now) {
+                continue;
+            }
+            mail.setStatus(MailStatus.SENDING);
+            mail.setOwner(owner);
+            mail.setNextRetryAt(leaseUntil);
+            if (updateStatus(mail, MailStatus.PENDING)) {
+                claimed.add(mail);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 批量更新认领到的邮件. 只有状态仍为{@link MailStatus#SENDING}且仍由{@link Mailbox#getOwner()}认领的邮件才会被更新，
+     * 租期过期后已被其它节点重新认领的邮件不会被覆盖.
+     * @param mails 邮件
+     * @return 未能更新(认领已失效)的邮件
+     */
+    @Nonnull
+    default List<Mailbox> batchUpdate(@Nonnull Collection<Mailbox> mails) {
+        val lost = new ArrayList<Mailbox>();
+        for (val mail : mails) {
+            if (!updateStatus(mail, MailStatus.SENDING)) {
+                lost.add(mail);
+            }
+        }
+        return lost;
+    }
+
+    /**
+     * 批量删除邮件(只删除仍由{@link Mailbox#getOwner()}认领的邮件)
+     * @param mails 邮件
+     * @return 是否删除成功
+     */
+    default boolean batchRemove(@Nonnull Collection<Mailbox> mails) {
+        boolean removed = true;
+        for (val mail : mails) {
+            removed = removeById(mail) && removed;
+        }
+        return removed;
+    }
+
 }
@@ -21,12 +21,25 @@ import com.apzda.kalami.mq.rocket.domain.entity.Mailbox;
 import com.apzda.kalami.mq.rocket.domain.mapper.MailboxMapper;
 import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
 import com.apzda.kalami.mq.rocket.domain.vo.MailStatus;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import jakarta.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.ibatis.session.ExecutorType;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -75,4 +88,162 @@ public class MailboxServiceImpl extends ServiceImpl<MailboxMapper, Mailbox> impl
         return super.removeById(mailbox);
     }
 
+    @Override
+    @Nonnull
+    public List<Mailbox> claim(@Nonnull String owner, int limit, long now, long leaseUntil) {
+        val con = Wrappers.lambdaUpdate(Mailbox.class);
+        con.set(Mailbox::getStatus, MailStatus.SENDING);
+        con.set(Mailbox::getOwner, owner);
+        con.set(Mailbox::getNextRetryAt, leaseUntil);
+        con.le(Mailbox::getNextRetryAt, now);
+        // 待投递的邮件或租期已过期的邮件
+        con.and(w -> w.eq(Mailbox::getStatus, MailStatus.PENDING)
+            .or(o -> o.eq(Mailbox::getStatus, MailStatus.SENDING).isNotNull(Mailbox::getOwner)));
+        con.orderByAsc(Mailbox::getNextRetryAt);
+        con.last("LIMIT " + limit);
+
+        if (!update(con)) {
+            return Collections.emptyList();
+        }
+
+        return listClaimed(owner);
+    }
+
+    @Override
+    @Nonnull
+    public List<Mailbox> claim(@Nonnull String owner, @Nonnull Collection<Mailbox> mails, long now,
+            long leaseUntil) {
+        if (mails.isEmpty()) {
+            return Collections.emptyList();
+        }
+        val con = Wrappers.lambdaUpdate(Mailbox.class);
+        con.set(Mailbox::getStatus, MailStatus.SENDING);
+        con.set(Mailbox::getOwner, owner);
+        con.set(Mailbox::getNextRetryAt, leaseUntil);
+        con.in(Mailbox::getId, mails.stream().map(Mailbox::getId).toList());
+        con.eq(Mailbox::getStatus, MailStatus.PENDING);
+        con.le(Mailbox::getNextRetryAt, now);
+
+        if (!update(con)) {
+            return Collections.emptyList();
+        }
+
+        return listClaimed(owner);
+    }
+
+    /**
+     * owner列默认不查询，认领到的邮件由查询条件可知其认领者.
+     */
+    @Nonnull
+    private List<Mailbox> listClaimed(@Nonnull String owner) {
+        val query = Wrappers.lambdaQuery(Mailbox.class);
+        query.eq(Mailbox::getStatus, MailStatus.SENDING);
+        query.eq(Mailbox::getOwner, owner);
+        val claimed = list(query);
+        claimed.forEach(mail -> mail.setOwner(owner));
+        return claimed;
+    }
+
+    @Override
+    @Nonnull
+    public List<Mailbox> batchUpdate(@Nonnull Collection<Mailbox> mails) {
+        if (mails.isEmpty()) {
+            return Collections.emptyList();
+        }
+        val updated = Collections.newSetFromMap(new IdentityHashMap<Mailbox, Boolean>());
+        val unknown = new ArrayList<Mailbox>();
+        // 一次JDBC批量提交，每封邮件仍以owner为条件：租期过期后邮件可能已被其它节点重新认领，不能覆盖
+        try (val session = SqlHelper.sqlSessionFactory(Mailbox.class).openSession(ExecutorType.BATCH)) {
+            try {
+                val mapper = session.getMapper(MailboxMapper.class);
+                for (val mail : mails) {
+                    val con = Wrappers.lambdaUpdate(Mailbox.class);
+                    con.eq(Mailbox::getId, mail.getId());
+                    con.eq(Mailbox::getOwner, mail.getOwner());
+                    con.eq(Mailbox::getStatus, MailStatus.SENDING);
+                    mapper.update(mail, con);
+                }
+                for (val result : session.flushStatements()) {
+                    val counts = result.getUpdateCounts();
+                    val params = result.getParameterObjects();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (!(params.get(i) instanceof Map<?, ?> param
+                                && param.get(Constants.ENTITY) instanceof Mailbox mail)) {
+                            continue;
+                        }
+                        if (counts[i] == 1) {
+                            updated.add(mail);
+                        }
+                        else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                            // 开启rewriteBatchedStatements等时驱动无法返回单行更新数，需回查确认
+                            unknown.add(mail);
+                        }
+                    }
+                }
+                session.commit();
+            }
+            catch (Exception e) {
+                session.rollback();
+                throw e;
+            }
+        }
+        if (!unknown.isEmpty()) {
+            updated.addAll(confirmUpdated(unknown));
+        }
+
+        val lost = new ArrayList<Mailbox>();
+        for (val mail : mails) {
+            if (!updated.contains(mail)) {
+                lost.add(mail);
+            }
+        }
+        if (!lost.isEmpty()) {
+            log.warn("{} of {} mails were reclaimed by other postman, skip updating them", lost.size(), mails.size());
+        }
+        return lost;
+    }
+
+    /**
+     * 回查更新数未知的邮件，只有仍由原认领者持有且状态为写入值的邮件才算更新成功.
+     */
+    @Nonnull
+    private List<Mailbox> confirmUpdated(@Nonnull List<Mailbox> mails) {
+        val query = Wrappers.lambdaQuery(Mailbox.class);
+        query.select(Mailbox::getId, Mailbox::getOwner, Mailbox::getStatus);
+        query.in(Mailbox::getId, mails.stream().map(Mailbox::getId).toList());
+        val rows = new HashMap<Long, Mailbox>();
+        for (val row : list(query)) {
+            rows.put(row.getId(), row);
+        }
+        val confirmed = new ArrayList<Mailbox>(mails.size());
+        for (val mail : mails) {
+            val row = rows.get(mail.getId());
+            if (row != null && Objects.equals(row.getOwner(), mail.getOwner()) && row.getStatus() == mail.getStatus()) {
+                confirmed.add(mail);
+            }
+        }
+        return confirmed;
+    }
+
+    @Override
+    public boolean batchRemove(@Nonnull Collection<Mailbox> mails) {
+        if (mails.isEmpty()) {
+            return true;
+        }
+        val owners = new HashMap<String, List<Long>>();
+        for (val mail : mails) {
+            owners.computeIfAbsent(mail.getOwner(), (key) -> new ArrayList<>()).add(mail.getId());
+        }
+        boolean removed = true;
+        for (val owner : owners.entrySet()) {
+            val con = Wrappers.lambdaQuery(Mailbox.class);
+            con.in(Mailbox::getId, owner.getValue());
+            if (owner.getKey() != null) {
+                con.eq(Mailbox::getOwner, owner.getKey());
+            }
+            removed = getBaseMapper().delete(con) == owner.getValue().size() && removed;
+        }
+        return removed;
+    }
+
 }
@@ -18,6 +18,8 @@
 package com.apzda.kalami.mq.rocket.limiter;
 
 import com.apzda.kalami.mq.mail.IMail;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.concurrent.VirtualThreads;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
 import com.apzda.kalami.mq.rocket.listener.ISendCallback;
 import com.apzda.kalami.service.CounterService;
@@ -30,8 +32,10 @@ import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.producer.Producer;
 import org.apache.rocketmq.client.java.exception.TooManyRequestsException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -49,7 +53,7 @@ public class DefaultRateLimiter implements RateLimiter {
 
     private final CounterService counter;
 
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs codecs;
 
     private final int limit;
 
@@ -59,51 +63,65 @@ public class DefaultRateLimiter implements RateLimiter {
 
     private final List<ISendCallback> callbacks;
 
-    private final ExecutorService executor;
+    private final Executor executor;
 
     private final AtomicInteger atomicInteger = new AtomicInteger(0);
 
     public DefaultRateLimiter(@Nonnull CounterService counter, @Nonnull ObjectMapper objectMapper,
             @Nonnull RocketMqConfigProperties properties, List<ISendCallback> callbacks) {
+        this(counter, new MessageCodecs(objectMapper), properties, callbacks);
+    }
+
+    public DefaultRateLimiter(@Nonnull CounterService counter, @Nonnull MessageCodecs codecs,
+            @Nonnull RocketMqConfigProperties properties, List<ISendCallback> callbacks) {
         val limitCfg = properties.getLimit();
         this.limit = limitCfg.getLimit();
         this.interval = limitCfg.getInterval().toSeconds();
         this.maxAttempts = limitCfg.getMaxAttempts();
         this.counter = counter;
-        this.objectMapper = objectMapper;
-        val cpu = Runtime.getRuntime().availableProcessors();
-        this.executor = Executors.newFixedThreadPool(cpu, r -> {
-            val thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName("RateLimiter-" + atomicInteger.getAndAdd(1));
-            return thread;
-        });
+        this.codecs = codecs;
+        val virtualThreads = properties.getVirtualThreads();
+        if (virtualThreads.isEnabled()) {
+            this.executor = VirtualThreads.newExecutor("RateLimiter-", virtualThreads.getMaxConcurrency());
+        }
+        else {
+            val cpu = Runtime.getRuntime().availableProcessors();
+            this.executor = Executors.newFixedThreadPool(cpu, r -> {
+                val thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("RateLimiter-" + atomicInteger.getAndAdd(1));
+                return thread;
+            });
+        }
         this.callbacks = callbacks;
     }
 
     @PreDestroy
     public void close() {
-        if (executor == null) {
-            return;
-        }
-        try {
-            executor.shutdown();
-            if (executor.awaitTermination(30, TimeUnit.SECONDS)) {
-                log.info("Shutdown RateLimiter executor successfully!");
+        if (executor instanceof ExecutorService pool) {
+            try {
+                pool.shutdown();
+                if (pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.info("Shutdown RateLimiter executor successfully!");
+                }
+                else {
+                    log.warn("Shutdown RateLimiter executor timeout: 30s");
+                }
             }
-            else {
-                log.warn("Shutdown RateLimiter executor timeout: 30s");
+            catch (Exception e) {
+                log.warn("Cannot shutdown RateLimiter executor: {}", e.getMessage());
             }
         }
-        catch (Exception e) {
-            log.warn("Cannot shutdown RateLimiter executor: {}", e.getMessage());
+        else if (executor instanceof SimpleAsyncTaskExecutor taskExecutor) {
+            taskExecutor.close();
+            log.info("Shutdown RateLimiter executor successfully!");
         }
     }
 
     @Override
     public void send(@Nonnull Producer producer, @Nonnull Message message, IMail mail) throws Exception {
         if (mail.isAsync()) {
-            executor.submit(() -> {
+            executor.execute(() -> {
                 try {
                     _send(producer, message, mail, 0);
                 }
@@ -138,7 +156,7 @@ public class DefaultRateLimiter implements RateLimiter {
             }
             producer.send(message);
             if (mail.isAsync()) {
-                ISendCallback.onSuccess(mail, callbacks, objectMapper);
+                ISendCallback.onSuccess(mail, callbacks, codecs);
             }
         }
         catch (TooManyRequestsException e) {
@@ -151,7 +169,7 @@ public class DefaultRateLimiter implements RateLimiter {
                 _send(producer, message, mail, attempt + 1);
             }
             else if (mail.isAsync()) {
-                ISendCallback.onError(mail, callbacks, objectMapper, e);
+                ISendCallback.onError(mail, callbacks, codecs, e);
             }
             else {
                 throw e;
@@ -159,7 +177,7 @@ public class DefaultRateLimiter implements RateLimiter {
         }
         catch (ClientException e) {
             if (mail.isAsync()) {
-                ISendCallback.onError(mail, callbacks, objectMapper, e);
+                ISendCallback.onError(mail, callbacks, codecs, e);
             }
             else {
                 throw e;
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.limiter;
+
+import com.apzda.kalami.mq.mail.IMail;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.listener.ISendCallback;
+import com.apzda.kalami.service.CounterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.apache.rocketmq.client.java.exception.TooManyRequestsException;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 基于本地令牌桶的限流器.
+ * <p>
+ * 令牌桶容量为{@code limit}，按{@code limit/interval}的速率补充令牌，获取令牌无锁且不访问计数器。
+ * 没有可用令牌时异步邮件会被延迟调度而不是阻塞线程。配置了{@code lease-size}时，令牌从共享计数器中按批租用，
+ * 以实现集群范围的限流(每租用一批令牌访问一次计数器)。
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final static String LEASE_KEY = "RLL";
+
+    private final CounterService counter;
+
+    private final MessageCodecs codecs;
+
+    private final List<ISendCallback> callbacks;
+
+    private final int limit;
+
+    private final long interval;
+
+    private final long intervalNanos;
+
+    private final long emissionNanos;
+
+    private final long maxDelayNanos;
+
+    private final long retryNanos;
+
+    private final int leaseSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 理论到达时间(GCRA)，令牌桶的无锁实现.
+     */
+    private final AtomicLong tat;
+
+    /**
+     * 从共享计数器租用的剩余令牌，只在租用时的时间窗口内有效.
+     */
+    private final AtomicReference<Lease> budget = new AtomicReference<>(new Lease(-1, 0));
+
+    private final AtomicBoolean leasing = new AtomicBoolean(false);
+
+    public TokenBucketRateLimiter(@Nullable CounterService counter, @Nonnull ObjectMapper objectMapper,
+            @Nonnull RocketMqConfigProperties properties, List<ISendCallback> callbacks) {
+        this(counter, new MessageCodecs(objectMapper), properties, callbacks);
+    }
+
+    public TokenBucketRateLimiter(@Nullable CounterService counter, @Nonnull MessageCodecs codecs,
+            @Nonnull RocketMqConfigProperties properties, List<ISendCallback> callbacks) {
+        val limitCfg = properties.getLimit();
+        Assert.isTrue(limitCfg.getLimit() > 0, "limit must be greater than 0");
+        this.limit = limitCfg.getLimit();
+        this.interval = Math.max(1, limitCfg.getInterval().toSeconds());
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(interval);
+        this.emissionNanos = Math.max(1, intervalNanos / limit);
+        this.maxDelayNanos = intervalNanos * Math.max(1, limitCfg.getMaxAttempts());
+        this.retryNanos = Math.min(TimeUnit.SECONDS.toNanos(1),
+                Math.max(TimeUnit.MILLISECONDS.toNanos(10), intervalNanos / 10));
+        this.leaseSize = counter == null ? 0 : Math.max(0, limitCfg.getLeaseSize());
+        this.counter = counter;
+        this.codecs = codecs;
+        this.callbacks = callbacks;
+        this.tat = new AtomicLong(System.nanoTime());
+        val executor = new ScheduledThreadPoolExecutor(1, r -> {
+            val thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("RateLimiter-scheduler");
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            scheduler.shutdown();
+            if (scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.info("Shutdown RateLimiter scheduler successfully!");
+            }
+            else {
+                log.warn("Shutdown RateLimiter scheduler timeout: 30s");
+            }
+        }
+        catch (Exception e) {
+            log.warn("Cannot shutdown RateLimiter scheduler: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void send(@Nonnull Producer producer, @Nonnull Message message, IMail mail) throws Exception {
+        val deadline = System.nanoTime() + maxDelayNanos;
+        if (mail.isAsync()) {
+            dispatch(producer, message, mail, deadline);
+            return;
+        }
+
+        // 同步邮件由调用者线程等待
+        while (true) {
+            val now = System.nanoTime();
+            final long delay;
+            if (leaseSize > 0) {
+                if (tryLease()) {
+                    break;
+                }
+                delay = retryNanos;
+            }
+            else {
+                val reserved = reserve(deadline - now);
+                if (reserved == 0) {
+                    break;
+                }
+                else if (reserved > 0) {
+                    TimeUnit.NANOSECONDS.sleep(reserved);
+                    break;
+                }
+                delay = -1;
+            }
+            if (delay < 0 || now + delay > deadline) {
+                throw tooManyRequests(mail);
+            }
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        producer.send(message);
+    }
+
+    private void dispatch(@Nonnull Producer producer, @Nonnull Message message, @Nonnull IMail mail,
+            long deadline) {
+        try {
+            val now = System.nanoTime();
+            if (leaseSize > 0) {
+                if (tryLease()) {
+                    sendAsync(producer, message, mail);
+                }
+                else if (now + retryNanos > deadline) {
+                    ISendCallback.onError(mail, callbacks, codecs, tooManyRequests(mail));
+                }
+                else {
+                    scheduler.schedule(() -> dispatch(producer, message, mail, deadline), retryNanos,
+                            TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+
+            val delay = reserve(deadline - now);
+            if (delay == 0) {
+                sendAsync(producer, message, mail);
+            }
+            else if (delay > 0) {
+                scheduler.schedule(() -> sendAsync(producer, message, mail), delay, TimeUnit.NANOSECONDS);
+            }
+            else {
+                ISendCallback.onError(mail, callbacks, codecs, tooManyRequests(mail));
+            }
+        }
+        catch (Exception e) {
+            ISendCallback.onError(mail, callbacks, codecs, e);
+        }
+    }
+
+    private void sendAsync(@Nonnull Producer producer, @Nonnull Message message, @Nonnull IMail mail) {
+        try {
+            producer.sendAsync(message).whenComplete((receipt, ex) -> {
+                if (ex != null) {
+                    ISendCallback.onError(mail, callbacks, codecs, ex);
+                }
+                else if (receipt != null) {
+                    ISendCallback.onSuccess(mail, callbacks, codecs);
+                }
+            });
+        }
+        catch (Exception e) {
+            ISendCallback.onError(mail, callbacks, codecs, e);
+        }
+    }
+
+    /**
+     * 预定一个令牌.
+     * @param maxDelay 最长可等待时间
+     * @return 0: 立即可用; 大于0: 令牌已预定，需等待的纳秒数; -1: 等待时间超过maxDelay
+     */
+    private long reserve(long maxDelay) {
+        while (true) {
+            val now = System.nanoTime();
+            val current = tat.get();
+            val next = Math.max(current, now) + emissionNanos;
+            val delay = next - intervalNanos - now;
+            if (delay > maxDelay) {
+                return -1;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return Math.max(0, delay);
+            }
+        }
+    }
+
+    /**
+     * 从本地预算中获取一个令牌，预算用完时从共享计数器中租用一批令牌.
+     */
+    private boolean tryLease() {
+        // 与计数器使用相同的时间窗口，上一窗口剩余的令牌不能带入当前窗口
+        val window = System.currentTimeMillis() / 1000 / interval;
+        while (true) {
+            val lease = budget.get();
+            if (lease.window() != window || lease.left() <= 0) {
+                break;
+            }
+            if (budget.compareAndSet(lease, new Lease(window, lease.left() - 1))) {
+                return true;
+            }
+        }
+
+        if (!leasing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            val seq = counter.count(LEASE_KEY, interval);
+            val granted = Math.min(leaseSize, (long) limit - (long) (seq - 1) * leaseSize);
+            if (granted > 0) {
+                budget.set(new Lease(window, granted - 1));
+                return true;
+            }
+            log.debug("No more tokens can be leased: {}/{}s", limit, interval);
+            return false;
+        }
+        finally {
+            leasing.set(false);
+        }
+    }
+
+    private record Lease(long window, long left) {
+    }
+
+    @Nonnull
+    private TooManyRequestsException tooManyRequests(@Nonnull IMail mail) {
+        log.warn("Max requests reached: {}/{}s", limit, interval);
+        return new TooManyRequestsException(429, mail.getMailId(),
+                String.format("Max requests reached: %d/%ds", limit, interval));
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.listener;
+
+import com.apzda.kalami.mq.rocket.message.IMessage;
+import jakarta.annotation.Nonnull;
+import org.apache.rocketmq.client.apis.message.MessageView;
+
+/**
+ * 批量消费时的单条消息.
+ *
+ * @param message 消息
+ * @param tag 标签
+ * @param messageView 原始消息
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public record BatchMessage<T extends IMessage<T, E>, E extends Enum<?>>(@Nonnull T message, E tag,
+        @Nonnull MessageView messageView) {
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.listener;
+
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class BatchMessageListenerDelegate {
+
+    private final IBatchMessageListener<?, ?> listener;
+
+    private final ObjectMapper objectMapper;
+
+    private final MessageCodecs codecs;
+
+    private final TypeReference<?> typeReference;
+
+    private final Class<?> tagClz;
+
+    public BatchMessageListenerDelegate(@Nonnull RocketMqConfigProperties.TopicConfig config,
+            @Nonnull ApplicationContext context) {
+        val listenerName = config.getListener();
+        if (StringUtils.isNotBlank(listenerName)) {
+            listener = context.getBean(listenerName, IBatchMessageListener.class);
+        }
+        else {
+            listener = null;
+        }
+        Assert.notNull(listener, String.format("Listener of %s is not specified", config.getTopic()));
+        val resolvableType = ResolvableType.forClass(IBatchMessageListener.class, listener.getClass());
+        val eventClz = resolvableType.getGeneric(0).resolve();
+        this.tagClz = resolvableType.getGeneric(1).resolve();
+        Assert.notNull(eventClz, String.format("Listener of %s is not resolvable", config.getTopic()));
+        Assert.notNull(tagClz, String.format("Listener of %s is not resolvable", config.getTopic()));
+        this.typeReference = new TypeReference<>() {
+            @Override
+            public Type getType() {
+                return eventClz;
+            }
+        };
+
+        objectMapper = context.getBean(ObjectMapper.class);
+        codecs = context.getBeanProvider(MessageCodecs.class).getIfAvailable(() -> new MessageCodecs(objectMapper));
+    }
+
+    @Nonnull
+    public List<ConsumeResult> consume(@Nonnull List<MessageView> messageViews) {
+        return listener.onMessages(messageViews, typeReference, tagClz, objectMapper, codecs);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.apzda.kalami.mq.rocket.listener;
+
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.message.IMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量消息监听器，在{@code TopicConfig.batch.enabled=true}时使用.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface IBatchMessageListener<T extends IMessage<T, E>, E extends Enum<?>> {
+
+    Logger log = LoggerFactory.getLogger(IBatchMessageListener.class);
+
+    /**
+     * 批量消费消息.
+     * @param messages 消息
+     * @return 与{@code messages}一一对应的消费结果
+     */
+    @Nonnull
+    List<ConsumeResult> onMessages(@Nonnull List<BatchMessage<T, E>> messages);
+
+    @Nonnull
+    default List<ConsumeResult> onMessages(@Nonnull List<MessageView> messageViews,
+            @Nonnull TypeReference<?> typeReference, @Nonnull Class<?> tagClz, @Nonnull ObjectMapper objectMapper) {
+        return onMessages(messageViews, typeReference, tagClz, objectMapper, null);
+    }
+
+    /**
+     * 批量消费消息，非JSON编码或已压缩的消息由{@code codecs}解码.
+     * <p>
+     * 无法解码的消息按{@link ConsumeResult#FAILURE}返回，与推送消费一致由Broker的重试/死信策略处理.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    default List<ConsumeResult> onMessages(@Nonnull List<MessageView> messageViews,
+            @Nonnull TypeReference<?> typeReference, @Nonnull Class<?> tagClz, @Nonnull ObjectMapper objectMapper,
+            @Nullable MessageCodecs codecs) {
+        val results = new ArrayList<>(Collections.nCopies(messageViews.size(), ConsumeResult.FAILURE));
+        val messages = new ArrayList<BatchMessage<T, E>>(messageViews.size());
+        val positions = new int[messageViews.size()];
+        for (int i = 0; i < messageViews.size(); i++) {
+            val messageView = messageViews.get(i);
+            try {
+                val message = codecs != null && codecs.isEncoded(messageView)
+                        ? (T) codecs.decode(messageView, typeReference.getType())
+                        : decode(messageView.getBody(), typeReference, objectMapper);
+                val s = messageView.getTag().orElse(null);
+                E tag = null;
+                if (StringUtils.isNotBlank(s)) {
+                    tag = (E) objectMapper.readValue(String.format("\"%s\"", s), tagClz);
+                }
+                positions[messages.size()] = i;
+                messages.add(new BatchMessage<>(message, tag, messageView));
+            }
+            catch (JsonProcessingException e) {
+                log.error("Cannot decode message {} of {}: {}", messageView.getMessageId(), messageView.getTopic(),
+                        e.getMessage());
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return results;
+        }
+
+        val consumed = onMessages(messages);
+        if (consumed.size() != messages.size()) {
+            throw new IllegalStateException(String.format("Expect %d results but got %d", messages.size(),
+                    consumed.size()));
+        }
+        for (int i = 0; i < consumed.size(); i++) {
+            results.set(positions[i], consumed.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * 直接从消息体解码，不创建中间字符串.
+     */
+    @SuppressWarnings("unchecked")
+    default T decode(@Nonnull ByteBuffer body, @Nonnull TypeReference<?> typeReference,
+            @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
+        return (T) IMessageListener.readBody(body, typeReference, objectMapper);
+    }
+
+}
@@ -17,15 +17,21 @@
 
 package com.apzda.kalami.mq.rocket.listener;
 
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.apzda.kalami.mq.rocket.message.IMessage;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.rocketmq.client.apis.message.MessageView;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -40,8 +46,19 @@ public interface IMessageListener<T extends IMessage<T, E>, E extends Enum<?>> {
     @SuppressWarnings("unchecked")
     default boolean onMessage(@Nonnull MessageView messageView, @Nonnull TypeReference<?> typeReference,
             @Nonnull Class<?> tagClz, @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
-        val content = StandardCharsets.UTF_8.decode(messageView.getBody()).toString();
-        val message = decode(content, typeReference, objectMapper);
+        return onMessage(messageView, typeReference, tagClz, objectMapper, null);
+    }
+
+    /**
+     * 消费消息，非JSON编码或已压缩的消息由{@code codecs}解码.
+     */
+    @SuppressWarnings("unchecked")
+    default boolean onMessage(@Nonnull MessageView messageView, @Nonnull TypeReference<?> typeReference,
+            @Nonnull Class<?> tagClz, @Nonnull ObjectMapper objectMapper, @Nullable MessageCodecs codecs)
+            throws JsonProcessingException {
+        val message = codecs != null && codecs.isEncoded(messageView)
+                ? (T) codecs.decode(messageView, typeReference.getType())
+                : decode(messageView.getBody(), typeReference, objectMapper);
         val s = messageView.getTag().orElse(null);
         if (StringUtils.isBlank(s)) {
             return onMessage(message, null, messageView);
@@ -51,10 +68,55 @@ public interface IMessageListener<T extends IMessage<T, E>, E extends Enum<?>> {
         return onMessage(message, e, messageView);
     }
 
+    /**
+     * 直接从消息体解码，不创建中间字符串. 覆盖了{@link #decode(String, TypeReference, ObjectMapper)}的监听器
+     * 仍由其解码.
+     */
+    @SuppressWarnings("unchecked")
+    default T decode(@Nonnull ByteBuffer body, @Nonnull TypeReference<?> typeReference,
+            @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
+        if (StringDecoders.isOverridden(getClass())) {
+            return decode(StandardCharsets.UTF_8.decode(body.duplicate()).toString(), typeReference, objectMapper);
+        }
+        return (T) readBody(body, typeReference, objectMapper);
+    }
+
+    /**
+     * 从字符串解码. 覆盖此方法时消息体需先转换为字符串，
+     * 无需字符串时请覆盖{@link #decode(ByteBuffer, TypeReference, ObjectMapper)}.
+     */
     @SuppressWarnings("unchecked")
     default T decode(@Nonnull String content, @Nonnull TypeReference<?> typeReference,
             @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
         return (T) objectMapper.readValue(content, typeReference);
     }
 
+    /**
+     * 从消息体解析JSON: 有底层数组时直接解析数组，只读缓冲区则以流方式读取.
+     * @param body 消息体，其position不会被改变
+     * @param typeReference 类型
+     * @param objectMapper ObjectMapper
+     * @return 解析结果
+     * @throws JsonProcessingException 解析出错时
+     */
+    static Object readBody(@Nonnull ByteBuffer body, @Nonnull TypeReference<?> typeReference,
+            @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
+        val buffer = body.duplicate();
+        try {
+            if (buffer.hasArray()) {
+                return objectMapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining(), typeReference);
+            }
+            try (val in = new ByteBufferBackedInputStream(buffer)) {
+                return objectMapper.readValue(in, typeReference);
+            }
+        }
+        catch (JsonProcessingException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
 }
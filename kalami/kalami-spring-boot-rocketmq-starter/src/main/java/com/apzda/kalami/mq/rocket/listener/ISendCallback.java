@@ -18,6 +18,7 @@
 package com.apzda.kalami.mq.rocket.listener;
 
 import com.apzda.kalami.mq.mail.IMail;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Nonnull;
 import lombok.val;
@@ -26,7 +27,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -42,48 +47,66 @@ public interface ISendCallback {
     void onError(Object message, Throwable e);
 
     static void onSuccess(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull ObjectMapper objectMapper) {
-        if (CollectionUtils.isEmpty(callbacks)) {
-            return;
-        }
-        CompletableFuture.runAsync(() -> {
-            try {
-                val payload = mail.payload(objectMapper);
-                for (ISendCallback callback : callbacks) {
-                    try {
-                        callback.onSuccess(payload);
-                    }
-                    catch (Exception e) {
-                        log.error("Callback {} failed: {}", callback, e.getMessage(), e);
-                    }
-                }
-            }
-            catch (Exception e) {
-                log.error("Cannot get the payload from: {}", mail, e);
-            }
-        });
+        onSuccess(mail, callbacks, objectMapper, ForkJoinPool.commonPool());
+    }
+
+    static void onSuccess(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull ObjectMapper objectMapper,
+            @Nonnull Executor executor) {
+        dispatch(mail, callbacks, () -> mail.payload(objectMapper), ISendCallback::onSuccess, executor);
+    }
+
+    static void onSuccess(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull MessageCodecs codecs) {
+        onSuccess(mail, callbacks, codecs, ForkJoinPool.commonPool());
+    }
+
+    static void onSuccess(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull MessageCodecs codecs,
+            @Nonnull Executor executor) {
+        dispatch(mail, callbacks, () -> codecs.payload(mail), ISendCallback::onSuccess, executor);
     }
 
     static void onError(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull ObjectMapper objectMapper,
                         @Nonnull Throwable e) {
+        onError(mail, callbacks, objectMapper, e, ForkJoinPool.commonPool());
+    }
+
+    static void onError(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull ObjectMapper objectMapper,
+            @Nonnull Throwable e, @Nonnull Executor executor) {
+        dispatch(mail, callbacks, () -> mail.payload(objectMapper), (callback, payload) -> callback.onError(payload, e),
+                executor);
+    }
+
+    static void onError(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull MessageCodecs codecs,
+            @Nonnull Throwable e) {
+        onError(mail, callbacks, codecs, e, ForkJoinPool.commonPool());
+    }
+
+    static void onError(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull MessageCodecs codecs,
+            @Nonnull Throwable e, @Nonnull Executor executor) {
+        dispatch(mail, callbacks, () -> codecs.payload(mail), (callback, payload) -> callback.onError(payload, e),
+                executor);
+    }
+
+    private static void dispatch(@Nonnull IMail mail, List<ISendCallback> callbacks, @Nonnull Callable<Object> payload,
+            @Nonnull BiConsumer<ISendCallback, Object> action, @Nonnull Executor executor) {
         if (CollectionUtils.isEmpty(callbacks)) {
             return;
         }
         CompletableFuture.runAsync(() -> {
             try {
-                val payload = mail.payload(objectMapper);
+                val message = payload.call();
                 for (val callback : callbacks) {
                     try {
-                        callback.onError(payload, e);
+                        action.accept(callback, message);
                     }
-                    catch (Exception ee) {
-                        log.error("Callback {} failed: {}", callback, ee.getMessage(), ee);
+                    catch (Exception e) {
+                        log.error("Callback {} failed: {}", callback, e.getMessage(), e);
                     }
                 }
             }
-            catch (Exception ex) {
-                log.error("Cannot get the payload from: {}", mail, ex);
+            catch (Exception e) {
+                log.error("Cannot get the payload from: {}", mail, e);
             }
-        });
+        }, executor);
     }
 
 }
@@ -17,6 +17,7 @@
 
 package com.apzda.kalami.mq.rocket.listener;
 
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -44,6 +45,8 @@ public class MessageListenerDelegate implements MessageListener {
 
     private final ObjectMapper objectMapper;
 
+    private final MessageCodecs codecs;
+
     private final TypeReference<?> typeReference;
 
     private final Class<?> tagClz;
@@ -71,12 +74,13 @@ public class MessageListenerDelegate implements MessageListener {
         };
 
         objectMapper = context.getBean(ObjectMapper.class);
+        codecs = context.getBeanProvider(MessageCodecs.class).getIfAvailable(() -> new MessageCodecs(objectMapper));
     }
 
     @Override
     public ConsumeResult consume(@Nonnull MessageView messageView) {
         try {
-            if (listener.onMessage(messageView, typeReference, tagClz, objectMapper)) {
+            if (listener.onMessage(messageView, typeReference, tagClz, objectMapper, codecs)) {
                 return ConsumeResult.SUCCESS;
             }
         }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.listener;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 记录监听器是否覆盖了{@link IMessageListener#decode(String, TypeReference, ObjectMapper)}.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+final class StringDecoders {
+
+    private static final ClassValue<Boolean> OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@Nonnull Class<?> type) {
+            val method = ReflectionUtils.findMethod(type, "decode", String.class, TypeReference.class,
+                    ObjectMapper.class);
+            return method != null && method.getDeclaringClass() != IMessageListener.class;
+        }
+    };
+
+    private StringDecoders() {
+    }
+
+    static boolean isOverridden(@Nonnull Class<?> type) {
+        return OVERRIDDEN.get(type);
+    }
+
+}
@@ -17,25 +17,28 @@
 
 package com.apzda.kalami.mq.rocket.messenger;
 
-import cn.hutool.core.bean.BeanUtil;
 import com.apzda.kalami.mq.mail.IMail;
 import com.apzda.kalami.mq.messenger.IMessenger;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.apzda.kalami.mq.rocket.limiter.RateLimiter;
 import com.apzda.kalami.mq.rocket.listener.ISendCallback;
 import com.apzda.kalami.mq.rocket.mail.RocketMail;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.rocketmq.client.apis.ClientServiceProvider;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.producer.Producer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -52,22 +55,46 @@ public class SimpleMessengerImpl implements IMessenger {
 
     private final RateLimiter limiter;
 
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs codecs;
 
     private final List<ISendCallback> callbacks;
 
+    private final Executor callbackExecutor;
+
+    public SimpleMessengerImpl(ClientServiceProvider clientServiceProvider, Producer producer, RateLimiter limiter,
+            ObjectMapper objectMapper, List<ISendCallback> callbacks) {
+        this(clientServiceProvider, producer, limiter, new MessageCodecs(objectMapper), callbacks);
+    }
+
+    public SimpleMessengerImpl(ClientServiceProvider clientServiceProvider, Producer producer, RateLimiter limiter,
+            MessageCodecs codecs, List<ISendCallback> callbacks) {
+        this(clientServiceProvider, producer, limiter, codecs, callbacks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 关闭自建的回调执行器，等待进行中的回调执行完成.
+     */
+    @PreDestroy
+    public void stop() {
+        if (callbackExecutor instanceof SimpleAsyncTaskExecutor callbacks) {
+            callbacks.close();
+            log.info("Shutdown Messenger callback executor successfully!");
+        }
+    }
+
     @Override
     public void send(@Nonnull IMail mail) {
         try {
             val message = createMessage(mail, clientServiceProvider);
             if (limiter == null) {
                 if (mail.isAsync()) {
-                    this.producer.sendAsync(message).whenCompleteAsync((receipt, ex) -> {
+                    // 回调本身已提交到callbackExecutor执行，不占用客户端的回调线程
+                    this.producer.sendAsync(message).whenComplete((receipt, ex) -> {
                         if (ex != null) {
-                            ISendCallback.onError(mail, callbacks, objectMapper, ex);
+                            ISendCallback.onError(mail, callbacks, codecs, ex, callbackExecutor);
                         }
                         else if (receipt != null) {
-                            ISendCallback.onSuccess(mail, callbacks, objectMapper);
+                            ISendCallback.onSuccess(mail, callbacks, codecs, callbackExecutor);
                         }
                     });
                 }
@@ -86,12 +113,16 @@ public class SimpleMessengerImpl implements IMessenger {
 
     @Nonnull
     private static Message createMessage(@Nonnull IMail trans, @Nonnull ClientServiceProvider clientServiceProvider) {
-        val mail = BeanUtil.copyProperties(trans, RocketMail.class);
+        val mail = new RocketMail();
+        mail.setMailId(trans.getMailId());
+        mail.setRecipients(trans.getRecipients());
+        mail.setPostTime(trans.getPostTime());
+        mail.setProperties(trans.getProperties());
 
         val builder = clientServiceProvider.newMessageBuilder()
             .setTopic(mail.getTopic())
             .setKeys(mail.getMailId())
-            .setBody(mail.getContent().getBytes(StandardCharsets.UTF_8));
+            .setBody(trans.encodeContent());
 
         if (StringUtils.hasText(mail.getTags())) {
             builder.setTag(mail.getTags());
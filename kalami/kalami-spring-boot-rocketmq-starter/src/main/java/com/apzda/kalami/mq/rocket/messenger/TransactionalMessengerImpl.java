@@ -21,6 +21,8 @@ import cn.hutool.core.exceptions.ExceptionUtil;
 import com.apzda.kalami.exception.StopRetryException;
 import com.apzda.kalami.mq.mail.IMail;
 import com.apzda.kalami.mq.messenger.IMessenger;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.concurrent.VirtualThreads;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
 import com.apzda.kalami.mq.rocket.domain.entity.Mailbox;
 import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
@@ -41,18 +43,31 @@ import org.apache.rocketmq.client.apis.producer.Transaction;
 import org.slf4j.MDC;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -64,7 +79,7 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
 
     private final Producer producer;
 
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs codecs;
 
     private final IMailboxService mailboxService;
 
@@ -74,32 +89,69 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
 
     private final ScheduledThreadPoolExecutor executor;
 
+    private final SimpleAsyncTaskExecutor taskExecutor;
+
+    private final ThreadFactory loopFactory;
+
+    private final Executor callbackExecutor;
+
     private final AtomicInteger atomicInteger = new AtomicInteger(0);
 
     private final List<ISendCallback> callbacks;
 
     private final int executorCount;
 
+    private final String nodeId;
+
+    private final AtomicLong claimSeq = new AtomicLong(0);
+
+    private final BlockingQueue<Mailbox> readyQueue;
+
     private volatile boolean running = true;
 
     public TransactionalMessengerImpl(RocketMqConfigProperties properties, Producer producer, ObjectMapper objectMapper,
             IMailboxService mailboxService, ClientServiceProvider clientServiceProvider,
             List<ISendCallback> callbacks) {
+        this(properties, producer, new MessageCodecs(objectMapper), mailboxService, clientServiceProvider, callbacks);
+    }
+
+    public TransactionalMessengerImpl(RocketMqConfigProperties properties, Producer producer, MessageCodecs codecs,
+            IMailboxService mailboxService, ClientServiceProvider clientServiceProvider,
+            List<ISendCallback> callbacks) {
         this.properties = properties;
         this.mailboxService = mailboxService;
         this.producer = producer;
-        this.objectMapper = objectMapper;
+        this.codecs = codecs;
         this.clientServiceProvider = clientServiceProvider;
         this.callbacks = callbacks;
         val count = properties.getPostman().getExecutorCount();
         val cpuCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
         this.executorCount = count < 1 ? cpuCount : count;
-        this.executor = new ScheduledThreadPoolExecutor(executorCount + cpuCount, r -> {
-            val thread = new Thread(r);
-            thread.setName("postman-" + atomicInteger.getAndAdd(1));
-            thread.setDaemon(true);
-            return thread;
-        });
+        val nodeId = properties.getPostman().getBatch().getNodeId();
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId
+                : UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        val wakeup = properties.getPostman().getWakeup();
+        this.readyQueue = wakeup.isEnabled() ? new LinkedBlockingQueue<>(Math.max(1, wakeup.getCapacity())) : null;
+        val virtualThreads = properties.getVirtualThreads();
+        if (virtualThreads.isEnabled()) {
+            // 轮询与分发任务长期运行，不占用并发额度
+            this.executor = null;
+            this.taskExecutor = VirtualThreads.newExecutor("postman-", virtualThreads.getMaxConcurrency());
+            this.loopFactory = VirtualThreads.newThreadFactory("postman-loop-");
+            this.callbackExecutor = VirtualThreads.newCallbackExecutor("postman-callback-");
+        }
+        else {
+            val dispatcherCount = readyQueue != null ? executorCount : 0;
+            this.executor = new ScheduledThreadPoolExecutor(executorCount + dispatcherCount + cpuCount, r -> {
+                val thread = new Thread(r);
+                thread.setName("postman-" + atomicInteger.getAndAdd(1));
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.taskExecutor = null;
+            this.loopFactory = null;
+            this.callbackExecutor = ForkJoinPool.commonPool();
+        }
     }
 
     @Override
@@ -107,25 +159,46 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
         if (this.producer == null) {
             return;
         }
-        val period = properties.getPostman().getPeriod().toSeconds();
+        val wakeup = properties.getPostman().getWakeup();
+        val period = (readyQueue != null ? wakeup.getSweepPeriod() : properties.getPostman().getPeriod()).toSeconds();
+        val batch = properties.getPostman().getBatch();
         for (int i = 0; i < executorCount; i++) {
-            executor.scheduleWithFixedDelay(createMailSender(null), 0, period > 0 ? period : 1, TimeUnit.SECONDS);
+            final Runnable sender = batch.isEnabled() ? new BatchMailSender(this) : createMailSender(null);
+            scheduleWithFixedDelay(sender, period > 0 ? period : 1);
+            if (readyQueue != null) {
+                execute(new ReadyMailDispatcher(this));
+            }
+        }
+        if (readyQueue != null) {
+            log.info("Postman wakeup enabled: capacity={}, sweep period={}s", wakeup.getCapacity(), period);
         }
 
-        log.info("Postman executor initialized: count={}, period={}s", executorCount, period);
+        if (batch.isEnabled()) {
+            log.info("Postman executor initialized: count={}, period={}s, batch={}, lease={}s, node={}", executorCount,
+                    period, batch.getSize(), batch.getLease().toSeconds(), nodeId);
+        }
+        else {
+            log.info("Postman executor initialized: count={}, period={}s", executorCount, period);
+        }
     }
 
     @Override
     @Transactional(propagation = Propagation.SUPPORTS)
     public void send(@Nonnull IMail mail) {
-        val content = mail.getContent();
-        Assert.hasText(content, "content must not be null");
+        Assert.isTrue(mail.hasContent(), "content must not be null");
         val recipients = mail.getRecipients();
-        Assert.hasText(content, "recipients must not be null");
+        Assert.hasText(recipients, "recipients must not be null");
 
         val mailbox = new Mailbox();
         mailbox.setMailId(mail.getMailId());
-        mailbox.setContent(content);
+        // 已编码的内容在入库时才转换为字符串
+        val rawContent = mail.getRawContent();
+        if (rawContent != null) {
+            mailbox.setRawContent(rawContent);
+        }
+        else {
+            mailbox.setContent(mail.getContent());
+        }
         mailbox.setContentType(mail.getContentType());
         mailbox.setNextRetryAt(System.currentTimeMillis());
         mailbox.setTransactional(mail.getTransactional());
@@ -142,9 +215,27 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
             log.debug("Mailbox {} queued successfully!", mail.getMailId());
         }
 
-        if (!Boolean.TRUE.equals(mail.getTransactional())) {
+        if (readyQueue != null) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        wakeup(mailbox);
+                    }
+                });
+            }
+            else {
+                wakeup(mailbox);
+            }
+        }
+        else if (!Boolean.TRUE.equals(mail.getTransactional())) {
             try {
-                executor.submit(createMailSender(mailbox));
+                if (taskExecutor != null) {
+                    taskExecutor.execute(createMailSender(mailbox));
+                }
+                else {
+                    executor.submit(createMailSender(mailbox));
+                }
             }
             catch (Exception e) {
                 // 理论上到不了这里。就算到了，也有兜底。
@@ -157,6 +248,14 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
     public void stop() {
         try {
             running = false;
+            if (taskExecutor != null) {
+                taskExecutor.close();
+                if (callbackExecutor instanceof SimpleAsyncTaskExecutor callbacks) {
+                    callbacks.close();
+                }
+                log.info("Shutdown Postman executor successfully!");
+                return;
+            }
             executor.shutdown();
             if (executor.awaitTermination(30, TimeUnit.SECONDS)) {
                 log.info("Shutdown Postman executor successfully!");
@@ -170,6 +269,60 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
         }
     }
 
+    private void scheduleWithFixedDelay(@Nonnull Runnable task, long period) {
+        if (loopFactory == null) {
+            executor.scheduleWithFixedDelay(task, 0, period, TimeUnit.SECONDS);
+            return;
+        }
+        loopFactory.newThread(() -> {
+            while (running) {
+                task.run();
+                try {
+                    TimeUnit.SECONDS.sleep(period);
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }).start();
+    }
+
+    private void execute(@Nonnull Runnable task) {
+        if (loopFactory == null) {
+            executor.execute(task);
+        }
+        else {
+            loopFactory.newThread(task).start();
+        }
+    }
+
+    private void wakeup(@Nonnull Mailbox mailbox) {
+        if (!readyQueue.offer(mailbox)) {
+            log.debug("Ready queue is full, mail {} will be sent by sweeper", mailbox.getMailId());
+        }
+    }
+
+    /**
+     * 到重试时间后重新放入就绪队列，不必等待兜底扫描.
+     */
+    private void wakeupLater(@Nonnull Mailbox mailbox) {
+        if (readyQueue == null || !running || mailbox.getStatus() != MailStatus.PENDING
+                || mailbox.getNextRetryAt() == null) {
+            return;
+        }
+        val delay = Math.max(0, mailbox.getNextRetryAt() - System.currentTimeMillis());
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (running) {
+                wakeup(mailbox);
+            }
+        });
+    }
+
+    @Nonnull
+    private String nextOwner() {
+        return nodeId + ":" + claimSeq.incrementAndGet();
+    }
+
     @Nonnull
     private MailSender createMailSender(@Nullable Mailbox mail) {
         return new MailSender(producer, mailboxService, properties, clientServiceProvider, mail, this);
@@ -264,7 +417,8 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
                                 e.getMessage());
                     }
                     if (!CollectionUtils.isEmpty(messenger.callbacks)) {
-                        ISendCallback.onSuccess(trans, messenger.callbacks, messenger.objectMapper);
+                        ISendCallback.onSuccess(trans, messenger.callbacks, messenger.codecs,
+                                messenger.callbackExecutor);
                     }
                 }
                 catch (Exception e) {
@@ -274,33 +428,303 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
             }
             catch (Exception e) {
                 try {
-                    val errMsg = ExceptionUtil.getSimpleMessage(ExceptionUtil.getRootCause(e));
-                    val retries = postmanConfig.getPostman().getRetries();
-                    val currentRetry = trans.getRetries();
-                    if (!(e instanceof StopRetryException) && retries.size() >= (currentRetry + 1)) {
-                        trans.setStatus(MailStatus.PENDING);
-                        trans.setRetries(currentRetry + 1);
-                        val duration = retries.get(currentRetry);
-                        trans.setNextRetryAt(System.currentTimeMillis() + duration.toMillis());
-                        log.warn("Cannot send mail and will retry in {}s: {} - {}", duration.toSeconds(),
-                                trans.getContent(), errMsg);
-                    }
-                    else {
-                        trans.setStatus(MailStatus.FAIL);
-                        log.warn("Cannot send mail and stop retry: {} - {}", trans.getContent(), errMsg);
+                    prepareRetry(trans, e, postmanConfig);
+                    if (mailboxService.updateStatus(trans, MailStatus.SENDING)) {
+                        messenger.wakeupLater(trans);
                     }
-                    trans.setRemark(errMsg);
-                    mailboxService.updateStatus(trans, MailStatus.SENDING);
                 }
                 catch (Exception e2) {
                     log.error("Cannot send mail and retry: {}", e2.getMessage(), e2);
                 }
 
                 if (!CollectionUtils.isEmpty(messenger.callbacks)) {
-                    ISendCallback.onError(trans, messenger.callbacks, messenger.objectMapper, e);
+                    ISendCallback.onError(trans, messenger.callbacks, messenger.codecs, e,
+                            messenger.callbackExecutor);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从就绪队列中取出已提交的邮件并立即投递. 启用批量投递时一次取出多封邮件，认领后批量投递.
+     */
+    @Slf4j
+    private record ReadyMailDispatcher(TransactionalMessengerImpl messenger) implements Runnable {
+
+        @Override
+        public void run() {
+            val batch = messenger.properties.getPostman().getBatch();
+            while (messenger.running) {
+                try {
+                    val mailbox = messenger.readyQueue.poll(1, TimeUnit.SECONDS);
+                    if (mailbox == null) {
+                        continue;
+                    }
+                    if (!batch.isEnabled()) {
+                        messenger.createMailSender(mailbox).run();
+                        continue;
+                    }
+                    val size = Math.max(1, batch.getSize());
+                    val mails = new ArrayList<Mailbox>(size);
+                    mails.add(mailbox);
+                    messenger.readyQueue.drainTo(mails, size - 1);
+                    val now = System.currentTimeMillis();
+                    val claimed = messenger.mailboxService.claim(messenger.nextOwner(), mails, now,
+                            now + batch.getLease().toMillis());
+                    if (!claimed.isEmpty()) {
+                        new BatchMailSender(messenger).post(claimed);
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (Exception e) {
+                    log.warn("ReadyMailDispatcher error: {}", e.getMessage());
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 批量投递: 一次认领多封邮件，以流水线方式异步投递，最后批量更新状态与删除.
+     */
+    @Slf4j
+    private record BatchMailSender(TransactionalMessengerImpl messenger) implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                val batch = messenger.properties.getPostman().getBatch();
+                val size = Math.max(1, batch.getSize());
+                val lease = batch.getLease().toMillis();
+                List<Mailbox> claimed;
+                do {
+                    val now = System.currentTimeMillis();
+                    claimed = messenger.mailboxService.claim(messenger.nextOwner(), size, now, now + lease);
+                    if (!claimed.isEmpty()) {
+                        post(claimed);
+                    }
                 }
+                while (messenger.running && claimed.size() >= size);
             }
+            catch (Exception e) {
+                log.warn("BatchMailSender error: {}", e.getMessage());
+            }
+        }
+
+        private void post(@Nonnull List<Mailbox> mails) {
+            val producer = messenger.producer;
+            val sent = new ArrayList<Mailbox>(mails.size());
+            val failed = new ArrayList<Mailbox>();
+            val errors = new IdentityHashMap<Mailbox, Exception>();
+            val transactions = new IdentityHashMap<Mailbox, Transaction>();
+            val futures = new ArrayList<CompletableFuture<?>>(mails.size());
+
+            for (val trans : mails) {
+                try {
+                    Optional.ofNullable(trans.getProperties()).ifPresent(p -> {
+                        val tid = p.get("_tid");
+                        if (StringUtils.hasText(tid)) {
+                            MDC.put("tid", tid);
+                        }
+                    });
+                    if (!StringUtils.hasText(trans.getContent())) {
+                        throw new StopRetryException("Content must not be null");
+                    }
+                    if (!StringUtils.hasText(trans.getRecipients())) {
+                        throw new StopRetryException("Recipients must not be null");
+                    }
+                    val message = createMessage(trans, messenger.clientServiceProvider);
+                    if (Boolean.TRUE.equals(trans.getTransactional())) {
+                        // 事务消息只能同步发送
+                        val transaction = producer.beginTransaction();
+                        Assert.notNull(transaction, "Transaction must not be null");
+                        try {
+                            val result = producer.send(message, transaction);
+                            trans.setMsgId(result.getMessageId().toString());
+                            transactions.put(trans, transaction);
+                        }
+                        catch (Exception e) {
+                            transaction.rollback();
+                            throw e;
+                        }
+                    }
+                    else {
+                        futures.add(producer.sendAsync(message).handle((receipt, ex) -> {
+                            if (ex != null) {
+                                synchronized (errors) {
+                                    errors.put(trans, ex instanceof Exception ee ? ee : new RuntimeException(ex));
+                                }
+                            }
+                            else {
+                                trans.setMsgId(receipt.getMessageId().toString());
+                            }
+                            return receipt;
+                        }));
+                    }
+                }
+                catch (Exception e) {
+                    synchronized (errors) {
+                        errors.put(trans, e);
+                    }
+                }
+                finally {
+                    MDC.remove("tid");
+                }
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            for (val trans : mails) {
+                if (errors.containsKey(trans)) {
+                    failed.add(trans);
+                }
+                else {
+                    sent.add(trans);
+                }
+            }
+
+            commit(sent, transactions, failed, errors);
+            markSent(sent, transactions);
+
+            if (!sent.isEmpty()) {
+                try {
+                    messenger.mailboxService.batchRemove(sent);
+                }
+                catch (Exception e) {
+                    log.warn("Failed to remove {} sent mails: {}", sent.size(), e.getMessage());
+                }
+                if (!CollectionUtils.isEmpty(messenger.callbacks)) {
+                    for (val trans : sent) {
+                        ISendCallback.onSuccess(trans, messenger.callbacks, messenger.codecs,
+                                messenger.callbackExecutor);
+                    }
+                }
+            }
+
+            if (!failed.isEmpty()) {
+                for (val trans : failed) {
+                    prepareRetry(trans, errors.get(trans), messenger.properties);
+                }
+                try {
+                    // 已被其它节点重新认领的邮件由其负责，不再回调
+                    failed.removeAll(messenger.mailboxService.batchUpdate(failed));
+                    for (val trans : failed) {
+                        messenger.wakeupLater(trans);
+                    }
+                }
+                catch (Exception e) {
+                    log.error("Cannot update status of {} failed mails: {}", failed.size(), e.getMessage(), e);
+                }
+                if (!CollectionUtils.isEmpty(messenger.callbacks)) {
+                    for (val trans : failed) {
+                        ISendCallback.onError(trans, messenger.callbacks, messenger.codecs, errors.get(trans),
+                                messenger.callbackExecutor);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 与逐封投递一致，删除前先将已发送的非事务邮件标记为{@link MailStatus#SENT}，删除失败时不会在租期过期后被重复投递.
+         */
+        private void markSent(@Nonnull List<Mailbox> sent, @Nonnull Map<Mailbox, Transaction> transactions) {
+            val mails = new ArrayList<Mailbox>(sent.size());
+            for (val trans : sent) {
+                if (!transactions.containsKey(trans)) {
+                    trans.setStatus(MailStatus.SENT);
+                    mails.add(trans);
+                }
+            }
+            if (mails.isEmpty()) {
+                return;
+            }
+            try {
+                val lost = messenger.mailboxService.batchUpdate(mails);
+                for (val trans : lost) {
+                    // 认领已失效，邮件由重新认领它的节点负责
+                    log.warn("Mail({}) was reclaimed by other postman after it was sent", trans.getMailId());
+                    sent.remove(trans);
+                }
+            }
+            catch (Exception e) {
+                log.warn("Cannot mark {} sent mails as SENT: {}", mails.size(), e.getMessage());
+            }
+        }
+
+        private void commit(@Nonnull List<Mailbox> sent, @Nonnull Map<Mailbox, Transaction> transactions,
+                @Nonnull List<Mailbox> failed, @Nonnull Map<Mailbox, Exception> errors) {
+            if (transactions.isEmpty()) {
+                return;
+            }
+            val mails = new ArrayList<Mailbox>(transactions.keySet());
+            for (val trans : mails) {
+                trans.setStatus(MailStatus.SENT);
+            }
+            List<Mailbox> lost;
+            Exception error = null;
+            try {
+                lost = messenger.mailboxService.batchUpdate(mails);
+            }
+            catch (Exception e) {
+                lost = mails;
+                error = e;
+            }
+
+            for (val trans : mails) {
+                val transaction = transactions.get(trans);
+                if (lost.contains(trans)) {
+                    try {
+                        transaction.rollback();
+                    }
+                    catch (Exception e) {
+                        log.warn("Failed to rollback transaction of mail({}): {}", trans.getMailId(), e.getMessage());
+                    }
+                    sent.remove(trans);
+                    if (error == null) {
+                        // 认领已失效，邮件由重新认领它的节点投递
+                        log.warn("Mail({}) was reclaimed by other postman, rollback its transaction",
+                                trans.getMailId());
+                        continue;
+                    }
+                    trans.setStatus(MailStatus.SENDING);
+                    failed.add(trans);
+                    errors.put(trans, error);
+                    continue;
+                }
+                try {
+                    transaction.commit();
+                }
+                catch (Exception e) {
+                    sent.remove(trans);
+                    log.warn("Failed to commit transaction of mail({}), wait for checker callback: {}",
+                            trans.getContent(), e.getMessage());
+                }
+            }
+        }
+
+    }
+
+    private static void prepareRetry(@Nonnull Mailbox trans, @Nonnull Exception e,
+            @Nonnull RocketMqConfigProperties postmanConfig) {
+        val errMsg = ExceptionUtil.getSimpleMessage(ExceptionUtil.getRootCause(e));
+        val retries = postmanConfig.getPostman().getRetries();
+        val currentRetry = trans.getRetries();
+        if (!(e instanceof StopRetryException) && retries.size() >= (currentRetry + 1)) {
+            trans.setStatus(MailStatus.PENDING);
+            trans.setRetries(currentRetry + 1);
+            val duration = retries.get(currentRetry);
+            trans.setNextRetryAt(System.currentTimeMillis() + duration.toMillis());
+            log.warn("Cannot send mail and will retry in {}s: {} - {}", duration.toSeconds(), trans.getContent(),
+                    errMsg);
+        }
+        else {
+            trans.setStatus(MailStatus.FAIL);
+            log.warn("Cannot send mail and stop retry: {} - {}", trans.getContent(), errMsg);
         }
+        trans.setRemark(errMsg);
     }
 
     @Nonnull
@@ -308,14 +732,13 @@ public class TransactionalMessengerImpl implements IMessenger, ApplicationListen
         val mail = new RocketMail();
         mail.setMailId(trans.getMailId());
         mail.setRecipients(trans.getRecipients());
-        mail.setContent(trans.getContent());
         mail.setPostTime(trans.getPostTime());
         mail.setProperties(trans.getProperties());
 
         val builder = clientServiceProvider.newMessageBuilder()
             .setTopic(mail.getTopic())
             .setKeys(trans.getMailId())
-            .setBody(trans.getContent().getBytes(StandardCharsets.UTF_8));
+            .setBody(trans.encodeContent());
 
         if (StringUtils.hasText(mail.getTags())) {
             builder.setTag(mail.getTags());
@@ -19,11 +19,11 @@ package com.apzda.kalami.mq.rocket.producer;
 
 import cn.hutool.core.util.StrUtil;
 import com.apzda.kalami.mq.messenger.IMessenger;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
 import com.apzda.kalami.mq.rocket.mail.RocketMail;
 import com.apzda.kalami.mq.rocket.message.IDelayMessage;
 import com.apzda.kalami.mq.rocket.message.IMessage;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Nonnull;
 import lombok.Getter;
@@ -37,6 +37,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,6 +66,8 @@ public abstract class RocketmqProducer<T extends IMessage<T, E>, E extends Enum<
 
     private ObjectMapper objectMapper;
 
+    private MessageCodecs codecs;
+
     private IMessenger messenger;
 
     private IMessenger simpleMessenger;
@@ -83,6 +86,12 @@ public abstract class RocketmqProducer<T extends IMessage<T, E>, E extends Enum<
     @Override
     public void afterPropertiesSet() throws Exception {
         this.objectMapper = this.applicationContext.getBean(ObjectMapper.class);
+        this.codecs = this.applicationContext.getBeanProvider(MessageCodecs.class)
+            .getIfAvailable(() -> new MessageCodecs(objectMapper));
+        this.codecs.getCodec(config.getCodec());
+        if (StringUtils.hasText(config.getCompression())) {
+            this.codecs.getCompressor(config.getCompression());
+        }
         this.simpleMessenger = this.applicationContext.getBean("simpleMessenger", IMessenger.class);
         try {
             this.messenger = this.applicationContext.getBean("transactionalMessenger", IMessenger.class);
@@ -136,10 +145,10 @@ public abstract class RocketmqProducer<T extends IMessage<T, E>, E extends Enum<
                 mail.setProperties(properties);
             }
             mail.setAsync(message.isAsync());
-            mail.setContent(objectMapper.writeValueAsString(message));
+            mail.setRawContent(codecs.encode(message, config, mail));
             mail.setContentType(message.getClass().getCanonicalName());
         }
-        catch (JsonProcessingException e) {
+        catch (IOException e) {
             throw new RuntimeException(e);
         }
 
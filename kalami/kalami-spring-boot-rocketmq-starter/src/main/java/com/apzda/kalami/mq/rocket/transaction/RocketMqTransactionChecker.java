@@ -17,6 +17,7 @@
 
 package com.apzda.kalami.mq.rocket.transaction;
 
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
 import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
 import com.apzda.kalami.mq.rocket.listener.ISendCallback;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -41,10 +42,15 @@ public class RocketMqTransactionChecker implements TransactionChecker {
 
     private final IMailboxService mailboxService;
 
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs codecs;
 
     private final List<ISendCallback> callbacks;
 
+    public RocketMqTransactionChecker(IMailboxService mailboxService, ObjectMapper objectMapper,
+            List<ISendCallback> callbacks) {
+        this(mailboxService, new MessageCodecs(objectMapper), callbacks);
+    }
+
     @Override
     public TransactionResolution check(MessageView messageView) {
         val mailId = messageView.getKeys().stream().findFirst().orElse("");
@@ -62,7 +68,7 @@ public class RocketMqTransactionChecker implements TransactionChecker {
                 catch (Exception e) {
                     log.warn("Failed to remove mail: {}. please remove it manually: {}", mail, e.getMessage());
                 }
-                ISendCallback.onSuccess(mail, callbacks, objectMapper);
+                ISendCallback.onSuccess(mail, callbacks, codecs);
                 return TransactionResolution.COMMIT;
             }
             return TransactionResolution.ROLLBACK;
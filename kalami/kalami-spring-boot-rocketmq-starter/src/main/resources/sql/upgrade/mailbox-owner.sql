@@ -0,0 +1,4 @@
+-- Adds the claim owner column used by the batch postman (kalami.rocketmq.postman.batch.*).
+-- Only needed before enabling batch mode; the column is not referenced otherwise.
+ALTER TABLE rocketmq_mailbox
+    ADD COLUMN owner varchar(64) NULL COMMENT 'The claim token of postman';
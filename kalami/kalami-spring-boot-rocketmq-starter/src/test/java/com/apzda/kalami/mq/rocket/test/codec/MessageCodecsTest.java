@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.codec;
+
+import com.apzda.kalami.mq.rocket.codec.Lz4MessageCompressor;
+import com.apzda.kalami.mq.rocket.codec.MessageCodecs;
+import com.apzda.kalami.mq.rocket.codec.MessageCompressor;
+import com.apzda.kalami.mq.rocket.codec.ZstdMessageCompressor;
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.mail.RocketMail;
+import com.apzda.kalami.mq.rocket.test.message.SimpleMessage;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class MessageCodecsTest {
+
+    private final MessageCodecs codecs = new MessageCodecs(new ObjectMapper(), Collections.emptyList(),
+            Collections.emptyList(), 1024);
+
+    @ParameterizedTest
+    @CsvSource({ "json,", "smile,", "cbor,", "json,lz4", "smile,lz4", "cbor,zstd", "json,zstd" })
+    void should_round_trip_messages(String codec, String compression) throws Exception {
+        // given
+        val config = new RocketMqConfigProperties.ProducerConfig();
+        config.setCodec(codec);
+        config.setCompression(compression);
+        config.setCompressThreshold(DataSize.ofBytes(0));
+        val message = new SimpleMessage();
+        message.setTimestamp(1L);
+        message.setContent("hello ".repeat(20));
+        val mail = new RocketMail();
+
+        // when
+        val body = codecs.encode(message, config, mail);
+        val decoded = codecs.decode(messageView(body, mail.getProperties()), SimpleMessage.class);
+
+        // then
+        assertThat(decoded).isEqualTo(message);
+    }
+
+    @Test
+    void should_reject_oversized_message_when_decoding() throws Exception {
+        // given
+        val properties = Map.of("_compression", "lz4");
+        val body = new Lz4MessageCompressor().compress(new byte[4096]);
+
+        // when / then
+        assertThatThrownBy(() -> codecs.decode(messageView(body, properties), SimpleMessage.class))
+            .isInstanceOf(JsonMappingException.class)
+            .hasMessageContaining("too large");
+    }
+
+    @Test
+    void compressors_should_round_trip() throws Exception {
+        for (val compressor : compressors(MessageCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE)) {
+            // given
+            val data = "kalami ".repeat(100).getBytes();
+
+            // when
+            val compressed = compressor.compress(data);
+
+            // then
+            assertThat(compressed.length).isLessThan(data.length);
+            assertThat(compressor.decompress(ByteBuffer.wrap(compressed).asReadOnlyBuffer())).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void compressors_should_reject_truncated_data() throws Exception {
+        for (val compressor : compressors(MessageCompressor.DEFAULT_MAX_DECOMPRESSED_SIZE)) {
+            // given
+            val compressed = compressor.compress("kalami ".repeat(100).getBytes());
+            val truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+            // when / then
+            assertThatThrownBy(() -> compressor.decompress(ByteBuffer.wrap(truncated))).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> compressor.decompress(ByteBuffer.wrap(new byte[2])))
+                .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void compressors_should_reject_data_larger_than_limit() throws Exception {
+        for (val compressor : compressors(1024)) {
+            // given
+            val compressed = compressor.compress(new byte[1025]);
+
+            // when / then
+            assertThatThrownBy(() -> compressor.decompress(ByteBuffer.wrap(compressed)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("too large");
+        }
+    }
+
+    @Test
+    void lz4_should_not_trust_forged_length_header() {
+        // given: 声明原始长度为2GB的4字节头
+        val forged = ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).array();
+        val compressor = new Lz4MessageCompressor(1024);
+
+        // when / then
+        assertThatThrownBy(() -> compressor.decompress(ByteBuffer.wrap(forged))).isInstanceOf(IOException.class)
+            .hasMessageContaining("too large");
+    }
+
+    private static List<MessageCompressor> compressors(int maxSize) {
+        return List.of(new Lz4MessageCompressor(maxSize), ZstdMessageCompressor.withMaxDecompressedSize(maxSize));
+    }
+
+    private static MessageView messageView(byte[] body, Map<String, String> properties) {
+        val messageView = mock(MessageView.class);
+        when(messageView.getBody()).thenAnswer(i -> ByteBuffer.wrap(body).asReadOnlyBuffer());
+        when(messageView.getProperties()).thenReturn(properties);
+        return messageView;
+    }
+
+}
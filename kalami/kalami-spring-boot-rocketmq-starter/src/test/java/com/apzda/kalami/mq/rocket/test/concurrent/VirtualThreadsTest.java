@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.concurrent;
+
+import com.apzda.kalami.mq.rocket.concurrent.VirtualThreads;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class VirtualThreadsTest {
+
+    @Test
+    @Timeout(10)
+    void saturated_executor_should_not_block_submitter() throws Exception {
+        // given
+        val executor = VirtualThreads.newExecutor("test-", 1);
+        val release = new CountDownLatch(1);
+        val done = new CountDownLatch(3);
+        val running = new AtomicInteger();
+        val maxRunning = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                }
+                catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        release.countDown();
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        executor.close();
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.consumer;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.consumer.BatchReceiver;
+import com.apzda.kalami.mq.rocket.listener.BatchMessage;
+import com.apzda.kalami.mq.rocket.listener.BatchMessageListenerDelegate;
+import com.apzda.kalami.mq.rocket.listener.IBatchMessageListener;
+import com.apzda.kalami.mq.rocket.test.Tags;
+import com.apzda.kalami.mq.rocket.test.message.SimpleMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.ClientServiceProvider;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.FilterExpression;
+import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
+import org.apache.rocketmq.client.apis.consumer.SimpleConsumerBuilder;
+import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class BatchReceiverTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private GenericApplicationContext context;
+
+    private SimpleConsumer consumer;
+
+    private BatchReceiver receiver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new GenericApplicationContext();
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.registerBean("batchListener", DemoBatchListener.class, () -> new DemoBatchListener(batches));
+        context.refresh();
+
+        consumer = mock(SimpleConsumer.class);
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received());
+        when(consumer.ackAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        val builder = mock(SimpleConsumerBuilder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(consumer);
+        val provider = mock(ClientServiceProvider.class);
+        when(provider.newSimpleConsumerBuilder()).thenReturn(builder);
+
+        val config = new RocketMqConfigProperties.TopicConfig();
+        config.setTopic("demo");
+        config.setListener("batchListener");
+        config.getBatch().setEnabled(true);
+        config.getBatch().setSize(10);
+        receiver = new BatchReceiver(provider, mock(ClientConfiguration.class), "group", config,
+                FilterExpression.SUB_ALL, new BatchMessageListenerDelegate(config, context));
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.close();
+        context.close();
+    }
+
+    @Test
+    void should_consume_received_messages_in_one_batch() throws Exception {
+        // given
+        val m1 = message("1", "{\"content\":\"ok-1\"}");
+        val m2 = message("2", "{\"content\":\"ok-2\"}");
+        val m3 = message("3", "{\"content\":\"ok-3\"}");
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received(m1, m2), received(m3), received());
+
+        // when
+        receiver.start();
+
+        // then
+        verify(consumer, timeout(3000)).ackAsync(m3);
+        verify(consumer).ackAsync(m1);
+        verify(consumer).ackAsync(m2);
+        assertThat(batches).containsExactly(List.of("ok-1", "ok-2", "ok-3"));
+    }
+
+    @Test
+    void failed_messages_should_not_be_acked() throws Exception {
+        // given
+        val m1 = message("1", "{\"content\":\"ok-1\"}");
+        val m2 = message("2", "{\"content\":\"fail\"}");
+        val m3 = message("3", "{\"content\":\"ok-3\"}");
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received(m1, m2, m3), received());
+
+        // when
+        receiver.start();
+
+        // then
+        verify(consumer, timeout(3000)).ackAsync(m3);
+        verify(consumer).ackAsync(m1);
+        verify(consumer, never()).ackAsync(m2);
+    }
+
+    @Test
+    void undecodable_messages_should_not_be_acked() throws Exception {
+        // given
+        val m1 = message("1", "not json");
+        val m2 = message("2", "{\"content\":\"ok-2\"}");
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received(m1, m2), received());
+
+        // when
+        receiver.start();
+
+        // then
+        verify(consumer, timeout(3000)).ackAsync(m2);
+        verify(consumer, never()).ackAsync(m1);
+        assertThat(batches).containsExactly(List.of("ok-2"));
+    }
+
+    @Test
+    void nothing_should_be_acked_when_listener_throws() throws Exception {
+        // given
+        val m1 = message("1", "{\"content\":\"ok-1\"}");
+        val m2 = message("2", "{\"content\":\"boom\"}");
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received(m1, m2), received());
+
+        // when
+        receiver.start();
+
+        // then
+        verify(consumer, timeout(3000).atLeast(3)).receiveAsync(anyInt(), any());
+        verify(consumer, never()).ackAsync(any());
+        assertThat(batches).containsExactly(List.of("ok-1", "boom"));
+    }
+
+    @Test
+    void batch_should_only_wait_for_the_remaining_window() throws Exception {
+        // given
+        val m1 = message("1", "{\"content\":\"ok-1\"}");
+        val m2 = message("2", "{\"content\":\"ok-2\"}");
+        val slow = new CompletableFuture<List<MessageView>>();
+        when(consumer.receiveAsync(anyInt(), any())).thenReturn(received(m1), slow, received());
+
+        // when
+        receiver.start();
+
+        // then: 窗口到期时不再等待未返回的拉取
+        verify(consumer, timeout(3000)).ackAsync(m1);
+        assertThat(batches).containsExactly(List.of("ok-1"));
+
+        // when: 未返回的拉取在下一批中继续等待，不会重复拉取
+        verify(consumer, times(2)).receiveAsync(anyInt(), any());
+        slow.complete(List.of(m2));
+
+        // then
+        verify(consumer, timeout(3000)).ackAsync(m2);
+        assertThat(batches).containsExactly(List.of("ok-1"), List.of("ok-2"));
+    }
+
+    private static CompletableFuture<List<MessageView>> received(MessageView... messages) {
+        return CompletableFuture.completedFuture(List.of(messages));
+    }
+
+    private static MessageView message(String id, String body) {
+        val messageView = mock(MessageView.class);
+        val messageId = mock(MessageId.class);
+        when(messageId.toString()).thenReturn(id);
+        when(messageView.getMessageId()).thenReturn(messageId);
+        when(messageView.getTopic()).thenReturn("demo");
+        when(messageView.getBody()).thenAnswer(i -> ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+        when(messageView.getTag()).thenReturn(Optional.of("TEST"));
+        when(messageView.getProperties()).thenReturn(Map.of());
+        return messageView;
+    }
+
+    static class DemoBatchListener implements IBatchMessageListener<SimpleMessage, Tags> {
+
+        private final List<List<String>> batches;
+
+        DemoBatchListener(List<List<String>> batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        @Nonnull
+        public List<ConsumeResult> onMessages(@Nonnull List<BatchMessage<SimpleMessage, Tags>> messages) {
+            val contents = messages.stream().map(m -> m.message().getContent()).toList();
+            batches.add(contents);
+            if (contents.contains("boom")) {
+                throw new IllegalStateException("boom");
+            }
+            return contents.stream()
+                .map(content -> "fail".equals(content) ? ConsumeResult.FAILURE : ConsumeResult.SUCCESS)
+                .toList();
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.limiter;
+
+import com.apzda.kalami.mq.rocket.autoconfig.OnTokenBucketLimiterCondition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class OnTokenBucketLimiterConditionTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withUserConfiguration(TestConfig.class);
+
+    @ParameterizedTest
+    @ValueSource(strings = { "token-bucket", "token_bucket", "TOKEN_BUCKET", "tokenBucket" })
+    void should_match_relaxed_spellings(String type) {
+        runner.withPropertyValues("kalami.rocketmq.limit.type=" + type)
+            .run(context -> assertThat(context).hasBean("limiter"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "counter", "COUNTER" })
+    void should_not_match_other_types(String type) {
+        runner.withPropertyValues("kalami.rocketmq.limit.type=" + type)
+            .run(context -> assertThat(context).doesNotHaveBean("limiter"));
+    }
+
+    @Test
+    void should_not_match_when_missing() {
+        runner.run(context -> assertThat(context).doesNotHaveBean("limiter"));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class TestConfig {
+
+        @Bean
+        @Conditional(OnTokenBucketLimiterCondition.class)
+        String limiter() {
+            return "token-bucket";
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.limiter;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.limiter.TokenBucketRateLimiter;
+import com.apzda.kalami.mq.rocket.mail.RocketMail;
+import com.apzda.kalami.service.CounterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class TokenBucketRateLimiterTest {
+
+    private final Message message = mock(Message.class);
+
+    private Producer producer;
+
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        producer = mock(Producer.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) {
+            limiter.close();
+        }
+    }
+
+    @Test
+    void should_allow_burst_up_to_limit() throws Exception {
+        // given
+        limiter = create(null, 10, 0);
+        val start = System.nanoTime();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            limiter.send(producer, message, mail());
+        }
+
+        // then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(90);
+        verify(producer, times(10)).send(message);
+    }
+
+    @Test
+    void should_refill_at_limit_per_interval() throws Exception {
+        // given
+        limiter = create(null, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            limiter.send(producer, message, mail());
+        }
+        val start = System.nanoTime();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            limiter.send(producer, message, mail());
+        }
+
+        // then: 每100ms补充一个令牌
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isBetween(450L, 900L);
+        verify(producer, times(15)).send(message);
+    }
+
+    @Test
+    void concurrent_reservations_should_not_exceed_rate() throws Exception {
+        // given
+        limiter = create(null, 20, 0);
+        val start = System.nanoTime();
+        val futures = new ArrayList<CompletableFuture<Void>>();
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        limiter.send(producer, message, mail());
+                    }
+                    catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        // then: 20个突发令牌之外的20个令牌需要1秒补充
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(900);
+        verify(producer, times(40)).send(message);
+    }
+
+    @Test
+    void leased_tokens_should_not_carry_over_to_next_window() throws Exception {
+        // given
+        val counter = new WindowCounter();
+        limiter = create(counter, 4, 2);
+        awaitNextWindow();
+
+        // when
+        limiter.send(producer, message, mail());
+        val first = counter.window();
+        awaitNextWindow();
+        limiter.send(producer, message, mail());
+        val second = counter.window();
+
+        // then: 上一窗口剩余的一个令牌被丢弃，新窗口重新租用
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(counter.counts).containsEntry(first, 1).containsEntry(second, 1);
+        verify(producer, times(2)).send(message);
+    }
+
+    private TokenBucketRateLimiter create(CounterService counter, int limit, int leaseSize) {
+        val properties = new RocketMqConfigProperties();
+        properties.getLimit().setLimit(limit);
+        properties.getLimit().setInterval(Duration.ofSeconds(1));
+        properties.getLimit().setLeaseSize(leaseSize);
+        return new TokenBucketRateLimiter(counter, new ObjectMapper(), properties, Collections.emptyList());
+    }
+
+    private static RocketMail mail() {
+        val mail = new RocketMail();
+        mail.setAsync(false);
+        return mail;
+    }
+
+    private static void awaitNextWindow() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(1000 - System.currentTimeMillis() % 1000 + 20);
+    }
+
+    private static class WindowCounter implements CounterService {
+
+        private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public int count(String key, long interval) {
+            return counts.merge(window(), 1, Integer::sum);
+        }
+
+        long window() {
+            return System.currentTimeMillis() / 1000;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.listener;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.listener.IMessageListener;
+import com.apzda.kalami.mq.rocket.listener.MessageListenerDelegate;
+import com.apzda.kalami.mq.rocket.test.Tags;
+import com.apzda.kalami.mq.rocket.test.message.SimpleMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class MessageListenerDecodeTest {
+
+    @Test
+    void should_decode_body_without_string_by_default() {
+        // given
+        val listener = new RecordingListener();
+        val delegate = delegate(listener);
+
+        // when
+        val result = delegate.consume(message("{\"content\":\"hello\"}"));
+
+        // then
+        assertThat(result).isEqualTo(ConsumeResult.SUCCESS);
+        assertThat(listener.received).extracting(SimpleMessage::getContent).containsExactly("hello");
+    }
+
+    @Test
+    void should_route_through_overridden_string_decode() {
+        // given
+        val listener = new StringDecodeListener();
+        val delegate = delegate(listener);
+
+        // when
+        val result = delegate.consume(message("{\"content\":\"hello\"}"));
+
+        // then
+        assertThat(result).isEqualTo(ConsumeResult.SUCCESS);
+        assertThat(listener.contents).containsExactly("{\"content\":\"hello\"}");
+        assertThat(listener.received).extracting(SimpleMessage::getContent).containsExactly("HELLO");
+    }
+
+    private static MessageListenerDelegate delegate(IMessageListener<SimpleMessage, Tags> listener) {
+        val context = new GenericApplicationContext();
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.registerBean("demoListener", IMessageListener.class, () -> listener);
+        context.refresh();
+        val config = new RocketMqConfigProperties.TopicConfig();
+        config.setTopic("demo");
+        config.setListener("demoListener");
+        return new MessageListenerDelegate(config, context);
+    }
+
+    private static MessageView message(String body) {
+        val messageView = mock(MessageView.class);
+        // 与客户端一致，消息体为只读缓冲区
+        when(messageView.getBody())
+            .thenAnswer(i -> ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+        when(messageView.getTag()).thenReturn(Optional.of("TEST"));
+        when(messageView.getProperties()).thenReturn(Map.of());
+        return messageView;
+    }
+
+    static class RecordingListener implements IMessageListener<SimpleMessage, Tags> {
+
+        final List<SimpleMessage> received = new ArrayList<>();
+
+        @Override
+        public boolean onMessage(@Nonnull SimpleMessage message, Tags tag, @Nonnull MessageView messageView) {
+            received.add(message);
+            return true;
+        }
+
+    }
+
+    static class StringDecodeListener extends RecordingListener {
+
+        final List<String> contents = new ArrayList<>();
+
+        @Override
+        public SimpleMessage decode(@Nonnull String content, @Nonnull TypeReference<?> typeReference,
+                @Nonnull ObjectMapper objectMapper) throws JsonProcessingException {
+            contents.add(content);
+            val message = objectMapper.readValue(content, SimpleMessage.class);
+            message.setContent(message.getContent().toUpperCase());
+            return message;
+        }
+
+    }
+
+}
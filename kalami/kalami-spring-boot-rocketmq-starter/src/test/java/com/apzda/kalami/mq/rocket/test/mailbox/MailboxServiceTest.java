@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.mailbox;
+
+import com.apzda.kalami.mq.rocket.domain.entity.Mailbox;
+import com.apzda.kalami.mq.rocket.domain.service.impl.MailboxServiceImpl;
+import com.apzda.kalami.mq.rocket.domain.vo.MailStatus;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.test.autoconfigure.MybatisPlusTest;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@MybatisPlusTest
+@ContextConfiguration(classes = MailboxServiceTest.TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = { "skip.container=yes",
+        "spring.datasource.url=jdbc:h2:mem:mailbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver", "spring.datasource.username=sa",
+        "spring.datasource.password=" })
+@Sql("classpath:/mailbox.sql")
+class MailboxServiceTest {
+
+    @Autowired
+    private MailboxServiceImpl mailboxService;
+
+    @Test
+    void should_claim_due_mails_once() {
+        // given
+        val now = System.currentTimeMillis();
+        save("m1", now - 2000);
+        save("m2", now - 1000);
+        save("m3", now);
+        save("m4", now + 60000);
+
+        // when
+        val first = mailboxService.claim("n1:1", 2, now, now + 30000);
+        val second = mailboxService.claim("n2:1", 10, now, now + 30000);
+        val third = mailboxService.claim("n3:1", 10, now, now + 30000);
+
+        // then
+        assertThat(first).extracting(Mailbox::getMailId).containsExactlyInAnyOrder("m1", "m2");
+        assertThat(first).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailStatus.SENDING);
+            assertThat(mail.getOwner()).isEqualTo("n1:1");
+        });
+        assertThat(second).extracting(Mailbox::getMailId).containsExactly("m3");
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    void should_reclaim_mails_after_lease_expired() {
+        // given
+        val now = System.currentTimeMillis();
+        save("m1", now);
+        mailboxService.claim("n1:1", 10, now, now + 1000);
+
+        // when
+        val before = mailboxService.claim("n2:1", 10, now + 500, now + 30500);
+        val after = mailboxService.claim("n2:2", 10, now + 1000, now + 31000);
+
+        // then
+        assertThat(before).isEmpty();
+        assertThat(after).extracting(Mailbox::getMailId).containsExactly("m1");
+        assertThat(after.get(0).getOwner()).isEqualTo("n2:2");
+    }
+
+    @Test
+    void should_claim_given_mails_when_due() {
+        // given
+        val now = System.currentTimeMillis();
+        val due = save("m1", now);
+        val later = save("m2", now + 60000);
+        val taken = save("m3", now);
+        mailboxService.claim("n1:1", List.of(taken), now, now + 30000);
+
+        // when
+        val claimed = mailboxService.claim("n2:1", List.of(due, later, taken), now, now + 30000);
+
+        // then
+        assertThat(claimed).extracting(Mailbox::getMailId).containsExactly("m1");
+        assertThat(claimed.get(0).getOwner()).isEqualTo("n2:1");
+        assertThat(mailboxService.getById(later.getId()).getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(ownerOf(taken.getId())).isEqualTo("n1:1");
+    }
+
+    @Test
+    void batch_update_should_not_overwrite_reclaimed_mails() {
+        // given
+        val now = System.currentTimeMillis();
+        save("m1", now);
+        save("m2", now);
+        val stale = mailboxService.claim("n1:1", 10, now, now + 1000);
+        val reclaimed = mailboxService.claim("n2:1", 10, now + 1000, now + 31000);
+        stale.forEach(mail -> mail.setStatus(MailStatus.SENT));
+
+        // when
+        val lost = mailboxService.batchUpdate(stale);
+        val removed = mailboxService.batchRemove(stale);
+
+        // then
+        assertThat(lost).hasSize(2);
+        assertThat(removed).isFalse();
+        assertThat(mailboxService.list()).hasSize(2).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailStatus.SENDING);
+            assertThat(ownerOf(mail.getId())).isEqualTo("n2:1");
+        });
+
+        // when
+        reclaimed.forEach(mail -> mail.setStatus(MailStatus.SENT));
+        val updated = mailboxService.batchUpdate(List.of(reclaimed.get(0)));
+
+        // then
+        assertThat(updated).isEmpty();
+        assertThat(mailboxService.getById(reclaimed.get(0).getId()).getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(mailboxService.batchRemove(reclaimed)).isTrue();
+        assertThat(mailboxService.list()).isEmpty();
+    }
+
+    @Test
+    void batch_update_should_report_only_lost_mails() {
+        // given
+        val now = System.currentTimeMillis();
+        val m1 = save("m1", now);
+        val m2 = save("m2", now);
+        val claimed = mailboxService.claim("n1:1", List.of(m1, m2), now, now + 1000);
+        val reclaimed = mailboxService.claim("n2:1", 1, now + 1000, now + 31000);
+        claimed.forEach(mail -> mail.setStatus(MailStatus.SENT));
+
+        // when
+        val lost = mailboxService.batchUpdate(claimed);
+
+        // then
+        assertThat(claimed).hasSize(2);
+        assertThat(reclaimed).hasSize(1);
+        assertThat(lost).extracting(Mailbox::getId).containsExactly(reclaimed.get(0).getId());
+        assertThat(mailboxService.list()).extracting(Mailbox::getStatus)
+            .containsExactlyInAnyOrder(MailStatus.SENT, MailStatus.SENDING);
+    }
+
+    private String ownerOf(Long id) {
+        val query = Wrappers.lambdaQuery(Mailbox.class).select(Mailbox::getOwner).eq(Mailbox::getId, id);
+        return mailboxService.getObj(query, Object::toString);
+    }
+
+    private Mailbox save(String mailId, long nextRetryAt) {
+        val mail = new Mailbox();
+        mail.setMailId(mailId);
+        mail.setContent("{}");
+        mail.setRecipients("demo");
+        mail.setNextRetryAt(nextRetryAt);
+        mail.setTransactional(false);
+        mail.setRetries(0);
+        mail.setStatus(MailStatus.PENDING);
+        mailboxService.save(mail);
+        return mail;
+    }
+
+    @SpringBootConfiguration
+    @MapperScan("com.apzda.kalami.mq.rocket.domain.mapper")
+    static class TestConfig {
+
+        @Bean
+        MailboxServiceImpl mailboxService() {
+            return new MailboxServiceImpl();
+        }
+
+    }
+
+}
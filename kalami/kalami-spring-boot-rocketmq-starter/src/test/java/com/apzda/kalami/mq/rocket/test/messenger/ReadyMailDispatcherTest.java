@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.messenger;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.domain.entity.Mailbox;
+import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
+import com.apzda.kalami.mq.rocket.domain.vo.MailStatus;
+import com.apzda.kalami.mq.rocket.mail.RocketMail;
+import com.apzda.kalami.mq.rocket.messenger.TransactionalMessengerImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.apache.rocketmq.client.apis.ClientServiceProvider;
+import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class ReadyMailDispatcherTest {
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private IMailboxService mailboxService;
+
+    private Producer producer;
+
+    private TransactionalMessengerImpl messenger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mailboxService = mock(IMailboxService.class);
+        when(mailboxService.save(any())).thenAnswer(invocation -> {
+            invocation.<Mailbox>getArgument(0).setId(ids.incrementAndGet());
+            return true;
+        });
+        when(mailboxService.claim(anyString(), anyCollection(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            val claimed = new ArrayList<Mailbox>();
+            for (val mail : invocation.<Collection<Mailbox>>getArgument(1)) {
+                if (mail.getNextRetryAt() <= invocation.<Long>getArgument(2)) {
+                    mail.setStatus(MailStatus.SENDING);
+                    mail.setOwner(invocation.getArgument(0));
+                    claimed.add(mail);
+                }
+            }
+            return claimed;
+        });
+        when(mailboxService.batchUpdate(anyCollection())).thenReturn(Collections.emptyList());
+        when(mailboxService.batchRemove(anyCollection())).thenReturn(true);
+
+        val receipt = mock(SendReceipt.class);
+        when(receipt.getMessageId()).thenReturn(mock(MessageId.class));
+        producer = mock(Producer.class);
+        when(producer.sendAsync(any())).thenReturn(CompletableFuture.completedFuture(receipt));
+
+        val properties = new RocketMqConfigProperties();
+        val postman = properties.getPostman();
+        postman.setRetries(List.of(Duration.ofMillis(300)));
+        postman.getBatch().setEnabled(true);
+        postman.getWakeup().setEnabled(true);
+        // 兜底扫描不会在测试期间再次执行
+        postman.getWakeup().setSweepPeriod(Duration.ofHours(1));
+
+        messenger = new TransactionalMessengerImpl(properties, producer, new ObjectMapper(), mailboxService,
+                ClientServiceProvider.loadService(), Collections.emptyList());
+        messenger.onApplicationEvent(mock(ApplicationReadyEvent.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        messenger.stop();
+    }
+
+    @Test
+    void ready_mails_should_be_sent_in_batch() {
+        // when
+        for (int i = 0; i < 3; i++) {
+            messenger.send(mail("m" + i));
+        }
+
+        // then
+        verify(producer, timeout(3000).times(3)).sendAsync(any());
+        verify(mailboxService, timeout(3000).atLeastOnce()).batchRemove(anyCollection());
+        verify(mailboxService, atLeastOnce()).claim(anyString(), anyCollection(), anyLong(), anyLong());
+        verify(mailboxService, never()).updateStatus(any(), eq(MailStatus.PENDING));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failed_mail_should_be_retried_after_its_retry_delay() {
+        // given
+        val receipt = mock(SendReceipt.class);
+        when(receipt.getMessageId()).thenReturn(mock(MessageId.class));
+        when(producer.sendAsync(any())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("down")),
+                CompletableFuture.completedFuture(receipt));
+        val start = System.currentTimeMillis();
+
+        // when
+        messenger.send(mail("m1"));
+
+        // then
+        verify(producer, timeout(3000).times(2)).sendAsync(any());
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(300);
+        verify(mailboxService, timeout(3000).atLeastOnce()).batchRemove(anyCollection());
+    }
+
+    private RocketMail mail(String mailId) {
+        val mail = new RocketMail();
+        mail.setMailId(mailId);
+        mail.setRecipients("demo:test");
+        mail.setContent("{}");
+        mail.setTransactional(false);
+        return mail;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.mq.rocket.test.messenger;
+
+import com.apzda.kalami.mq.rocket.config.RocketMqConfigProperties;
+import com.apzda.kalami.mq.rocket.domain.service.IMailboxService;
+import com.apzda.kalami.mq.rocket.listener.ISendCallback;
+import com.apzda.kalami.mq.rocket.mail.RocketMail;
+import com.apzda.kalami.mq.rocket.messenger.TransactionalMessengerImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
+import org.apache.rocketmq.client.apis.ClientServiceProvider;
+import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.Producer;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class SendCallbackExecutorTest {
+
+    private static final int MAILS = 5;
+
+    private final CountDownLatch latch = new CountDownLatch(MAILS);
+
+    private TransactionalMessengerImpl messenger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        val mailboxService = mock(IMailboxService.class);
+        when(mailboxService.save(any())).thenReturn(true);
+        when(mailboxService.updateStatus(any(), any())).thenReturn(true);
+        when(mailboxService.removeById(any())).thenReturn(true);
+
+        val receipt = mock(SendReceipt.class);
+        when(receipt.getMessageId()).thenReturn(mock(MessageId.class));
+        val producer = mock(Producer.class);
+        when(producer.send(any())).thenReturn(receipt);
+
+        val properties = new RocketMqConfigProperties();
+        properties.getVirtualThreads().setEnabled(true);
+        // 投递任务用完全部并发额度
+        properties.getVirtualThreads().setMaxConcurrency(1);
+
+        messenger = new TransactionalMessengerImpl(properties, producer, new ObjectMapper(), mailboxService,
+                ClientServiceProvider.loadService(), List.of(new ISendCallback() {
+                    @Override
+                    public void onSuccess(Object message) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onError(Object message, Throwable e) {
+                    }
+                }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        messenger.stop();
+    }
+
+    @Test
+    @Timeout(10)
+    void callbacks_should_run_when_postman_concurrency_is_saturated() throws Exception {
+        // when
+        for (int i = 0; i < MAILS; i++) {
+            val mail = new RocketMail();
+            mail.setMailId("m" + i);
+            mail.setRecipients("demo:test");
+            mail.setContent("{\"id\":" + i + "}");
+            mail.setContentType("java.util.HashMap");
+            mail.setTransactional(false);
+            messenger.send(mail);
+        }
+
+        // then
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+}
@@ -16,6 +16,7 @@ CREATE TABLE rocketmq_mailbox
     content_type  varchar(128)                                        NULL COMMENT 'the class name of the content',
     retries       SMALLINT UNSIGNED                                   NOT NULL DEFAULT 0 COMMENT 'The count ',
     remark        text                                                NULL COMMENT 'remark',
+    owner         varchar(64)                                         NULL COMMENT 'The claim token of postman',
     INDEX IDX_STATUS (status, next_retry_at),
     INDEX IDX_CT (create_time),
     INDEX IDX_MSG_ID (msg_id),
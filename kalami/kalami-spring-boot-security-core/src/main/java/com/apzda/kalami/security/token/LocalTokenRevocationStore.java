@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单节点的内存吊销存储，未配置集中式存储时使用. 吊销只在本节点生效.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class LocalTokenRevocationStore implements TokenRevocationStore {
+
+    /**
+     * 令牌摘要 -> 过期时间(毫秒)
+     */
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * 用户 -> [吊销时间点(毫秒), 过期时间(毫秒)]
+     */
+    private final Map<String, long[]> users = new ConcurrentHashMap<>();
+
+    @Override
+    public void revoke(@Nonnull String tokenId, @Nonnull Duration ttl) {
+        tokens.put(tokenId, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public boolean isRevoked(@Nonnull String tokenId) {
+        val expireAt = tokens.get(tokenId);
+        return expireAt != null && expireAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revokeBefore(@Nonnull String uid, long notBefore, @Nonnull Duration ttl) {
+        val expireAt = System.currentTimeMillis() + ttl.toMillis();
+        users.merge(uid, new long[] { notBefore, expireAt },
+                (o, n) -> new long[] { Math.max(o[0], n[0]), Math.max(o[1], n[1]) });
+    }
+
+    @Override
+    @Nonnull
+    public Collection<String> revokedTokens() {
+        val now = System.currentTimeMillis();
+        tokens.values().removeIf(expireAt -> expireAt <= now);
+        return new ArrayList<>(tokens.keySet());
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, Long> notBefore() {
+        val now = System.currentTimeMillis();
+        users.values().removeIf(value -> value[1] <= now);
+        val notBefore = new HashMap<String, Long>(users.size());
+        users.forEach((uid, value) -> notBefore.put(uid, value[0]));
+        return notBefore;
+    }
+
+    @Override
+    public void subscribe(@Nonnull RevocationListener listener) {
+        // 单节点，无需广播
+    }
+
+}
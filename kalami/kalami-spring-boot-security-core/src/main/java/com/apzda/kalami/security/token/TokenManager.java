@@ -65,6 +65,13 @@ public interface TokenManager {
 
     }
 
+    /**
+     * 吊销用户已签发的全部令牌(强制下线、锁定账户等)
+     */
+    default void revokeAll(@Nonnull String uid) {
+
+    }
+
     /**
      * 验证认证的合法性
      */
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 令牌吊销记录的(集中式)存储，同时负责在集群内广播吊销通知.
+ * <p/>
+ * 令牌以其摘要标识；按用户吊销时记录一个时间点(毫秒)，此前签发的令牌均视为已吊销.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * 吊销令牌并通知集群内所有节点.
+     * @param tokenId 令牌摘要
+     * @param ttl 记录保存时间，不短于令牌的剩余有效期
+     */
+    void revoke(@Nonnull String tokenId, @Nonnull Duration ttl);
+
+    boolean isRevoked(@Nonnull String tokenId);
+
+    /**
+     * 吊销用户在<code>notBefore</code>(毫秒)及之前签发的全部令牌并通知集群内所有节点.
+     */
+    void revokeBefore(@Nonnull String uid, long notBefore, @Nonnull Duration ttl);
+
+    /**
+     * 全部未过期的令牌吊销记录，用于本地过滤器的周期同步.
+     */
+    @Nonnull
+    Collection<String> revokedTokens();
+
+    /**
+     * 全部未过期的用户吊销时间点.
+     */
+    @Nonnull
+    Map<String, Long> notBefore();
+
+    /**
+     * 订阅集群内的吊销通知
+     */
+    void subscribe(@Nonnull RevocationListener listener);
+
+    @FunctionalInterface
+    interface RevocationListener {
+
+        /**
+         * @param tokenId 被吊销的令牌摘要，按用户吊销时为null
+         * @param uid 被吊销的用户，吊销单个令牌时为null
+         * @param notBefore 用户吊销时间点(毫秒)
+         */
+        void onRevoked(@Nullable String tokenId, @Nullable String uid, long notBefore);
+
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.user;
+
+import com.apzda.kalami.tenant.TenantManager;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户权限缓存.
+ * <p/>
+ * 以租户、组织与用户名为键缓存{@link MetaUserDetailsService#getAuthorities}的结果：一级为本地缓存，
+ * 二级为可选的{@link AuthorityCacheStore}(如Redis). 通过{@link MetaUserDetailsService#clearCache}使缓存失效，
+ * 配置了二级存储时失效通知会广播到集群内所有节点.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class AuthorityCache implements InitializingBean, DisposableBean {
+
+    private static AuthorityCache authorityCache;
+
+    private final Cache<AuthorityCacheStore.Key, Collection<? extends GrantedAuthority>> cache;
+
+    private final AuthorityCacheStore store;
+
+    private final Duration ttl;
+
+    public AuthorityCache(@Nonnull Duration ttl, long maximumSize, @Nullable AuthorityCacheStore store) {
+        this.ttl = ttl;
+        this.store = store;
+        this.cache = CacheBuilder.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (store != null) {
+            store.subscribe(this::invalidate);
+        }
+        authorityCache = this;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (authorityCache == this) {
+            authorityCache = null;
+        }
+    }
+
+    /**
+     * 获取用户权限，未启用缓存时直接从<code>service</code>加载.
+     */
+    @Nonnull
+    public static Collection<? extends GrantedAuthority> getAuthorities(@Nonnull MetaUserDetailsService service,
+            @Nonnull UserDetails userDetails, Authentication authentication) {
+        val cache = authorityCache;
+        if (cache == null) {
+            return service.getAuthorities(userDetails, authentication);
+        }
+        return cache.load(service, userDetails, authentication);
+    }
+
+    /**
+     * 使匹配的权限缓存失效，参数为null时匹配任意值.
+     */
+    public static void evict(@Nullable String tenantId, @Nullable String orgId, @Nullable String username) {
+        val cache = authorityCache;
+        if (cache != null) {
+            cache.invalidate(tenantId, orgId, username);
+            if (cache.store != null) {
+                cache.store.evict(tenantId, orgId, username);
+            }
+        }
+    }
+
+    @Nonnull
+    private Collection<? extends GrantedAuthority> load(@Nonnull MetaUserDetailsService service,
+            @Nonnull UserDetails userDetails, Authentication authentication) {
+        val key = new AuthorityCacheStore.Key(TenantManager.tenantId(), TenantManager.orgId(),
+                userDetails.getUsername());
+        var authorities = cache.getIfPresent(key);
+        if (authorities != null) {
+            return authorities;
+        }
+
+        if (store != null) {
+            try {
+                authorities = store.get(key);
+            }
+            catch (Exception e) {
+                log.warn("Cannot load authorities of {} from cache store: {}", key, e.getMessage());
+            }
+            if (authorities != null) {
+                log.trace("[3] Retrieved authorities from cache store: {}", key);
+                cache.put(key, authorities);
+                return authorities;
+            }
+        }
+
+        val loaded = service.getAuthorities(userDetails, authentication);
+        authorities = loaded == null ? List.of() : List.copyOf(loaded);
+        cache.put(key, authorities);
+        if (store != null) {
+            try {
+                store.put(key, authorities, ttl);
+            }
+            catch (Exception e) {
+                log.warn("Cannot save authorities of {} to cache store: {}", key, e.getMessage());
+            }
+        }
+        return authorities;
+    }
+
+    private void invalidate(@Nullable String tenantId, @Nullable String orgId, @Nullable String username) {
+        if (tenantId == null && orgId == null && username == null) {
+            cache.invalidateAll();
+        }
+        else {
+            cache.asMap().keySet().removeIf(key -> key.matches(tenantId, orgId, username));
+        }
+        log.trace("Authorities cache evicted: {}/{}/{}", tenantId, orgId, username);
+    }
+
+}
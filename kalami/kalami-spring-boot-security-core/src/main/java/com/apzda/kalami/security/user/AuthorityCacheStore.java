@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.user;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * {@link AuthorityCache}的二级(集中式)存储，同时负责在集群内广播失效通知.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface AuthorityCacheStore {
+
+    @Nullable
+    Collection<? extends GrantedAuthority> get(@Nonnull Key key);
+
+    void put(@Nonnull Key key, @Nonnull Collection<? extends GrantedAuthority> authorities, @Nonnull Duration ttl);
+
+    /**
+     * 删除匹配的缓存并通知集群内所有节点, 参数为null时匹配任意值.
+     */
+    void evict(@Nullable String tenantId, @Nullable String orgId, @Nullable String username);
+
+    /**
+     * 订阅集群内的失效通知
+     */
+    void subscribe(@Nonnull EvictionListener listener);
+
+    @FunctionalInterface
+    interface EvictionListener {
+
+        void onEvicted(@Nullable String tenantId, @Nullable String orgId, @Nullable String username);
+
+    }
+
+    record Key(String tenantId, String orgId, @Nonnull String username) {
+
+        public boolean matches(@Nullable String tenantId, @Nullable String orgId, @Nullable String username) {
+            return (tenantId == null || Objects.equals(tenantId, this.tenantId))
+                    && (orgId == null || Objects.equals(orgId, this.orgId))
+                    && (username == null || Objects.equals(username, this.username));
+        }
+
+    }
+
+}
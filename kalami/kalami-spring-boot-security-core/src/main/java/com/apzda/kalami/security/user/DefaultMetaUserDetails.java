@@ -61,7 +61,7 @@ public class DefaultMetaUserDetails implements MetaUserDetails {
             return authorities;
         }
 
-        authorities = userMetaService.getAuthorities(userDetails, authentication);
+        authorities = AuthorityCache.getAuthorities(userMetaService, userDetails, authentication);
         log.trace("[z] Retrieved authorities from 'MetaUserDetailsService': {}", authorities);
 
         return authorities;
@@ -40,7 +40,11 @@ public interface MetaUserDetailsService {
     Collection<? extends GrantedAuthority> getAuthorities(@Nonnull UserDetails userDetails,
             Authentication authentication);
 
+    /**
+     * 清除权限缓存(参见{@link AuthorityCache})，参数为null时匹配任意值. 覆盖此方法时请调用本方法.
+     */
     default void clearCache(String tenantId, String orgId, String username) {
+        AuthorityCache.evict(tenantId, orgId, username);
     }
 
 }
@@ -183,6 +183,13 @@ public class JwtTokenAuthentication extends AbstractAuthenticationToken {
         }
     }
 
+    /**
+     * 权限是否已加载. 未加载时{@link #getAuthorities()}可能通过{@link UserDetails}访问外部资源.
+     */
+    public boolean isAuthoritiesResolved() {
+        return this.authorities != null;
+    }
+
     public void setJwtToken(@Nonnull JwtToken jwtToken) {
         Assert.notNull(jwtToken, "JwtToken must not be null");
         Assert.hasText(jwtToken.getAccessToken(), "JwtToken must not be null");
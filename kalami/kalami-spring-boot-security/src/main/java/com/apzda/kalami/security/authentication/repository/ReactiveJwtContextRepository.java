@@ -20,11 +20,10 @@ package com.apzda.kalami.security.authentication.repository;
 import com.apzda.kalami.security.authentication.DeviceAuthenticationDetails;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
 import com.apzda.kalami.security.error.AuthenticationError;
+import com.apzda.kalami.security.token.ReactiveTokenManager;
 import com.apzda.kalami.security.token.TokenManager;
 import com.apzda.kalami.security.utils.SecurityUtils;
 import jakarta.annotation.Nonnull;
-import jakarta.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -45,21 +44,36 @@ import static com.apzda.kalami.security.utils.SecurityUtils.CONTEXT_ATTR_EXCEPTI
 import static com.apzda.kalami.security.utils.SecurityUtils.CONTEXT_ATTR_NAME;
 
 /**
+ * 响应式(网关)环境下从令牌恢复{@link SecurityContext}.
+ * <p/>
+ * 全程非阻塞: 认证由{@link ReactiveTokenManager}异步恢复，结果只通过返回的{@link Mono}
+ * 及请求属性传递，不写入线程本地的{@link SecurityContextHolder}.
+ *
  * @author ninggf (windywany@gmail.com)
  * @since 2025/05/23
  * @version 1.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
 public class ReactiveJwtContextRepository implements ServerSecurityContextRepository {
 
+    private static final String LOADING_ATTR_NAME = ReactiveJwtContextRepository.class.getName() + ".LOADING";
+
     private static final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
         .getContextHolderStrategy();
 
-    private final TokenManager tokenManager;
+    private final ReactiveTokenManager tokenManager;
 
     private final SecurityConfigProperties properties;
 
+    public ReactiveJwtContextRepository(ReactiveTokenManager tokenManager, SecurityConfigProperties properties) {
+        this.tokenManager = tokenManager;
+        this.properties = properties;
+    }
+
+    public ReactiveJwtContextRepository(TokenManager tokenManager, SecurityConfigProperties properties) {
+        this(ReactiveTokenManager.of(tokenManager), properties);
+    }
+
     @Override
     public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
         // tokenManager.save(context.getAuthentication());
@@ -67,6 +81,7 @@ public class ReactiveJwtContextRepository implements ServerSecurityContextReposi
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Mono<SecurityContext> load(@Nonnull ServerWebExchange exchange) {
         val request = exchange.getRequest();
         log.trace("Start loading SecurityContext");
@@ -76,72 +91,69 @@ public class ReactiveJwtContextRepository implements ServerSecurityContextReposi
             log.trace("Context Loaded from request attribute");
             return Mono.just((SecurityContext) storedContext);
         }
+        // 同一请求内的多次订阅共享一次恢复
+        val loading = request.getAttributes().get(LOADING_ATTR_NAME);
+        if (loading != null) {
+            return (Mono<SecurityContext>) loading;
+        }
 
-        val context = securityContextHolderStrategy.createEmptyContext();
+        val context = restoreContext(request).doOnNext(ctx -> {
+            request.getAttributes().put(CONTEXT_ATTR_NAME, ctx);
+            if (log.isTraceEnabled()) {
+                log.trace("End loading SecurityContext: {}", ctx);
+            }
+        }).cache();
+        request.getAttributes().put(LOADING_ATTR_NAME, context);
 
-        try {
-            val authentication = restoreAuthentication(request);
+        return context;
+    }
 
-            if (authentication != null) {
-                context.setAuthentication(authentication);
-                log.trace("Context loaded from TokenManager: {}", tokenManager);
-            }
+    @Nonnull
+    private Mono<SecurityContext> restoreContext(@Nonnull ServerHttpRequest request) {
+        val accessToken = getAccessTokenFromRequest(request, properties);
+
+        if (StringUtils.isBlank(accessToken)) {
+            log.trace("No JWT token found");
+            return Mono.fromSupplier(securityContextHolderStrategy::createEmptyContext);
         }
-        catch (AuthenticationError error) {
+
+        return tokenManager.restore(accessToken).map(authentication -> {
+            setDetails(request, authentication);
+            val context = securityContextHolderStrategy.createEmptyContext();
+            context.setAuthentication(authentication);
+            log.trace("Context loaded from TokenManager: {}", tokenManager);
+            return context;
+        }).onErrorResume(AuthenticationError.class, error -> {
             request.getAttributes().put(CONTEXT_ATTR_EXCEPTION, error);
+            val context = securityContextHolderStrategy.createEmptyContext();
             val authentication = error.getAuthentication();
-            if (authentication instanceof AbstractAuthenticationToken jwtAuthenticationToken) {
-                val headers = request.getHeaders();
-                var ip = "127.0.0.1";
-                if (Optional.ofNullable(request.getRemoteAddress()).isPresent()) {
-                    ip = request.getRemoteAddress().getAddress().getHostAddress();
-                }
-                jwtAuthenticationToken.setDetails(DeviceAuthenticationDetails.create(headers, ip));
-            }
-
             if (authentication != null) {
+                setDetails(request, authentication);
                 context.setAuthentication(authentication);
                 if (log.isTraceEnabled()) {
                     log.trace("Context loaded from TokenManager with an exception: {} - {}", tokenManager,
                             error.getMessage());
                 }
             }
-        }
-        catch (AuthenticationException authenticationException) {
+            return Mono.just(context);
+        }).onErrorResume(AuthenticationException.class, authenticationException -> {
             request.getAttributes().put(CONTEXT_ATTR_EXCEPTION, authenticationException);
-        }
-        catch (Exception e) {
+            return Mono.fromSupplier(securityContextHolderStrategy::createEmptyContext);
+        }).onErrorResume(e -> {
             log.error("Error happened while loading Context: {}", e.getMessage());
-        }
-
-        securityContextHolderStrategy.setContext(context);
-        request.getAttributes().put(CONTEXT_ATTR_NAME, context);
-
-        if (log.isTraceEnabled()) {
-            log.trace("End loading SecurityContext: {}", context);
-        }
-        return Mono.just(context);
+            return Mono.fromSupplier(securityContextHolderStrategy::createEmptyContext);
+        }).switchIfEmpty(Mono.fromSupplier(securityContextHolderStrategy::createEmptyContext));
     }
 
-    @Nullable
-    private Authentication restoreAuthentication(@Nonnull ServerHttpRequest request) {
-        val accessToken = getAccessTokenFromRequest(request, properties);
-
-        if (StringUtils.isNotBlank(accessToken)) {
-            val authentication = tokenManager.restore(accessToken);
-            if (authentication instanceof AbstractAuthenticationToken jwtAuthenticationToken) {
-                val headers = request.getHeaders();
-                var ip = "127.0.0.1";
-                if (Optional.ofNullable(request.getRemoteAddress()).isPresent()) {
-                    ip = request.getRemoteAddress().getAddress().getHostAddress();
-                }
-                jwtAuthenticationToken.setDetails(DeviceAuthenticationDetails.create(headers, ip));
+    private void setDetails(@Nonnull ServerHttpRequest request, Authentication authentication) {
+        if (authentication instanceof AbstractAuthenticationToken jwtAuthenticationToken) {
+            val headers = request.getHeaders();
+            var ip = "127.0.0.1";
+            if (Optional.ofNullable(request.getRemoteAddress()).isPresent()) {
+                ip = request.getRemoteAddress().getAddress().getHostAddress();
             }
-            return authentication;
+            jwtAuthenticationToken.setDetails(DeviceAuthenticationDetails.create(headers, ip));
         }
-
-        log.trace("No JWT token found");
-        return null;
     }
 
     private String getAccessTokenFromRequest(@Nonnull ServerHttpRequest request,
@@ -169,7 +181,7 @@ public class ReactiveJwtContextRepository implements ServerSecurityContextReposi
         if (StringUtils.isBlank(accessToken) && StringUtils.isNotBlank(cookieName)) {
             val cookie = request.getCookies().getFirst(cookieName);
             if (cookie != null) {
-                accessToken = cookie.getName();
+                accessToken = cookie.getValue();
                 if (log.isTraceEnabled()) {
                     log.trace("Try to get token from cookie({}): {}", cookieName, accessToken);
                 }
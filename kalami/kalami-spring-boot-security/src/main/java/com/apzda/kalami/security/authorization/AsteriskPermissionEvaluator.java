@@ -18,25 +18,21 @@
 package com.apzda.kalami.security.authorization;
 
 import com.apzda.kalami.data.domain.IEntity;
-import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
-import org.springframework.lang.NonNull;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -56,34 +52,14 @@ public class AsteriskPermissionEvaluator implements PermissionEvaluator {
         }
     }
 
-    private final static LoadingCache<String, Predicate<String>> PERMISSION_PATTERNS_CACHE = CacheBuilder.newBuilder()
-        .maximumSize(500)
-        .build(new CacheLoader<>() {
-            @Override
-            @NonNull
-            public Predicate<String> load(@NonNull String key) {
-                boolean suffix = false;
-                if (StringUtils.endsWithIgnoreCase(key, ".*")) {
-                    key = key.substring(0, key.length() - 2);
-                    suffix = true;
-                }
-
-                key = Pattern.compile("([a-z0-9_-]+)(,[a-z0-9_-]+)+", Pattern.CASE_INSENSITIVE)
-                    .matcher(key)
-                    .replaceAll((mr) -> "(" + mr.group(0).replace(',', '|') + ")");
-
-                val strings = new ArrayList<>(Splitter.on(":").trimResults().omitEmptyStrings().splitToList(key));
-                if (strings.size() == 1) {
-                    strings.add(0, "*");
-                }
-
-                var pattern = String.join(":", strings).replace(".", "\\.").replace("*", "(.+?)");
-                if (suffix) {
-                    pattern += ".*";
-                }
-                return Pattern.compile("^" + pattern + "$").asMatchPredicate();
-            }
-        });
+    /**
+     * 按权限集合(实例)缓存编译后的匹配器，同一认证的权限只编译一次.
+     */
+    private final static Cache<Collection<? extends GrantedAuthority>, PermissionMatcher> MATCHERS = CacheBuilder
+        .newBuilder()
+        .weakKeys()
+        .maximumSize(10000)
+        .build();
 
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
@@ -140,20 +116,16 @@ public class AsteriskPermissionEvaluator implements PermissionEvaluator {
             authority += "." + id;
         }
 
-        for (GrantedAuthority grantedAuthority : auth.getAuthorities()) {
-            val granted = grantedAuthority.getAuthority();
-            try {
-                val pattern = PERMISSION_PATTERNS_CACHE.get(granted);
-                if (pattern.test(authority)) {
-                    if (log.isTraceEnabled()) {
-                        log.trace("{} matched {}", authority, granted);
-                    }
-                    return true;
-                }
-            }
-            catch (Exception e) {
-                log.warn("Cannot parse authority({}) to ant pattern: {}", granted, e.getMessage());
-            }
+        val authorities = auth.getAuthorities();
+        if (authorities == null || authorities.isEmpty()) {
+            return false;
+        }
+
+        try {
+            return MATCHERS.get(authorities, () -> PermissionMatcher.compile(authorities)).matches(authority);
+        }
+        catch (ExecutionException e) {
+            log.warn("Cannot compile authorities of {}: {}", auth.getName(), e.getMessage());
         }
 
         return false;
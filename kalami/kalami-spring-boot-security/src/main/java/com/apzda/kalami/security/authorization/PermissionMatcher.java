@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.authorization;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 由一组权限编译而成的匹配器.
+ * <p/>
+ * 权限按<code>:</code>与<code>.</code>分段构建前缀树，段可以是字面量、<code>a,b</code>(备选)或<code>*</code>(匹配一个或多个段)，
+ * 以<code>.*</code>结尾的权限匹配其本身及其下所有权限. 匹配耗时与待检查权限的段数相关，与权限数量无关.
+ * 无法分段的权限(如包含其它正则字符)按原有的正则方式匹配.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public final class PermissionMatcher {
+
+    private final static int MAX_EXPANSION = 1024;
+
+    private final static String STAR = "*";
+
+    private final static Pattern ALTERNATIVE = Pattern.compile("[a-z0-9_-]+(,[a-z0-9_-]+)+", Pattern.CASE_INSENSITIVE);
+
+    private final static Pattern LITERAL = Pattern.compile("[^\\\\^$.|?*+()\\[\\]{},]*");
+
+    private final static LoadingCache<String, Predicate<String>> PERMISSION_PATTERNS_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(500)
+        .build(new CacheLoader<>() {
+            @Override
+            @NonNull
+            public Predicate<String> load(@NonNull String key) {
+                boolean suffix = false;
+                if (StringUtils.endsWithIgnoreCase(key, ".*")) {
+                    key = key.substring(0, key.length() - 2);
+                    suffix = true;
+                }
+
+                key = Pattern.compile("([a-z0-9_-]+)(,[a-z0-9_-]+)+", Pattern.CASE_INSENSITIVE)
+                    .matcher(key)
+                    .replaceAll((mr) -> "(" + mr.group(0).replace(',', '|') + ")");
+
+                val strings = new ArrayList<>(Splitter.on(":").trimResults().omitEmptyStrings().splitToList(key));
+                if (strings.size() == 1) {
+                    strings.add(0, "*");
+                }
+
+                var pattern = String.join(":", strings).replace(".", "\\.").replace("*", "(.+?)");
+                if (suffix) {
+                    pattern += ".*";
+                }
+                return Pattern.compile("^" + pattern + "$").asMatchPredicate();
+            }
+        });
+
+    private final static PermissionMatcher EMPTY = new PermissionMatcher();
+
+    private final Node root = new Node();
+
+    private final List<Predicate<String>> patterns = new ArrayList<>();
+
+    private final List<String> sources = new ArrayList<>();
+
+    private PermissionMatcher() {
+    }
+
+    /**
+     * 编译权限
+     * @param authorities 权限
+     * @return 匹配器
+     */
+    @Nonnull
+    public static PermissionMatcher compile(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return EMPTY;
+        }
+        val matcher = new PermissionMatcher();
+        for (GrantedAuthority authority : authorities) {
+            val granted = authority.getAuthority();
+            if (granted == null) {
+                continue;
+            }
+            if (!matcher.add(granted)) {
+                try {
+                    matcher.patterns.add(PERMISSION_PATTERNS_CACHE.get(granted));
+                    matcher.sources.add(granted);
+                }
+                catch (Exception e) {
+                    log.warn("Cannot parse authority({}) to ant pattern: {}", granted, e.getMessage());
+                }
+            }
+        }
+        return matcher;
+    }
+
+    /**
+     * 是否匹配
+     * @param permission 待检查的权限
+     */
+    public boolean matches(@Nonnull String permission) {
+        val segments = new ArrayList<String>();
+        val separators = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < permission.length(); i++) {
+            val c = permission.charAt(i);
+            if (c == '.' || c == ':') {
+                segments.add(permission.substring(start, i));
+                separators.append(c);
+                start = i + 1;
+            }
+        }
+        segments.add(permission.substring(start));
+
+        if (match(root, segments, separators, 0)) {
+            if (log.isTraceEnabled()) {
+                log.trace("{} matched", permission);
+            }
+            return true;
+        }
+
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).test(permission)) {
+                if (log.isTraceEnabled()) {
+                    log.trace("{} matched {}", permission, sources.get(i));
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean match(Node node, List<String> segments, CharSequence separators, int index) {
+        val size = segments.size();
+        if (index == size) {
+            return node.end || node.suffix;
+        }
+        if (node.suffix) {
+            return true;
+        }
+        if (node.children == null) {
+            return false;
+        }
+
+        val separator = index == 0 ? "" : String.valueOf(separators.charAt(index - 1));
+        val child = node.children.get(separator + segments.get(index));
+        if (child != null && match(child, segments, separators, index + 1)) {
+            return true;
+        }
+
+        val star = node.children.get(separator + STAR);
+        if (star != null) {
+            // 至少匹配一个非空字符
+            val from = segments.get(index).isEmpty() ? index + 1 : index;
+            for (int i = from; i < size; i++) {
+                if (match(star, segments, separators, i + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将权限加入前缀树
+     * @return 权限无法分段时返回false
+     */
+    private boolean add(String granted) {
+        var key = granted;
+        boolean suffix = false;
+        if (key.endsWith(".*")) {
+            key = key.substring(0, key.length() - 2);
+            suffix = true;
+        }
+
+        val parts = new ArrayList<>(Splitter.on(":").trimResults().omitEmptyStrings().splitToList(key));
+        if (parts.isEmpty()) {
+            if (suffix) {
+                root.suffix = true;
+            }
+            return true;
+        }
+        if (parts.size() == 1) {
+            parts.add(0, STAR);
+        }
+
+        val path = new ArrayList<List<String>>();
+        int expansion = 1;
+        for (int i = 0; i < parts.size(); i++) {
+            val segments = Splitter.on('.').splitToList(parts.get(i));
+            for (int j = 0; j < segments.size(); j++) {
+                val separator = i == 0 && j == 0 ? "" : (j == 0 ? ":" : ".");
+                val segment = segments.get(j);
+                if (STAR.equals(segment) || LITERAL.matcher(segment).matches()) {
+                    path.add(List.of(separator + segment));
+                }
+                else if (ALTERNATIVE.matcher(segment).matches()) {
+                    val alternatives = new ArrayList<String>();
+                    for (String alternative : Splitter.on(',').split(segment)) {
+                        alternatives.add(separator + alternative);
+                    }
+                    expansion *= alternatives.size();
+                    path.add(alternatives);
+                }
+                else {
+                    return false;
+                }
+            }
+        }
+
+        if (expansion > MAX_EXPANSION) {
+            return false;
+        }
+
+        insert(root, path, 0, suffix);
+        return true;
+    }
+
+    private static void insert(Node node, List<List<String>> path, int index, boolean suffix) {
+        if (index == path.size()) {
+            if (suffix) {
+                node.suffix = true;
+            }
+            else {
+                node.end = true;
+            }
+            return;
+        }
+        if (node.children == null) {
+            node.children = new HashMap<>();
+        }
+        for (String key : path.get(index)) {
+            insert(node.children.computeIfAbsent(key, k -> new Node()), path, index + 1, suffix);
+        }
+    }
+
+    private static final class Node {
+
+        private Map<String, Node> children;
+
+        private boolean end;
+
+        private boolean suffix;
+
+    }
+
+}
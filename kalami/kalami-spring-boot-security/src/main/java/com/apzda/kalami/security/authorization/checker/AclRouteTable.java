@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.authorization.checker;
+
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.PathMatcher;
+
+import java.util.*;
+
+/**
+ * 预编译的排除路径与ACL路由表.
+ * <p/>
+ * 路径模式按其开头的字面量段建立前缀树，查找时沿URI的段向下遍历，只对沿途节点上的模式执行{@link PathMatcher#match}，
+ * 一次查找即可得到是否排除及按配置顺序排列的ACL. 最近的查找结果会被缓存.
+ * <p/>
+ * 配置刷新(如<code>@RefreshScope</code>)后<code>excludes</code>或<code>acl</code>列表被替换时自动重建.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public final class AclRouteTable {
+
+    private final static PathMatcher PATH_MATCHER = AuthorizationChecker.PATH_MATCHER;
+
+    private final static int CACHE_SIZE = 1024;
+
+    private final SecurityConfigProperties properties;
+
+    private volatile Snapshot snapshot;
+
+    public AclRouteTable(@Nonnull SecurityConfigProperties properties) {
+        this.properties = properties;
+        this.snapshot = build(properties.getExcludes(), properties.getAcl());
+    }
+
+    /**
+     * 查找URI对应的路由
+     * @param uri 请求URI
+     * @return 路由
+     */
+    @Nonnull
+    public Route lookup(@Nonnull String uri) {
+        var current = snapshot;
+        val excludes = properties.getExcludes();
+        val acl = properties.getAcl();
+        if (current.excludes != excludes || current.acl != acl) {
+            current = build(excludes, acl);
+            snapshot = current;
+        }
+
+        var route = current.routes.getIfPresent(uri);
+        if (route == null) {
+            route = current.resolve(uri);
+            current.routes.put(uri, route);
+        }
+        return route;
+    }
+
+    @Nonnull
+    private static Snapshot build(List<String> excludes, List<SecurityConfigProperties.Checker> acl) {
+        val excludeIndex = new Node<String>();
+        if (!CollectionUtils.isEmpty(excludes)) {
+            int order = 0;
+            for (val exclude : excludes) {
+                if (StringUtils.isNotBlank(exclude)) {
+                    excludeIndex.add(exclude, order++, exclude);
+                }
+            }
+        }
+
+        val aclIndex = new Node<SecurityConfigProperties.Checker>();
+        if (!CollectionUtils.isEmpty(acl)) {
+            int order = 0;
+            for (val config : acl) {
+                val path = config.getPath();
+                if (StringUtils.isBlank(path) || CollectionUtils.isEmpty(config.getCheckers())) {
+                    log.warn("Invalid filter config, path or checkers is empty: {}", path);
+                    continue;
+                }
+                aclIndex.add(path, order++, config);
+            }
+        }
+
+        return new Snapshot(excludes, acl, excludeIndex, aclIndex,
+                CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build());
+    }
+
+    @Nonnull
+    private static String[] tokenize(@Nonnull String path) {
+        return org.springframework.util.StringUtils.tokenizeToStringArray(path, "/", false, true);
+    }
+
+    private static boolean isLiteral(@Nonnull String segment) {
+        return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+    }
+
+    /**
+     * 路由
+     * @param excluded 是否被排除
+     * @param exclude 命中的排除路径
+     * @param acl 匹配的ACL(按配置顺序)
+     */
+    public record Route(boolean excluded, String exclude, List<SecurityConfigProperties.Checker> acl) {
+    }
+
+    private record Snapshot(List<String> excludes, List<SecurityConfigProperties.Checker> acl,
+            Node<String> excludeIndex, Node<SecurityConfigProperties.Checker> aclIndex, Cache<String, Route> routes) {
+
+        @Nonnull
+        Route resolve(@Nonnull String uri) {
+            val segments = tokenize(uri);
+            val excluded = excludeIndex.match(uri, segments);
+            if (!excluded.isEmpty()) {
+                return new Route(true, excluded.get(0), List.of());
+            }
+            return new Route(false, null, List.copyOf(aclIndex.match(uri, segments)));
+        }
+
+    }
+
+    private record Entry<T>(int order, String pattern, T value) {
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        void add(@Nonnull String pattern, int order, T value) {
+            var node = this;
+            for (val segment : tokenize(pattern)) {
+                if (!isLiteral(segment)) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, k -> new Node<>());
+            }
+            node.entries.add(new Entry<>(order, pattern, value));
+        }
+
+        @Nonnull
+        List<T> match(@Nonnull String uri, @Nonnull String[] segments) {
+            List<Entry<T>> matched = null;
+            var node = this;
+            int depth = 0;
+            while (node != null) {
+                for (val entry : node.entries) {
+                    if (PATH_MATCHER.match(entry.pattern(), uri)) {
+                        if (matched == null) {
+                            matched = new ArrayList<>();
+                        }
+                        matched.add(entry);
+                    }
+                }
+                node = depth < segments.length ? node.children.get(segments[depth++]) : null;
+            }
+
+            if (matched == null) {
+                return List.of();
+            }
+            matched.sort(Comparator.comparingInt(Entry::order));
+            val values = new ArrayList<T>(matched.size());
+            for (val entry : matched) {
+                values.add(entry.value());
+            }
+            return values;
+        }
+
+    }
+
+}
@@ -30,6 +30,8 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.PathMatcher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -49,22 +51,35 @@ public interface AuthorizationChecker {
     void check(@Nonnull Authentication authentication, @Nonnull Map<String, Object> args);
 
     static boolean check(String url, SecurityConfigProperties properties, Map<String, AuthorizationChecker> checkers) {
+        val acl = new ArrayList<SecurityConfigProperties.Checker>();
+        for (SecurityConfigProperties.Checker config : properties.getAcl()) {
+            val path = config.getPath();
+            if (StringUtils.isBlank(path) || CollectionUtils.isEmpty(config.getCheckers())) {
+                log.warn("Invalid filter config, path or checkers is empty: {}", path);
+                continue;
+            }
+            if (!PATH_MATCHER.match(path, url)) {
+                log.trace("Bypass '{}' check since it does not match '{}'", url, path);
+                continue;
+            }
+            acl.add(config);
+        }
+        return check(url, acl, checkers);
+    }
+
+    /**
+     * 使用已匹配的ACL(参见{@link AclRouteTable})进行检查
+     * @param url 请求URI
+     * @param acl 与url匹配的ACL
+     * @param checkers 检查器
+     */
+    static boolean check(String url, List<SecurityConfigProperties.Checker> acl,
+            Map<String, AuthorizationChecker> checkers) {
         val currentUser = CurrentUserProvider.getCurrentUser();
         if (currentUser.isAuthenticated()) {
             val authentication = SecurityContextHolder.getContext().getAuthentication();
-            for (SecurityConfigProperties.Checker config : properties.getAcl()) {
-                val path = config.getPath();
-                val checkersConfig = config.getCheckers();
-                if (StringUtils.isBlank(path) || CollectionUtils.isEmpty(checkersConfig)) {
-                    log.warn("Invalid filter config, path or checkers is empty: {}", path);
-                    continue;
-                }
-                if (!PATH_MATCHER.match(path, url)) {
-                    log.trace("Bypass '{}' check since it does not match '{}'", url, path);
-                    continue;
-                }
-
-                for (val checker : checkersConfig) {
+            for (SecurityConfigProperties.Checker config : acl) {
+                for (val checker : config.getCheckers()) {
                     if (!checker.isEnabled()) {
                         continue;
                     }
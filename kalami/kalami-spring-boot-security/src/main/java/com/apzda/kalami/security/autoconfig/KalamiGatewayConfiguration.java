@@ -19,10 +19,12 @@ package com.apzda.kalami.security.autoconfig;
 
 import com.apzda.kalami.security.authentication.repository.ReactiveJwtContextRepository;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.apzda.kalami.security.token.ReactiveTokenManager;
 import com.apzda.kalami.security.token.TokenManager;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,7 +48,13 @@ import org.springframework.util.CollectionUtils;
 class KalamiGatewayConfiguration {
 
     @Bean
-    ServerSecurityContextRepository reactiveJwtContextRepository(TokenManager tokenManager,
+    @ConditionalOnMissingBean
+    ReactiveTokenManager reactiveTokenManager(TokenManager tokenManager) {
+        return ReactiveTokenManager.of(tokenManager);
+    }
+
+    @Bean
+    ServerSecurityContextRepository reactiveJwtContextRepository(ReactiveTokenManager tokenManager,
             SecurityConfigProperties properties) {
         return new ReactiveJwtContextRepository(tokenManager, properties);
     }
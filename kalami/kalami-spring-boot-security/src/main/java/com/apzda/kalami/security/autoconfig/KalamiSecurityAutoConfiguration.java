@@ -37,7 +37,12 @@ import com.apzda.kalami.security.jackson.SimpleGrantedAuthorityDeserializer;
 import com.apzda.kalami.security.token.JWTSignerAdapter;
 import com.apzda.kalami.security.token.JwtTokenCustomizer;
 import com.apzda.kalami.security.token.JwtTokenManager;
+import com.apzda.kalami.security.token.LocalTokenRevocationStore;
 import com.apzda.kalami.security.token.TokenManager;
+import com.apzda.kalami.security.token.TokenRevocationRegistry;
+import com.apzda.kalami.security.token.TokenRevocationStore;
+import com.apzda.kalami.security.user.AuthorityCache;
+import com.apzda.kalami.security.user.AuthorityCacheStore;
 import com.apzda.kalami.security.user.DefaultMetaUserDetailsService;
 import com.apzda.kalami.security.user.MetaUserDetailsService;
 import com.apzda.kalami.security.utils.SecurityUtils;
@@ -51,6 +56,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.rsocket.RSocketMessagingAutoConfiguration;
@@ -223,7 +229,7 @@ public class KalamiSecurityAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    @ConditionalOnProperty(prefix = "kalami.security", name = "jwt-key")
+    @ConditionalOnExpression("'${kalami.security.jwt-key:}' != '' || '${kalami.security.jwt-public-key:}' != ''")
     JWTSigner jwtSigner() {
         return new JWTSignerAdapter(properties);
     }
@@ -245,11 +251,30 @@ public class KalamiSecurityAutoConfiguration {
         return new DefaultMetaUserDetailsService();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "kalami.security.authority-cache", name = "enabled", havingValue = "true")
+    AuthorityCache kalamiAuthorityCache(ObjectProvider<AuthorityCacheStore> authorityCacheStore) {
+        val config = properties.getAuthorityCache();
+        return new AuthorityCache(config.getTtl(), config.getMaximumSize(), authorityCacheStore.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "kalami.security.revocation", name = "enabled", havingValue = "true")
+    TokenRevocationRegistry kalamiTokenRevocationRegistry(ObjectProvider<TokenRevocationStore> tokenRevocationStore) {
+        val config = properties.getRevocation();
+        return new TokenRevocationRegistry(tokenRevocationStore.getIfAvailable(LocalTokenRevocationStore::new),
+                config.getSyncInterval(), config.getExpectedInsertions(), config.getFpp());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     TokenManager jwtTokenManager(MetaUserDetailsService metaUserDetailsFactory,
-            ObjectProvider<JwtTokenCustomizer> customizers, JWTSigner jwtSigner) {
-        return new JwtTokenManager(metaUserDetailsFactory, customizers, properties, jwtSigner);
+            ObjectProvider<JwtTokenCustomizer> customizers, JWTSigner jwtSigner,
+            ObjectProvider<TokenRevocationRegistry> revocationRegistry) {
+        return new JwtTokenManager(metaUserDetailsFactory, customizers, properties, jwtSigner,
+                revocationRegistry.getIfAvailable());
     }
 
     @Bean("mfaAuthorizationChecker")
@@ -59,9 +59,29 @@ public class SecurityConfigProperties {
 
     private String jwtKey;
 
+    /**
+     * JWT签名算法: HS256(默认), RS256, ES256
+     */
+    private String jwtAlgorithm = "HS256";
+
+    /**
+     * RS256/ES256公钥(PEM或Base64编码的X.509)
+     */
+    private String jwtPublicKey;
+
+    /**
+     * RS256/ES256私钥(PEM或Base64编码的PKCS#8)，只验证令牌的服务无需配置
+     */
+    private String jwtPrivateKey;
+
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration jwtLeeway = Duration.ofSeconds(30);
 
+    /**
+     * 已验证令牌的缓存数量，0表示不缓存
+     */
+    private long tokenCacheSize = 10000;
+
     private String realmName = "Kalami";
 
     private String homeUrl = "/";
@@ -86,6 +106,10 @@ public class SecurityConfigProperties {
 
     private Map<String, TokenConfig> app = new LinkedHashMap<>();
 
+    private AuthorityCacheConfig authorityCache = new AuthorityCacheConfig();
+
+    private RevocationConfig revocation = new RevocationConfig();
+
     public String getTokenName() {
         return StringUtils.defaultIfBlank(tokenName, "Authorization");
     }
@@ -208,6 +232,51 @@ public class SecurityConfigProperties {
 
     }
 
+    @Data
+    public static class AuthorityCacheConfig {
+
+        /**
+         * 是否缓存用户权限
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存时间
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * 本地缓存的最大数量
+         */
+        private long maximumSize = 10000;
+
+    }
+
+    @Data
+    public static class RevocationConfig {
+
+        /**
+         * 是否启用令牌吊销(注销、强制下线后令牌立即失效)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 本地副本全量同步的间隔
+         */
+        private Duration syncInterval = Duration.ofMinutes(1);
+
+        /**
+         * 本地布隆过滤器的预期容量
+         */
+        private long expectedInsertions = 100000;
+
+        /**
+         * 本地布隆过滤器的误判率
+         */
+        private double fpp = 0.001;
+
+    }
+
     @Data
     public static class TokenConfig {
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.context;
+
+import com.apzda.kalami.security.utils.SecurityUtils;
+import io.micrometer.context.ThreadLocalAccessor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+
+/**
+ * 在Reactor上下文与线程之间传播当前请求的{@link SecurityExpressionRoot}.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class ExpressionRootThreadLocalAccessor implements ThreadLocalAccessor<SecurityExpressionRoot> {
+
+    public static final String KEY = "kalami.security.root";
+
+    @Override
+    @NonNull
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public SecurityExpressionRoot getValue() {
+        return SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.get();
+    }
+
+    @Override
+    public void setValue(@NonNull SecurityExpressionRoot value) {
+        SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.set(value);
+    }
+
+    @Override
+    public void setValue() {
+        SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.remove();
+    }
+
+}
@@ -21,6 +21,8 @@ import com.apzda.kalami.security.authentication.AuthenticationDetails;
 import com.apzda.kalami.security.authentication.JwtTokenAuthentication;
 import com.apzda.kalami.user.CurrentUser;
 import com.apzda.kalami.user.CurrentUserProvider;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -35,6 +37,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @Slf4j
 public class SpringSecurityUserProvider extends CurrentUserProvider {
 
+    /**
+     * 按认证实例缓存当前用户快照. 认证(包括响应式上下文传播过来的认证)一般只存活于一个请求，
+     * 认证被替换或其状态、详情、令牌发生变化时重新构建.
+     */
+    private final static Cache<Authentication, Snapshot> SNAPSHOTS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(10000)
+        .build();
+
+    /**
+     * 返回的{@link CurrentUser}在同一认证内共享，调用者不应修改它.
+     */
     @Override
     protected CurrentUser currentUser() {
         val context = SecurityContextHolder.getContext();
@@ -50,9 +64,17 @@ public class SpringSecurityUserProvider extends CurrentUserProvider {
             return null;
         }
 
-        val builder = getCurrentUserBuilder(authentication);
+        val jwtToken = authentication instanceof JwtTokenAuthentication token ? token.getJwtToken() : null;
+        val snapshot = SNAPSHOTS.getIfPresent(authentication);
+        if (snapshot != null && snapshot.isValid(authentication, jwtToken)) {
+            return snapshot.user();
+        }
+
+        val user = getCurrentUserBuilder(authentication).build();
+        SNAPSHOTS.put(authentication,
+                new Snapshot(authentication.isAuthenticated(), authentication.getDetails(), jwtToken, user));
 
-        return builder.build();
+        return user;
     }
 
     @Nonnull
@@ -84,4 +106,13 @@ public class SpringSecurityUserProvider extends CurrentUserProvider {
         return builder;
     }
 
+    private record Snapshot(boolean authenticated, Object details, Object jwtToken, CurrentUser user) {
+
+        boolean isValid(@Nonnull Authentication authentication, Object jwtToken) {
+            return authenticated == authentication.isAuthenticated() && details == authentication.getDetails()
+                    && this.jwtToken == jwtToken;
+        }
+
+    }
+
 }
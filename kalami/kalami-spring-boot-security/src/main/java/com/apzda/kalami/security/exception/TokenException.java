@@ -32,6 +32,8 @@ public class TokenException extends AuthenticationError {
 
     public static final AuthenticationError INVALID_TOKEN = new TokenException(ServiceError.TOKEN_INVALID);
 
+    public static final AuthenticationError REVOKED = new TokenException(ServiceError.TOKEN_INVALID);
+
     public static final AuthenticationError DEVICE_NOT_ALLOWED = new TokenException(ServiceError.DEVICE_NOT_ALLOWED);
 
     TokenException(IError error) {
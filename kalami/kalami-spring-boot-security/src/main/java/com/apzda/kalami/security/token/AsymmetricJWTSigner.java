@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * RS256/ES256签名器.
+ * <p/>
+ * 只配置公钥时仅能验证令牌，适用于无需持有私钥的资源服务. ES256签名采用JWT要求的R||S格式.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class AsymmetricJWTSigner implements RawJWTSigner {
+
+    private final String algorithm;
+
+    private final PublicKey publicKey;
+
+    private final PrivateKey privateKey;
+
+    private final InstancePool<Signature> signatures;
+
+    public AsymmetricJWTSigner(@Nonnull String algorithm, @Nonnull PublicKey publicKey,
+            @Nullable PrivateKey privateKey) {
+        this.algorithm = algorithm.toUpperCase();
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        val jcaName = switch (this.algorithm) {
+            case "RS256" -> "SHA256withRSA";
+            case "ES256" -> "SHA256withECDSAinP1363Format";
+            default -> throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        };
+        this.signatures = new InstancePool<>(InstancePool.defaultSize(), () -> {
+            try {
+                return Signature.getInstance(jcaName);
+            }
+            catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Cannot create " + jcaName, e);
+            }
+        });
+        this.signatures.release(this.signatures.borrow());
+    }
+
+    /**
+     * 基于PEM(或Base64编码的DER)密钥创建签名器
+     * @param algorithm RS256或ES256
+     * @param publicKey X.509公钥
+     * @param privateKey PKCS#8私钥，为空时只能验证
+     */
+    @Nonnull
+    public static AsymmetricJWTSigner of(@Nonnull String algorithm, @Nonnull String publicKey,
+            @Nullable String privateKey) {
+        val keyAlgorithm = "ES256".equalsIgnoreCase(algorithm) ? "EC" : "RSA";
+        try {
+            val keyFactory = KeyFactory.getInstance(keyAlgorithm);
+            val pub = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            PrivateKey pri = null;
+            if (privateKey != null && !privateKey.isBlank()) {
+                pri = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            }
+            return new AsymmetricJWTSigner(algorithm, pub, pri);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + keyAlgorithm + " key: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String sign(String headerBase64, String payloadBase64) {
+        Assert.state(privateKey != null, "No private key configured, the signer can only verify tokens");
+        val content = (headerBase64 + "." + payloadBase64).getBytes(StandardCharsets.UTF_8);
+        val signature = signatures.borrow();
+        try {
+            signature.initSign(privateKey);
+            signature.update(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token: " + e.getMessage(), e);
+        }
+        finally {
+            signatures.release(signature);
+        }
+    }
+
+    @Override
+    public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
+        if (signBase64 == null) {
+            return false;
+        }
+        try {
+            val content = (headerBase64 + "." + payloadBase64).getBytes(StandardCharsets.UTF_8);
+            return verify(content, 0, content.length, Base64.getUrlDecoder().decode(signBase64));
+        }
+        catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean verify(byte[] content, int offset, int length, byte[] signature) {
+        val verifier = signatures.borrow();
+        try {
+            verifier.initVerify(publicKey);
+            verifier.update(content, offset, length);
+            return verifier.verify(signature);
+        }
+        catch (GeneralSecurityException e) {
+            return false;
+        }
+        finally {
+            signatures.release(verifier);
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    @Nonnull
+    private static byte[] decodePem(@Nonnull String pem) {
+        val body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+}
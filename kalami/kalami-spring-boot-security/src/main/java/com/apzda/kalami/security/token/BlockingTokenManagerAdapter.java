@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 将阻塞的{@link TokenManager}适配为{@link ReactiveTokenManager}.
+ * <p/>
+ * {@link TokenManager#restore(String)}可能通过{@link TokenManager#verify}或用户服务访问外部资源,
+ * 因此在{@link Schedulers#boundedElastic()}上执行，避免占用事件循环线程. 认证的权限可能延迟从用户服务加载,
+ * 也在同一线程上提前加载.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@RequiredArgsConstructor
+final class BlockingTokenManagerAdapter implements ReactiveTokenManager {
+
+    private final TokenManager tokenManager;
+
+    private final Scheduler scheduler;
+
+    BlockingTokenManagerAdapter(@Nonnull TokenManager tokenManager) {
+        this(tokenManager, Schedulers.boundedElastic());
+    }
+
+    @Override
+    @Nonnull
+    public Mono<Authentication> restore(@Nonnull String accessToken) {
+        return Mono.fromCallable(() -> {
+            val authentication = tokenManager.restore(accessToken);
+            if (authentication != null) {
+                authentication.getAuthorities();
+            }
+            return authentication;
+        }).subscribeOn(scheduler);
+    }
+
+    @Override
+    public String toString() {
+        return "BlockingTokenManagerAdapter(" + tokenManager + ")";
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * 非线程安全对象(如{@link javax.crypto.Mac}、{@link java.security.Signature})的共享池.
+ * <p/>
+ * 池空时新建实例，池满时直接丢弃归还的实例，实例数与线程模型无关.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+final class InstancePool<T> {
+
+    private final ArrayBlockingQueue<T> instances;
+
+    private final Supplier<T> factory;
+
+    InstancePool(int size, @Nonnull Supplier<T> factory) {
+        this.instances = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.factory = factory;
+    }
+
+    @Nonnull
+    T borrow() {
+        final T instance = instances.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    void release(@Nonnull T instance) {
+        instances.offer(instance);
+    }
+
+    static int defaultSize() {
+        return Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+}
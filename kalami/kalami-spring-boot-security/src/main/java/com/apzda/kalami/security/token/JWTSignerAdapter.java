@@ -14,61 +14,67 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
-
 package com.apzda.kalami.security.token;
 
-import cn.hutool.jwt.signers.JWTSigner;
-import cn.hutool.jwt.signers.JWTSignerUtil;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
+import jakarta.annotation.Nonnull;
 import lombok.val;
-import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 
 /**
+ * 基于配置创建的JWT签名器.
+ * <p/>
+ * <ul>
+ * <li>HS256(默认): 使用<code>kalami.security.jwt-key</code>，{@link javax.crypto.Mac}实例在线程间池化共享.</li>
+ * <li>RS256/ES256: 使用<code>kalami.security.jwt-public-key</code>与<code>jwt-private-key</code>，未配置私钥时只能验证令牌.</li>
+ * </ul>
+ *
  * @author ninggf (windywany@gmail.com)
  * @since 2025/05/18
  * @version 1.0.0
  */
-public class JWTSignerAdapter implements JWTSigner, InitializingBean {
-
-    private final static ThreadLocal<JWTSigner> jwtSigners = new ThreadLocal<>();
+public class JWTSignerAdapter implements RawJWTSigner {
 
-    private final SecurityConfigProperties properties;
+    private final RawJWTSigner jwtSigner;
 
     public JWTSignerAdapter(SecurityConfigProperties properties) {
-        this.properties = properties;
+        this.jwtSigner = createSigner(properties);
     }
 
     @Override
-    public void afterPropertiesSet() throws Exception {
-        Assert.hasText(properties.getJwtKey(), "property 'kalami.security.jwt-key' is blank");
+    public String sign(String headerBase64, String payloadBase64) {
+        return jwtSigner.sign(headerBase64, payloadBase64);
     }
 
     @Override
-    public String sign(String headerBase64, String payloadBase64) {
-        return getJwtSigner().sign(headerBase64, payloadBase64);
+    public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
+        return jwtSigner.verify(headerBase64, payloadBase64, signBase64);
     }
 
     @Override
-    public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
-        return getJwtSigner().verify(headerBase64, payloadBase64, signBase64);
+    public boolean verify(byte[] content, int offset, int length, byte[] signature) {
+        return jwtSigner.verify(content, offset, length, signature);
     }
 
     @Override
     public String getAlgorithm() {
-        return getJwtSigner().getAlgorithm();
+        return jwtSigner.getAlgorithm();
     }
 
-    JWTSigner getJwtSigner() {
-        var signer = jwtSigners.get();
+    @Nonnull
+    RawJWTSigner getJwtSigner() {
+        return jwtSigner;
+    }
 
-        if (signer == null) {
-            val jwtKey = properties.getJwtKey();
-            signer = JWTSignerUtil.hs256(jwtKey.getBytes());
-            jwtSigners.set(signer);
+    @Nonnull
+    private static RawJWTSigner createSigner(@Nonnull SecurityConfigProperties properties) {
+        val algorithm = properties.getJwtAlgorithm();
+        if ("HS256".equalsIgnoreCase(algorithm)) {
+            Assert.hasText(properties.getJwtKey(), "property 'kalami.security.jwt-key' is blank");
+            return new PooledMacJWTSigner(properties.getJwtKey().getBytes());
         }
-
-        return signer;
+        Assert.hasText(properties.getJwtPublicKey(), "property 'kalami.security.jwt-public-key' is blank");
+        return AsymmetricJWTSigner.of(algorithm, properties.getJwtPublicKey(), properties.getJwtPrivateKey());
     }
 
 }
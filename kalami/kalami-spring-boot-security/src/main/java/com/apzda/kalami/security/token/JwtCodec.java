@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.signers.JWTSigner;
+import com.apzda.kalami.security.exception.TokenException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Kalami签发的JWT的轻量解码器.
+ * <p/>
+ * 一次遍历完成签名验证与声明提取：签名直接基于令牌的原始字节计算，载荷通过流式解析只提取Kalami使用的声明，不构建JSON树.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public final class JwtCodec {
+
+    public final static String PAYLOAD_UID = "i";
+
+    public final static String PAYLOAD_FLAG = "f";
+
+    public final static String PAYLOAD_RUNAS = "s";
+
+    public final static String PAYLOAD_ISSUED_AT = "t";
+
+    private final static JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private JwtCodec() {
+    }
+
+    /**
+     * 验证并解码令牌
+     * @param token JWT
+     * @param signer 签名器
+     * @return 令牌中的声明
+     * @throws com.apzda.kalami.security.error.AuthenticationError 令牌格式或签名无效时抛出
+     * {@link TokenException#INVALID_TOKEN}
+     */
+    @Nonnull
+    public static Claims decode(String token, @Nonnull JWTSigner signer) {
+        if (token == null || token.isEmpty()) {
+            throw TokenException.INVALID_TOKEN;
+        }
+        val firstDot = token.indexOf('.');
+        val secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+        if (secondDot < 0 || secondDot == firstDot + 1 || token.indexOf('.', secondDot + 1) >= 0) {
+            log.trace("token is malformed: {}", token);
+            throw TokenException.INVALID_TOKEN;
+        }
+
+        try {
+            boolean verified;
+            val raw = token.getBytes(StandardCharsets.ISO_8859_1);
+            if (signer instanceof RawJWTSigner rawSigner) {
+                val signature = Base64.getUrlDecoder()
+                    .decode(ByteBuffer.wrap(raw, secondDot + 1, raw.length - secondDot - 1));
+                verified = rawSigner.verify(raw, 0, secondDot, toArray(signature));
+            }
+            else {
+                verified = signer.verify(token.substring(0, firstDot), token.substring(firstDot + 1, secondDot),
+                        token.substring(secondDot + 1));
+            }
+
+            if (!verified) {
+                log.trace("token is invalid: {}", token);
+                throw TokenException.INVALID_TOKEN;
+            }
+
+            val payload = Base64.getUrlDecoder()
+                .decode(ByteBuffer.wrap(raw, firstDot + 1, secondDot - firstDot - 1));
+            return parse(payload);
+        }
+        catch (IllegalArgumentException | IOException e) {
+            if (log.isTraceEnabled()) {
+                log.trace("token is invalid: {}", token, e);
+            }
+            throw TokenException.INVALID_TOKEN;
+        }
+    }
+
+    @Nonnull
+    private static Claims parse(@Nonnull ByteBuffer payload) throws IOException {
+        String subject = null;
+        String uid = null;
+        String flag = null;
+        String runas = null;
+        Long exp = null;
+        Long nbf = null;
+        Long iat = null;
+        Long issuedAt = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload.array(),
+                payload.arrayOffset() + payload.position(), payload.remaining())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("payload is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val name = parser.currentName();
+                val value = parser.nextToken();
+                switch (name) {
+                    case JWT.SUBJECT -> subject = text(parser, value);
+                    case PAYLOAD_UID -> uid = text(parser, value);
+                    case PAYLOAD_FLAG -> flag = text(parser, value);
+                    case PAYLOAD_RUNAS -> runas = text(parser, value);
+                    case JWT.EXPIRES_AT -> exp = number(parser, value);
+                    case JWT.NOT_BEFORE -> nbf = number(parser, value);
+                    case JWT.ISSUED_AT -> iat = number(parser, value);
+                    case PAYLOAD_ISSUED_AT -> issuedAt = number(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return new Claims(subject, uid, flag, runas, exp, nbf, iat, issuedAt);
+    }
+
+    @Nullable
+    private static String text(@Nonnull JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    @Nullable
+    private static Long number(@Nonnull JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getLongValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    @Nonnull
+    private static byte[] toArray(@Nonnull ByteBuffer buffer) {
+        if (buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        val bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 令牌声明
+     * @param subject sub
+     * @param uid 用户ID(刷新令牌)
+     * @param flag 状态标志
+     * @param runas 主用户ID
+     * @param exp 过期时间(秒)
+     * @param nbf 生效时间(秒)
+     * @param iat 签发时间(秒)
+     * @param issuedAtMillis 签发时间(毫秒)，旧令牌没有
+     */
+    public record Claims(String subject, String uid, String flag, String runas, Long exp, Long nbf, Long iat,
+            Long issuedAtMillis) {
+
+        /**
+         * 毫秒精度的签发时间. 旧令牌只有秒级的<code>iat</code>，按该秒的起点计算，同一秒内的吊销对其从严生效.
+         */
+        @Nullable
+        public Long issuedAt() {
+            if (issuedAtMillis != null) {
+                return issuedAtMillis;
+            }
+            return iat != null ? iat * 1000 : null;
+        }
+
+        /**
+         * 令牌是否在有效期内
+         * @param leeway 容忍的时间偏差(秒)
+         */
+        public boolean validate(long leeway) {
+            val now = System.currentTimeMillis() / 1000;
+            if (exp != null && exp + leeway < now) {
+                return false;
+            }
+            if (nbf != null && nbf > now + leeway) {
+                return false;
+            }
+            return iat == null || iat <= now + leeway;
+        }
+
+    }
+
+}
@@ -20,9 +20,9 @@ package com.apzda.kalami.security.token;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.date.DateField;
 import cn.hutool.core.date.DateUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import cn.hutool.crypto.digest.MD5;
 import cn.hutool.jwt.JWT;
-import cn.hutool.jwt.JWTUtil;
 import cn.hutool.jwt.signers.JWTSigner;
 import com.apzda.kalami.security.authentication.JwtTokenAuthentication;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
@@ -30,8 +30,10 @@ import com.apzda.kalami.security.error.AuthenticationError;
 import com.apzda.kalami.security.exception.TokenException;
 import com.apzda.kalami.security.user.MetaUserDetailsService;
 import com.apzda.kalami.security.utils.SecurityUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.annotation.Nonnull;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -49,14 +51,15 @@ import java.util.Objects;
  * @version 1.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
 public class JwtTokenManager implements TokenManager {
 
-    private final static String PAYLOAD_UID = "i";
+    private final static String PAYLOAD_UID = JwtCodec.PAYLOAD_UID;
 
-    private final static String PAYLOAD_FLAG = "f";
+    private final static String PAYLOAD_FLAG = JwtCodec.PAYLOAD_FLAG;
 
-    private final static String PAYLOAD_RUNAS = "s";
+    private final static String PAYLOAD_RUNAS = JwtCodec.PAYLOAD_RUNAS;
+
+    private final static String PAYLOAD_ISSUED_AT = JwtCodec.PAYLOAD_ISSUED_AT;
 
     private final MetaUserDetailsService metaUserDetailsService;
 
@@ -66,72 +69,154 @@ public class JwtTokenManager implements TokenManager {
 
     private final JWTSigner jwtSigner;
 
+    private final Cache<String, JwtCodec.Claims> tokenCache;
+
+    private final TokenRevocationRegistry revocationRegistry;
+
+    private final Duration accessTokenTtl;
+
+    private final Duration refreshTokenTtl;
+
+    public JwtTokenManager(MetaUserDetailsService metaUserDetailsService,
+            ObjectProvider<JwtTokenCustomizer> customizers, SecurityConfigProperties properties, JWTSigner jwtSigner) {
+        this(metaUserDetailsService, customizers, properties, jwtSigner, null);
+    }
+
+    public JwtTokenManager(MetaUserDetailsService metaUserDetailsService,
+            ObjectProvider<JwtTokenCustomizer> customizers, SecurityConfigProperties properties, JWTSigner jwtSigner,
+            @Nullable TokenRevocationRegistry revocationRegistry) {
+        this.metaUserDetailsService = metaUserDetailsService;
+        this.customizers = customizers;
+        this.properties = properties;
+        this.jwtSigner = jwtSigner;
+        this.revocationRegistry = revocationRegistry;
+        var accessTtl = properties.getAccessTokenTimeout();
+        var refreshTtl = properties.getRefreshTokenTimeout();
+        for (val app : properties.getApp().values()) {
+            if (app.getAccessTokenTimeout().compareTo(accessTtl) > 0) {
+                accessTtl = app.getAccessTokenTimeout();
+            }
+            if (app.getRefreshTokenTimeout().compareTo(refreshTtl) > 0) {
+                refreshTtl = app.getRefreshTokenTimeout();
+            }
+        }
+        this.accessTokenTtl = accessTtl.plus(properties.getJwtLeeway());
+        this.refreshTokenTtl = refreshTtl.plus(properties.getJwtLeeway());
+        val cacheSize = properties.getTokenCacheSize();
+        if (cacheSize > 0) {
+            this.tokenCache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(accessTokenTtl)
+                .build();
+        }
+        else {
+            this.tokenCache = null;
+        }
+    }
+
     /**
-     * 从accessToken(JWT)中恢复认证
+     * 从accessToken(JWT)中恢复认证.
+     * <p/>
+     * 已验证的令牌声明按令牌摘要缓存至其过期，缓存命中时跳过签名验证与解析. 缓存命中的令牌同样要检查是否已被吊销.
      * @param accessToken JWT
      */
     @Override
     public Authentication restore(String accessToken) {
-        boolean verified;
-        try {
-            verified = JWTUtil.verify(accessToken, jwtSigner);
+        val leeway = properties.getJwtLeeway().toSeconds();
+        val key = (tokenCache != null || revocationRegistry != null) && StringUtils.isNotBlank(accessToken)
+                ? DigestUtil.sha256Hex(accessToken) : null;
+        var claims = key != null && tokenCache != null ? tokenCache.getIfPresent(key) : null;
+        AuthenticationError exception = null;
+
+        if (claims != null && !claims.validate(leeway)) {
+            tokenCache.invalidate(key);
+            claims = null;
         }
-        catch (Exception e) {
-            if (log.isTraceEnabled()) {
-                log.trace("accessToken is invalid: {}", accessToken, e);
-            }
-            throw TokenException.INVALID_TOKEN;
-        }
-
-        if (verified) {
-            AuthenticationError exception = null;
-            val jwt = JWTUtil.parseToken(accessToken);
-            jwt.setSigner(jwtSigner);
-            val jwtLeeway = properties.getJwtLeeway();
 
-            if (!jwt.validate(jwtLeeway.toSeconds())) {
+        if (claims == null) {
+            claims = JwtCodec.decode(accessToken, jwtSigner);
+            if (!claims.validate(leeway)) {
                 log.trace("accessToken is expired: {}", accessToken);
                 exception = TokenException.EXPIRED;
             }
+            else if (key != null && tokenCache != null && claims.exp() != null) {
+                tokenCache.put(key, claims);
+            }
+        }
 
-            val token = DefaultToken.builder()
-                .accessToken(accessToken)
-                .uid((String) jwt.getPayload(JWT.SUBJECT))
-                .build();
+        if (revocationRegistry != null && revocationRegistry.isRevoked(key, claims.subject(), claims.issuedAt())) {
+            log.trace("accessToken is revoked: {}", accessToken);
+            throw TokenException.REVOKED;
+        }
 
-            if (jwt.getPayload(PAYLOAD_RUNAS) != null) {
-                token.setRunas((String) jwt.getPayload(PAYLOAD_RUNAS));
-            }
+        val token = DefaultToken.builder().accessToken(accessToken).uid(claims.subject()).build();
 
-            if (jwt.getPayload(PAYLOAD_FLAG) != null) {
-                JwtToken.parseFlag(Integer.parseInt((String) jwt.getPayload(PAYLOAD_FLAG)), token);
-            }
+        if (claims.runas() != null) {
+            token.setRunas(claims.runas());
+        }
 
-            val uid = token.getUid();
-            val userBuilder = User.withUsername(uid)
-                .password("")
-                .accountLocked(Boolean.TRUE.equals(token.getLocked()))
-                .accountExpired(Boolean.TRUE.equals(token.getExpired()))
-                .credentialsExpired(Boolean.TRUE.equals(token.getCredentialsExpired()))
-                .disabled(Boolean.TRUE.equals(token.getDisabled()));
-
-            val userDetails = metaUserDetailsService.create(userBuilder.build());
-            val authentication = JwtTokenAuthentication.authenticated(userDetails, "");
-
-            token.setAccessToken(accessToken);
-            authentication.setJwtToken(token);
-            verify(authentication);
-
-            log.trace("Authentication is restored from accessToken: {}", accessToken);
-            if (exception != null) {
-                authentication.setAuthenticated(false);
-                throw exception.withAuthentication(authentication);
+        if (claims.flag() != null) {
+            JwtToken.parseFlag(Integer.parseInt(claims.flag()), token);
+        }
+
+        val uid = token.getUid();
+        val userBuilder = User.withUsername(uid)
+            .password("")
+            .accountLocked(Boolean.TRUE.equals(token.getLocked()))
+            .accountExpired(Boolean.TRUE.equals(token.getExpired()))
+            .credentialsExpired(Boolean.TRUE.equals(token.getCredentialsExpired()))
+            .disabled(Boolean.TRUE.equals(token.getDisabled()));
+
+        val userDetails = metaUserDetailsService.create(userBuilder.build());
+        val authentication = JwtTokenAuthentication.authenticated(userDetails, "");
+
+        token.setAccessToken(accessToken);
+        authentication.setJwtToken(token);
+        verify(authentication);
+
+        log.trace("Authentication is restored from accessToken: {}", accessToken);
+        if (exception != null) {
+            authentication.setAuthenticated(false);
+            throw exception.withAuthentication(authentication);
+        }
+        return authentication;
+    }
+
+    /**
+     * 删除认证时同时清除其令牌的验证缓存，启用吊销时吊销其访问令牌与刷新令牌. 子类覆盖时需调用本方法.
+     */
+    @Override
+    public void remove(@Nonnull Authentication authentication) {
+        if (authentication instanceof JwtTokenAuthentication auth) {
+            val jwtToken = auth.getJwtToken();
+            if (jwtToken == null) {
+                return;
+            }
+            if (StringUtils.isNotBlank(jwtToken.getAccessToken())) {
+                val key = DigestUtil.sha256Hex(jwtToken.getAccessToken());
+                if (tokenCache != null) {
+                    tokenCache.invalidate(key);
+                }
+                if (revocationRegistry != null) {
+                    revocationRegistry.revoke(key, accessTokenTtl);
+                }
+            }
+            if (revocationRegistry != null && StringUtils.isNotBlank(jwtToken.getRefreshToken())) {
+                revocationRegistry.revoke(DigestUtil.sha256Hex(jwtToken.getRefreshToken()), refreshTokenTtl);
             }
-            return authentication;
+        }
+    }
+
+    /**
+     * 吊销用户已签发的全部访问令牌与刷新令牌，未启用吊销时什么也不做.
+     */
+    @Override
+    public void revokeAll(@Nonnull String uid) {
+        if (revocationRegistry != null) {
+            revocationRegistry.revokeAll(uid, refreshTokenTtl);
         }
         else {
-            log.trace("accessToken is invalid: {}", accessToken);
-            throw TokenException.INVALID_TOKEN;
+            log.debug("Token revocation is not enabled, tokens of {} are still valid", uid);
         }
     }
 
@@ -219,30 +304,26 @@ public class JwtTokenManager implements TokenManager {
             throw TokenException.INVALID_TOKEN;
         }
 
-        try {
-            JWTUtil.verify(refreshToken, jwtSigner);
-        }
-        catch (Exception e) {
-            log.trace("refreshToken is invalid: {} - {}", refreshToken, e.getMessage());
-            throw TokenException.INVALID_TOKEN;
-        }
+        val jwt = JwtCodec.decode(refreshToken, jwtSigner);
 
-        val jwt = JWTUtil.parseToken(refreshToken);
-        jwt.setSigner(jwtSigner);
-
-        val jwtLeeway = properties.getJwtLeeway();
-        if (!jwt.validate(jwtLeeway.toSeconds())) {
+        if (!jwt.validate(properties.getJwtLeeway().toSeconds())) {
             log.trace("refreshToken is expired: {}", refreshToken);
             throw TokenException.EXPIRED;
         }
 
+        if (revocationRegistry != null
+                && revocationRegistry.isRevoked(DigestUtil.sha256Hex(refreshToken), uid, jwt.issuedAt())) {
+            log.trace("refreshToken is revoked: {}", refreshToken);
+            throw TokenException.REVOKED;
+        }
+
         // 验证合法性
         SecurityUtils.checkUserDetails(userDetails);
 
         val accessToken = StringUtils.defaultString(jwtToken.getAccessToken());
         // 当前用户的凭证
         val password = userDetails.getPassword();
-        val oldSign = (String) jwt.getPayload(JWT.SUBJECT);
+        val oldSign = jwt.subject();
         val sign = MD5.create().digestHex(accessToken + password);
 
         if (Objects.equals(oldSign, sign)) {
@@ -281,8 +362,10 @@ public class JwtTokenManager implements TokenManager {
         // 是用户ID
         token.setSubject(jwtToken.getUid());
         token.setSigner(jwtSigner);
-        val accessExpireAt = DateUtil.date().offset(DateField.MINUTE, (int) duration.toMinutes());
-        token.setExpiresAt(accessExpireAt);
+        val now = DateUtil.date();
+        token.setIssuedAt(now);
+        token.setPayload(PAYLOAD_ISSUED_AT, now.getTime());
+        token.setExpiresAt(DateUtil.offset(now, DateField.MINUTE, (int) duration.toMinutes()));
 
         return token.sign();
     }
@@ -309,8 +392,11 @@ public class JwtTokenManager implements TokenManager {
                     }
                 }
             }
-            val accessExpireAt = DateUtil.date().offset(DateField.MINUTE, (int) expire.toMinutes());
+            val now = DateUtil.date();
+            val accessExpireAt = DateUtil.offset(now, DateField.MINUTE, (int) expire.toMinutes());
             val token = JWT.create();
+            token.setIssuedAt(now);
+            token.setPayload(PAYLOAD_ISSUED_AT, now.getTime());
             val refreshToken = MD5.create().digestHex(accessToken + password);
             token.setSubject(refreshToken);
             if (StringUtils.isNotBlank(jwtToken.getUid())) {
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.springframework.util.Assert;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HS256签名器，线程间共享一组已初始化的{@link Mac}实例.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public class PooledMacJWTSigner implements RawJWTSigner {
+
+    private final static String HMAC_SHA256 = "HmacSHA256";
+
+    private final InstancePool<Mac> macs;
+
+    public PooledMacJWTSigner(@Nonnull byte[] key) {
+        this(key, InstancePool.defaultSize());
+    }
+
+    public PooledMacJWTSigner(@Nonnull byte[] key, int poolSize) {
+        Assert.isTrue(key.length > 0, "key must not be empty");
+        val secretKey = new SecretKeySpec(key, HMAC_SHA256);
+        // 每个实例独立创建，不与其它线程共享任何状态
+        this.macs = new InstancePool<>(poolSize, () -> createMac(secretKey));
+        this.macs.release(createMac(secretKey));
+    }
+
+    @Override
+    public String sign(String headerBase64, String payloadBase64) {
+        val content = (headerBase64 + "." + payloadBase64).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(doFinal(content, 0, content.length));
+    }
+
+    @Override
+    public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
+        if (signBase64 == null) {
+            return false;
+        }
+        val sign = sign(headerBase64, payloadBase64);
+        return MessageDigest.isEqual(sign.getBytes(StandardCharsets.UTF_8),
+                signBase64.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean verify(byte[] content, int offset, int length, byte[] signature) {
+        return MessageDigest.isEqual(doFinal(content, offset, length), signature);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "HS256";
+    }
+
+    private byte[] doFinal(byte[] content, int offset, int length) {
+        val mac = macs.borrow();
+        try {
+            mac.update(content, offset, length);
+            return mac.doFinal();
+        }
+        finally {
+            macs.release(mac);
+        }
+    }
+
+    @Nonnull
+    private static Mac createMac(SecretKeySpec key) {
+        try {
+            val mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_SHA256, e);
+        }
+    }
+
+}
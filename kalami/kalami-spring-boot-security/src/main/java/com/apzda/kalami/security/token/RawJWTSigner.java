@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import cn.hutool.jwt.signers.JWTSigner;
+
+/**
+ * 可直接基于原始字节验证签名的{@link JWTSigner}.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface RawJWTSigner extends JWTSigner {
+
+    /**
+     * 验证签名
+     * @param content 待签名内容(header.payload的ASCII字节)
+     * @param offset 内容起始位置
+     * @param length 内容长度
+     * @param signature 解码后的签名
+     * @return 签名是否有效
+     */
+    boolean verify(byte[] content, int offset, int length, byte[] signature);
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+/**
+ * 非阻塞的令牌管理器，供响应式(网关)环境恢复认证.
+ * <p/>
+ * 实现不得阻塞调用线程(Netty事件循环). 阻塞的{@link TokenManager}可通过{@link #of(TokenManager)}适配.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public interface ReactiveTokenManager {
+
+    /**
+     * 从<code>accessToken</code>恢复认证.
+     * <p/>
+     * 令牌不合法时以{@link org.springframework.security.core.AuthenticationException}结束,
+     * 令牌过期等情况以携带认证的{@link com.apzda.kalami.security.error.AuthenticationError}结束.
+     * 返回的认证应已加载权限，否则授权检查需切换到{@link reactor.core.scheduler.Schedulers#boundedElastic()}执行.
+     */
+    @Nonnull
+    Mono<Authentication> restore(@Nonnull String accessToken);
+
+    /**
+     * 将阻塞的{@link TokenManager}适配为{@link ReactiveTokenManager}.
+     */
+    @Nonnull
+    static ReactiveTokenManager of(@Nonnull TokenManager tokenManager) {
+        if (tokenManager instanceof ReactiveTokenManager reactiveTokenManager) {
+            return reactiveTokenManager;
+        }
+        return new BlockingTokenManagerAdapter(tokenManager);
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌吊销登记处.
+ * <p/>
+ * 吊销的令牌摘要同步到本地布隆过滤器，用户吊销时间点完整复制到本地，未吊销的令牌(绝大多数情况)
+ * 在内存中即可判定；仅当过滤器命中时才向{@link TokenRevocationStore}确认. 本地副本通过集群通知增量更新，
+ * 并按<code>syncInterval</code>全量重建以清除过期记录.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class TokenRevocationRegistry implements InitializingBean, DisposableBean {
+
+    private final TokenRevocationStore store;
+
+    private final Duration syncInterval;
+
+    private final long expectedInsertions;
+
+    private final double fpp;
+
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter<CharSequence> filter;
+
+    /**
+     * 全量同步期间发生的吊销，重建本地副本时补入
+     */
+    private Set<String> pending;
+
+    private Set<String> pendingUsers;
+
+    private ScheduledExecutorService scheduler;
+
+    public TokenRevocationRegistry(@Nonnull TokenRevocationStore store, @Nonnull Duration syncInterval,
+            long expectedInsertions, double fpp) {
+        this.store = store;
+        this.syncInterval = syncInterval;
+        this.expectedInsertions = Math.max(1000, expectedInsertions);
+        this.fpp = fpp;
+        this.filter = newFilter(this.expectedInsertions);
+    }
+
+    /**
+     * 令牌是否已被吊销.
+     * @param tokenId 令牌摘要
+     * @param uid 令牌所属用户
+     * @param issuedAt 令牌签发时间(毫秒)，旧令牌可能没有
+     */
+    public boolean isRevoked(@Nullable String tokenId, @Nullable String uid, @Nullable Long issuedAt) {
+        if (uid != null) {
+            val before = notBefore.get(uid);
+            if (before != null && (issuedAt == null || issuedAt <= before)) {
+                return true;
+            }
+        }
+
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        try {
+            return store.isRevoked(tokenId);
+        }
+        catch (Exception e) {
+            log.warn("Cannot check revocation of token {}, treat it as revoked: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 吊销令牌
+     * @param tokenId 令牌摘要
+     * @param ttl 令牌的剩余有效期
+     */
+    public void revoke(@Nonnull String tokenId, @Nonnull Duration ttl) {
+        store.revoke(tokenId, ttl);
+        onRevoked(tokenId, null, 0);
+    }
+
+    /**
+     * 吊销用户截止当前(含当前这一毫秒)签发的全部令牌
+     * @param ttl 用户令牌的最长有效期
+     */
+    public void revokeAll(@Nonnull String uid, @Nonnull Duration ttl) {
+        val before = System.currentTimeMillis();
+        store.revokeBefore(uid, before, ttl);
+        onRevoked(null, uid, before);
+    }
+
+    /**
+     * 从存储全量重建本地副本
+     */
+    public void sync() {
+        synchronized (this) {
+            pending = new HashSet<>();
+            pendingUsers = new HashSet<>();
+        }
+        try {
+            val tokens = store.revokedTokens();
+            val users = store.notBefore();
+            val rebuilt = newFilter(Math.max(expectedInsertions, tokens.size() * 2L));
+            for (val token : tokens) {
+                rebuilt.put(token);
+            }
+            users.forEach((uid, before) -> notBefore.merge(uid, before, Math::max));
+            synchronized (this) {
+                for (val token : pending) {
+                    rebuilt.put(token);
+                }
+                filter = rebuilt;
+                notBefore.keySet().removeIf(uid -> !users.containsKey(uid) && !pendingUsers.contains(uid));
+            }
+            log.debug("Token revocation registry synced: {} tokens, {} users", tokens.size(), users.size());
+        }
+        finally {
+            synchronized (this) {
+                pending = null;
+                pendingUsers = null;
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        try {
+            sync();
+        }
+        catch (Exception e) {
+            log.warn("Cannot load revoked tokens: {}", e.getMessage());
+        }
+        store.subscribe(this::onRevoked);
+
+        if (!syncInterval.isZero() && !syncInterval.isNegative()) {
+            val executor = new ScheduledThreadPoolExecutor(1, r -> {
+                val thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("kalami-token-revocation");
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    sync();
+                }
+                catch (Exception e) {
+                    log.warn("Cannot sync revoked tokens: {}", e.getMessage());
+                }
+            }, syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+            scheduler = executor;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void onRevoked(@Nullable String tokenId, @Nullable String uid, long before) {
+        if (tokenId != null) {
+            synchronized (this) {
+                filter.put(tokenId);
+                if (pending != null) {
+                    pending.add(tokenId);
+                }
+            }
+        }
+        if (uid != null) {
+            synchronized (this) {
+                notBefore.merge(uid, before, Math::max);
+                if (pendingUsers != null) {
+                    pendingUsers.add(uid);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private BloomFilter<CharSequence> newFilter(long expectedInsertions) {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, fpp);
+    }
+
+}
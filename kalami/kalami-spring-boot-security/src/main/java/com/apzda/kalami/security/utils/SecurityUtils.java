@@ -32,11 +32,18 @@ import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -76,13 +83,25 @@ public abstract class SecurityUtils {
             return false;
         }
         val root = handler.create();
-
-        return Arrays.stream(authority).map(root::hasAuthority).filter(e -> !e).findFirst().isEmpty();
+        for (val a : authority) {
+            if (!hasAuthority(root, a)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean hasAnyAuthority(String... authority) {
         val root = handler.create();
-        return root.hasAnyAuthority(authority);
+        if (authority == null) {
+            return root.hasAnyAuthority(authority);
+        }
+        for (val a : authority) {
+            if (hasAuthority(root, a)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public static boolean hasRole(String... role) {
@@ -90,13 +109,39 @@ public abstract class SecurityUtils {
             return false;
         }
         val root = handler.create();
-
-        return Arrays.stream(role).map(root::hasRole).filter(e -> !e).findFirst().isEmpty();
+        for (val r : role) {
+            if (!hasRole(root, r)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean hasAnyRole(String... role) {
         val root = handler.create();
-        return root.hasAnyRole(role);
+        if (role == null) {
+            return root.hasAnyRole(role);
+        }
+        for (val r : role) {
+            if (hasRole(root, r)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAuthority(SecurityExpressionRoot root, String authority) {
+        if (root instanceof DefaultSecurityExpressionRoot defaultRoot) {
+            return defaultRoot.granted(authority);
+        }
+        return root.hasAuthority(authority);
+    }
+
+    private static boolean hasRole(SecurityExpressionRoot root, String role) {
+        if (root instanceof DefaultSecurityExpressionRoot defaultRoot) {
+            return defaultRoot.grantedRole(role);
+        }
+        return root.hasRole(role);
     }
 
     public static boolean hasPermission(@Nonnull String permission) {
@@ -153,18 +198,84 @@ public abstract class SecurityUtils {
         return accessToken;
     }
 
+    /**
+     * 为指定认证创建表达式根对象(不绑定到当前线程)，用于在响应式上下文中传递.
+     * @return 未配置{@link DefaultSecurityExpressionHandler}时返回null
+     */
+    @Nullable
+    public static SecurityExpressionRoot user(@Nonnull Authentication authentication) {
+        return handler != null ? handler.create(authentication) : null;
+    }
+
+    /**
+     * 权限集在首次检查时计算一次(含角色继承)，之后{@link SecurityUtils}的角色、权限检查只是集合查找.
+     */
     static class DefaultSecurityExpressionRoot extends SecurityExpressionRoot {
 
+        private RoleHierarchy roleHierarchy;
+
+        private String rolePrefix = "ROLE_";
+
+        private Set<String> authorities;
+
         public DefaultSecurityExpressionRoot(Supplier<Authentication> authentication) {
             super(authentication);
         }
 
+        @Override
+        public void setRoleHierarchy(RoleHierarchy roleHierarchy) {
+            super.setRoleHierarchy(roleHierarchy);
+            this.roleHierarchy = roleHierarchy;
+            this.authorities = null;
+        }
+
+        @Override
+        public void setDefaultRolePrefix(String defaultRolePrefix) {
+            super.setDefaultRolePrefix(defaultRolePrefix);
+            this.rolePrefix = defaultRolePrefix;
+        }
+
+        boolean granted(String authority) {
+            return authorities().contains(authority);
+        }
+
+        boolean grantedRole(String role) {
+            return authorities().contains(withRolePrefix(role));
+        }
+
+        private Set<String> authorities() {
+            var authorities = this.authorities;
+            if (authorities == null) {
+                Collection<? extends GrantedAuthority> granted = getAuthentication().getAuthorities();
+                if (roleHierarchy != null) {
+                    granted = roleHierarchy.getReachableGrantedAuthorities(granted);
+                }
+                authorities = Collections.unmodifiableSet(AuthorityUtils.authorityListToSet(granted));
+                this.authorities = authorities;
+            }
+            return authorities;
+        }
+
+        private String withRolePrefix(String role) {
+            if (role == null || StringUtils.isEmpty(rolePrefix) || role.startsWith(rolePrefix)) {
+                return role;
+            }
+            return rolePrefix + role;
+        }
+
     }
 
     public static class DefaultSecurityExpressionHandler {
 
+        /**
+         * 当前请求的表达式根对象. 只在Servlet请求内缓存，请求结束时清除；WebFlux通过Reactor上下文传播.
+         */
         public static final ThreadLocal<SecurityExpressionRoot> ROOT_BOX = new ThreadLocal<>();
 
+        private static final boolean WEB_PRESENT = ClassUtils.isPresent(
+                "org.springframework.web.context.request.RequestContextHolder",
+                DefaultSecurityExpressionHandler.class.getClassLoader());
+
         private final PermissionEvaluator permissionEvaluator;
 
         private final RoleHierarchy roleHierarchy;
@@ -181,33 +292,75 @@ public abstract class SecurityUtils {
             SecurityUtils.handler = this;
         }
 
+        /**
+         * 返回绑定到当前线程的根对象，认证被替换后重新创建. 根对象只在本线程内可见，无需加锁.
+         * <p/>
+         * 只有Servlet请求内创建的根对象才会绑定到线程并在请求结束时清除；线程池、定时任务等其它线程上每次返回新的根对象，
+         * 避免其泄漏给线程后续执行的任务.
+         */
         SecurityExpressionRoot create() {
-            SecurityExpressionRoot root = ROOT_BOX.get();
-            if (root != null) {
+            val authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                throw new AuthenticationCredentialsNotFoundException(
+                        "An Authentication object was not found in the SecurityContext");
+            }
+
+            if (!authentication.isAuthenticated()) {
+                throw new AuthenticationError(ServiceError.UNAUTHORIZED);
+            }
+
+            var root = ROOT_BOX.get();
+            if (root != null && root.getAuthentication() == authentication) {
                 return root;
             }
-            synchronized (this) {
-                root = ROOT_BOX.get();
-                if (root != null) {
-                    return root;
+
+            root = create(authentication);
+            if (WEB_PRESENT && RequestScope.bind()) {
+                ROOT_BOX.set(root);
+            }
+            return root;
+        }
+
+        @Nonnull
+        SecurityExpressionRoot create(@Nonnull Authentication authentication) {
+            val root = new DefaultSecurityExpressionRoot(() -> authentication);
+            root.setDefaultRolePrefix(rolePrefix);
+            root.setPermissionEvaluator(permissionEvaluator);
+            root.setRoleHierarchy(roleHierarchy);
+            root.setTrustResolver(trustResolver);
+            return root;
+        }
+
+        /**
+         * 隔离对spring-web的引用，未引入时不加载.
+         */
+        private static final class RequestScope {
+
+            private static final String CLEANER = DefaultSecurityExpressionHandler.class.getName() + ".CLEANER";
+
+            /**
+             * 当前线程处于活动的请求内时，注册请求结束时清除{@link DefaultSecurityExpressionHandler#ROOT_BOX}的回调.
+             * @return 是否可以绑定根对象
+             */
+            static boolean bind() {
+                val attributes = RequestContextHolder.getRequestAttributes();
+                if (attributes == null) {
+                    return false;
                 }
-                val authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication == null) {
-                    throw new AuthenticationCredentialsNotFoundException(
-                            "An Authentication object was not found in the SecurityContext");
+                try {
+                    if (attributes.getAttribute(CLEANER, RequestAttributes.SCOPE_REQUEST) == null) {
+                        attributes.setAttribute(CLEANER, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                        attributes.registerDestructionCallback(CLEANER, ROOT_BOX::remove,
+                                RequestAttributes.SCOPE_REQUEST);
+                    }
+                    return true;
                 }
-
-                if (!authentication.isAuthenticated()) {
-                    throw new AuthenticationError(ServiceError.UNAUTHORIZED);
+                catch (IllegalStateException e) {
+                    // 请求已结束
+                    return false;
                 }
-
-                root = new DefaultSecurityExpressionRoot(() -> authentication);
-                root.setDefaultRolePrefix(rolePrefix);
-                root.setPermissionEvaluator(permissionEvaluator);
-                root.setRoleHierarchy(roleHierarchy);
-                root.setTrustResolver(trustResolver);
-                return root;
             }
+
         }
 
     }
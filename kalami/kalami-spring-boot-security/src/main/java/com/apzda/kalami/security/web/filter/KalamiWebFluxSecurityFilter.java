@@ -18,8 +18,12 @@
 package com.apzda.kalami.security.web.filter;
 
 import com.apzda.kalami.error.ServiceError;
+import com.apzda.kalami.security.authentication.JwtTokenAuthentication;
+import com.apzda.kalami.security.authorization.checker.AclRouteTable;
 import com.apzda.kalami.security.authorization.checker.AuthorizationChecker;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.apzda.kalami.security.context.AuthenticationThreadLocalAccessor;
+import com.apzda.kalami.security.context.ExpressionRootThreadLocalAccessor;
 import com.apzda.kalami.security.error.AuthenticationError;
 import com.apzda.kalami.security.utils.SecurityUtils;
 import jakarta.annotation.Nonnull;
@@ -27,18 +31,25 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.PathMatcher;
 import org.springframework.util.StopWatch;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static com.apzda.kalami.security.utils.SecurityUtils.CONTEXT_ATTR_NAME;
+
 /**
  * @author ninggf (windywany@gmail.com)
  * @since 2025/05/23
@@ -47,15 +58,16 @@ import java.util.Map;
 @Slf4j
 public class KalamiWebFluxSecurityFilter implements WebFilter {
 
-    private static final PathMatcher PATH_MATCHER = AuthorizationChecker.PATH_MATCHER;
+    private static final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+        .getContextHolderStrategy();
 
-    private final SecurityConfigProperties properties;
+    private final AclRouteTable routeTable;
 
     private final Map<String, AuthorizationChecker> checkerBeans = new HashMap<>();
 
     public KalamiWebFluxSecurityFilter(@Nonnull SecurityConfigProperties properties,
             ObjectProvider<AuthorizationChecker> filtersProvider) {
-        this.properties = properties;
+        this.routeTable = new AclRouteTable(properties);
         this.initialize(filtersProvider);
     }
 
@@ -82,32 +94,77 @@ public class KalamiWebFluxSecurityFilter implements WebFilter {
     public Mono<Void> filter(@Nonnull ServerWebExchange exchange, @Nonnull WebFilterChain chain) {
         log.trace("KalamiWebFluxSecurityFilter filter started");
         val request = exchange.getRequest();
-        val excludes = properties.getExcludes();
         val requestURI = request.getURI().getPath();
 
-        if (!CollectionUtils.isEmpty(excludes)) {
-            for (val exclude : excludes) {
-                if (PATH_MATCHER.match(exclude, requestURI)) {
-                    log.trace("Bypass '{}' since it is excluded by '{}'", requestURI, exclude);
-                    return chain.filter(exchange);
+        val route = routeTable.lookup(requestURI);
+        if (route.excluded()) {
+            log.trace("Bypass '{}' since it is excluded by '{}'", requestURI, route.exclude());
+            return chain.filter(exchange);
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+            .switchIfEmpty(Mono.justOrEmpty((SecurityContext) request.getAttributes().get(CONTEXT_ATTR_NAME)))
+            .defaultIfEmpty(securityContextHolderStrategy.createEmptyContext())
+            .flatMap(context -> checkGranted(requestURI, route.acl(), context).flatMap(granted -> {
+                if (granted) {
+                    return chain.filter(exchange).contextWrite(ctx -> withSecurityContext(ctx, context));
                 }
-            }
+
+                val exception = request.getAttributes().get(SecurityUtils.CONTEXT_ATTR_EXCEPTION);
+                if (exception != null) {
+                    log.trace("Found exception '{}' in request", exception.getClass().getName());
+                    return Mono.error((Exception) exception);
+                }
+
+                return Mono.error(new AuthenticationError(ServiceError.UNAUTHORIZED));
+            }));
+    }
+
+    /**
+     * 权限尚未加载时，{@link org.springframework.security.core.Authentication#getAuthorities()}可能访问用户服务,
+     * 此时在{@link Schedulers#boundedElastic()}上检查，避免阻塞事件循环.
+     */
+    @Nonnull
+    private Mono<Boolean> checkGranted(String requestURI, List<SecurityConfigProperties.Checker> acl,
+            @Nonnull SecurityContext context) {
+        if (context.getAuthentication() instanceof JwtTokenAuthentication authentication
+                && authentication.isAuthenticated() && !authentication.isAuthoritiesResolved()) {
+            return Mono.fromCallable(() -> isGranted(requestURI, acl, context))
+                .subscribeOn(Schedulers.boundedElastic());
         }
+        return Mono.just(isGranted(requestURI, acl, context));
+    }
 
-        val context = SecurityContextHolder.getContext();
-        if (context != null && context.getAuthentication() != null && context.getAuthentication().isAuthenticated()
-                && !CollectionUtils.isEmpty(checkerBeans)
-                && AuthorizationChecker.check(requestURI, properties, checkerBeans)) {
-            return chain.filter(exchange);
+    /**
+     * 将认证及其表达式根对象写入Reactor上下文，开启上下文传播后下游可通过{@link SecurityUtils}检查权限.
+     */
+    @Nonnull
+    private Context withSecurityContext(@Nonnull Context ctx, @Nonnull SecurityContext context) {
+        val root = SecurityUtils.user(context.getAuthentication());
+        if (root != null) {
+            ctx = ctx.put(ExpressionRootThreadLocalAccessor.KEY, root);
         }
+        return ctx.put(AuthenticationThreadLocalAccessor.KEY, context);
+    }
 
-        val exception = request.getAttributes().get(SecurityUtils.CONTEXT_ATTR_EXCEPTION);
-        if (exception != null) {
-            log.trace("Found exception '{}' in request", exception.getClass().getName());
-            return Mono.error((Exception) exception);
+    /**
+     * 授权检查器依赖线程本地的当前用户，检查期间临时将响应式上下文绑定到当前线程.
+     */
+    private boolean isGranted(String requestURI, List<SecurityConfigProperties.Checker> acl,
+            @Nonnull SecurityContext context) {
+        val authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || CollectionUtils.isEmpty(checkerBeans)) {
+            return false;
         }
 
-        return Mono.error(new AuthenticationError(ServiceError.UNAUTHORIZED));
+        val previous = securityContextHolderStrategy.getContext();
+        securityContextHolderStrategy.setContext(context);
+        try {
+            return AuthorizationChecker.check(requestURI, acl, checkerBeans);
+        }
+        finally {
+            securityContextHolderStrategy.setContext(previous);
+        }
     }
 
 }
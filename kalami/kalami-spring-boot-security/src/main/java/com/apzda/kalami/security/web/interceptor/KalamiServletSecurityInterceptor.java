@@ -19,6 +19,7 @@ package com.apzda.kalami.security.web.interceptor;
 
 import com.apzda.kalami.security.annotation.Subscribed;
 import com.apzda.kalami.security.authorization.AuthorizationLogicCustomizer;
+import com.apzda.kalami.security.authorization.checker.AclRouteTable;
 import com.apzda.kalami.security.authorization.checker.AuthorizationChecker;
 import com.apzda.kalami.security.config.SecurityConfigProperties;
 import com.apzda.kalami.security.utils.SecurityUtils;
@@ -35,7 +36,6 @@ import org.springframework.data.util.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.PathMatcher;
 import org.springframework.util.StopWatch;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.method.HandlerMethod;
@@ -53,9 +53,7 @@ import java.util.Map;
 @Order(Ordered.HIGHEST_PRECEDENCE + 1000)
 public class KalamiServletSecurityInterceptor implements HandlerInterceptor {
 
-    private static final PathMatcher PATH_MATCHER = AuthorizationChecker.PATH_MATCHER;
-
-    private final SecurityConfigProperties properties;
+    private final AclRouteTable routeTable;
 
     private final Lazy<AuthorizationLogicCustomizer> authz;
 
@@ -63,7 +61,7 @@ public class KalamiServletSecurityInterceptor implements HandlerInterceptor {
 
     public KalamiServletSecurityInterceptor(@Nonnull SecurityConfigProperties properties,
             Lazy<AuthorizationLogicCustomizer> authz, ObjectProvider<AuthorizationChecker> filtersProvider) {
-        this.properties = properties;
+        this.routeTable = new AclRouteTable(properties);
         this.authz = authz;
         this.initialize(filtersProvider);
     }
@@ -89,21 +87,17 @@ public class KalamiServletSecurityInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
             @Nonnull Object handler) throws Exception {
-        val excludes = properties.getExcludes();
         val requestURI = request.getRequestURI();
-        if (!CollectionUtils.isEmpty(excludes)) {
-            for (val exclude : excludes) {
-                if (PATH_MATCHER.match(exclude, requestURI)) {
-                    log.trace("Bypass '{}' since it is excluded by '{}'", requestURI, exclude);
-                    return true;
-                }
-            }
+        val route = routeTable.lookup(requestURI);
+        if (route.excluded()) {
+            log.trace("Bypass '{}' since it is excluded by '{}'", requestURI, route.exclude());
+            return true;
         }
 
         val context = SecurityContextHolder.getContext();
         if (context != null && context.getAuthentication() != null && context.getAuthentication().isAuthenticated()
                 && !CollectionUtils.isEmpty(checkerBeans)
-                && AuthorizationChecker.check(requestURI, properties, checkerBeans)) {
+                && AuthorizationChecker.check(requestURI, route.acl(), checkerBeans)) {
             if (handler instanceof HandlerMethod hm) {
                 val controllerClz = hm.getBeanType();
                 if (controllerClz.isAnnotationPresent(Subscribed.class)) {
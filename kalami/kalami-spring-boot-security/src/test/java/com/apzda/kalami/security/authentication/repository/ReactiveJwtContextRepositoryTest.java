@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.authentication.repository;
+
+import com.apzda.kalami.security.authentication.JwtTokenAuthentication;
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.apzda.kalami.security.exception.TokenException;
+import com.apzda.kalami.security.token.JwtToken;
+import com.apzda.kalami.security.token.TokenManager;
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.apzda.kalami.security.utils.SecurityUtils.CONTEXT_ATTR_EXCEPTION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class ReactiveJwtContextRepositoryTest {
+
+    @Test
+    void blocking_token_manager_should_be_offloaded() {
+        // given
+        val tokenManager = new StubTokenManager(false);
+        val repository = new ReactiveJwtContextRepository(tokenManager, new SecurityConfigProperties());
+        val exchange = MockServerWebExchange
+            .from(MockServerHttpRequest.get("/api").header("Authorization", "Bearer abc").build());
+
+        // when
+        val context = repository.load(exchange).block();
+        val again = repository.load(exchange).block();
+
+        // then
+        assertThat(context).isNotNull();
+        assertThat(context.getAuthentication().getName()).isEqualTo("abc");
+        assertThat(context.getAuthentication().getDetails()).isNotNull();
+        assertThat(((JwtTokenAuthentication) context.getAuthentication()).isAuthoritiesResolved()).isTrue();
+        assertThat(again).isSameAs(context);
+        assertThat(tokenManager.restored.get()).isEqualTo(1);
+        assertThat(tokenManager.thread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void expired_token_should_keep_authentication_and_exception() {
+        // given
+        val repository = new ReactiveJwtContextRepository(new StubTokenManager(true), new SecurityConfigProperties());
+        val exchange = MockServerWebExchange
+            .from(MockServerHttpRequest.get("/api").header("Authorization", "Bearer abc").build());
+
+        // when
+        val context = repository.load(exchange).block();
+
+        // then
+        assertThat(context).isNotNull();
+        assertThat(context.getAuthentication().getName()).isEqualTo("abc");
+        assertThat(context.getAuthentication().isAuthenticated()).isFalse();
+        assertThat(exchange.getAttributes().get(CONTEXT_ATTR_EXCEPTION)).isSameAs(TokenException.EXPIRED);
+    }
+
+    @Test
+    void request_without_token_should_get_empty_context() {
+        // given
+        val tokenManager = new StubTokenManager(false);
+        val repository = new ReactiveJwtContextRepository(tokenManager, new SecurityConfigProperties());
+        val exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api").build());
+
+        // when
+        val context = repository.load(exchange).block();
+
+        // then
+        assertThat(context).isNotNull();
+        assertThat(context.getAuthentication()).isNull();
+        assertThat(tokenManager.restored.get()).isZero();
+    }
+
+    static class StubTokenManager implements TokenManager {
+
+        private final boolean expired;
+
+        private final AtomicInteger restored = new AtomicInteger();
+
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        StubTokenManager(boolean expired) {
+            this.expired = expired;
+        }
+
+        @Override
+        public Authentication restore(String accessToken) {
+            restored.incrementAndGet();
+            thread.set(Thread.currentThread());
+            val user = User.withUsername(accessToken).password("").build();
+            val authentication = JwtTokenAuthentication.authenticated(user, "");
+            if (expired) {
+                authentication.setAuthenticated(false);
+                throw TokenException.EXPIRED.withAuthentication(authentication);
+            }
+            return authentication;
+        }
+
+        @Override
+        public JwtToken create(JwtToken oldToken, @Nonnull Authentication authentication) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JwtToken refresh(@Nonnull JwtToken jwtToken, UserDetails userDetails) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.authorization;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class PermissionMatcherTest {
+
+    @Test
+    void matches_should_be_ok() {
+        // given
+        val matcher = PermissionMatcher.compile(AuthorityUtils.createAuthorityList("view,edit:gsvc.user.*",
+                "view:gsvc.*.1,2", "list:*", "ROLE_ADMIN", "del:order.*.item", "a+b:c"));
+
+        // then
+        assertThat(matcher.matches("view:gsvc.user")).isTrue();
+        assertThat(matcher.matches("edit:gsvc.user.1")).isTrue();
+        assertThat(matcher.matches("edit:gsvc.user.1.2")).isTrue();
+        assertThat(matcher.matches("add:gsvc.user.1")).isFalse();
+        assertThat(matcher.matches("edit:gsvc.username")).isFalse();
+        assertThat(matcher.matches("view:gsvc.admin.2")).isTrue();
+        assertThat(matcher.matches("view:gsvc.admin.3")).isFalse();
+        assertThat(matcher.matches("view:gsvc.admin.x.1")).isTrue();
+        assertThat(matcher.matches("list:gsvc.user.1")).isTrue();
+        assertThat(matcher.matches("list:")).isFalse();
+        assertThat(matcher.matches("any:ROLE_ADMIN")).isTrue();
+        assertThat(matcher.matches("ROLE_ADMIN")).isFalse();
+        assertThat(matcher.matches("del:order.1.item")).isTrue();
+        assertThat(matcher.matches("del:order.1.item.2")).isFalse();
+        assertThat(matcher.matches("a+b:c")).isFalse();
+        assertThat(matcher.matches("aab:c")).isTrue();
+    }
+
+    @Test
+    void empty_should_match_nothing() {
+        assertThat(PermissionMatcher.compile(null).matches("view:gsvc.user")).isFalse();
+        assertThat(PermissionMatcher.compile(AuthorityUtils.createAuthorityList()).matches("view:gsvc.user"))
+            .isFalse();
+    }
+
+    @Test
+    void dot_asterisk_should_match_everything() {
+        assertThat(PermissionMatcher.compile(AuthorityUtils.createAuthorityList(".*")).matches("view:x")).isTrue();
+    }
+
+    @Test
+    void dot_asterisk_suffix_should_stop_at_segment_boundary() {
+        // given
+        val matcher = PermissionMatcher.compile(AuthorityUtils.createAuthorityList("view:gsvc.user.*"));
+
+        // then
+        assertThat(matcher.matches("view:gsvc.user")).isTrue();
+        assertThat(matcher.matches("view:gsvc.user.1")).isTrue();
+        assertThat(matcher.matches("view:gsvc.username")).isFalse();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.authorization.checker;
+
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class AclRouteTableTest {
+
+    @Test
+    void lookup_should_be_ok() {
+        // given
+        val properties = new SecurityConfigProperties();
+        properties.setExcludes(List.of("/public/**", "/**/*.css"));
+        val acl = new ArrayList<SecurityConfigProperties.Checker>();
+        acl.add(checker("/api/**", "mfa"));
+        acl.add(checker("/api/admin/*", "hasRole('admin')"));
+        acl.add(checker("/**/users/{id}", "permit"));
+        acl.add(checker("/api/empty", null));
+        properties.setAcl(acl);
+        val table = new AclRouteTable(properties);
+
+        // when
+        val route = table.lookup("/api/admin/users");
+        val route1 = table.lookup("/api/admin/users/1");
+
+        // then
+        assertThat(table.lookup("/public/a/b").excluded()).isTrue();
+        assertThat(table.lookup("/static/a.css").exclude()).isEqualTo("/**/*.css");
+        assertThat(route.excluded()).isFalse();
+        assertThat(route.acl()).extracting(SecurityConfigProperties.Checker::getPath)
+            .containsExactly("/api/**", "/api/admin/*");
+        assertThat(route1.acl()).extracting(SecurityConfigProperties.Checker::getPath)
+            .containsExactly("/api/**", "/**/users/{id}");
+        assertThat(table.lookup("/api/admin/users")).isSameAs(route);
+        assertThat(table.lookup("/api/empty").acl()).hasSize(1);
+        assertThat(table.lookup("/other").acl()).isEmpty();
+
+        // when
+        properties.setAcl(List.of(checker("/other", "mfa")));
+
+        // then
+        assertThat(table.lookup("/api/admin/users").acl()).isEmpty();
+        assertThat(table.lookup("/other").acl()).hasSize(1);
+    }
+
+    private static SecurityConfigProperties.Checker checker(String path, String name) {
+        val checker = new SecurityConfigProperties.Checker();
+        checker.setPath(path);
+        if (name != null) {
+            val config = new SecurityConfigProperties.CheckerConfig();
+            config.setName(name);
+            checker.setCheckers(List.of(config));
+        }
+        return checker;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.context;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class SpringSecurityUserProviderTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void current_user_should_be_cached_per_authentication() {
+        // given
+        val provider = new SpringSecurityUserProvider();
+        val authentication = UsernamePasswordAuthenticationToken.authenticated("1", "", List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        // when
+        val user1 = provider.currentUser();
+        val user2 = provider.currentUser();
+
+        // then
+        assertThat(user1).isNotNull().isSameAs(user2);
+        assertThat(user1.getUid()).isEqualTo("1");
+        assertThat(user1.isAuthenticated()).isTrue();
+
+        // when
+        authentication.setAuthenticated(false);
+
+        // then
+        assertThat(provider.currentUser()).isNotSameAs(user1);
+        assertThat(provider.currentUser().isAuthenticated()).isFalse();
+
+        // when
+        SecurityContextHolder.getContext()
+            .setAuthentication(UsernamePasswordAuthenticationToken.authenticated("2", "", List.of()));
+
+        // then
+        assertThat(provider.currentUser().getUid()).isEqualTo("2");
+    }
+
+}
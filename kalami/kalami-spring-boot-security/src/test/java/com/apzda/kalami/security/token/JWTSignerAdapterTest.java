@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class JWTSignerAdapterTest {
+
+    @Test
+    void hs256_should_be_compatible_with_hutool() throws Exception {
+        // given
+        val properties = new SecurityConfigProperties();
+        properties.setJwtKey("123456");
+        val signer = new JWTSignerAdapter(properties);
+        val hutool = JWTSignerUtil.hs256("123456".getBytes());
+        val token = JWT.create().setSubject("1").setSigner(hutool).sign();
+        val failed = new AtomicInteger();
+
+        // when
+        val executor = Executors.newFixedThreadPool(32);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (!JwtCodec.decode(token, signer).subject().equals("1")) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(failed.get()).isZero();
+        assertThat(signer.getAlgorithm()).isEqualTo("HS256");
+        assertThat(JWT.create().setSubject("1").setSigner(signer).sign()).isEqualTo(token);
+    }
+
+    @Test
+    void rs256_should_work() throws Exception {
+        asymmetric_signer_should_work("RS256", "RSA");
+    }
+
+    @Test
+    void es256_should_work() throws Exception {
+        asymmetric_signer_should_work("ES256", "EC");
+    }
+
+    private void asymmetric_signer_should_work(String algorithm, String keyAlgorithm) throws Exception {
+        // given
+        val generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        generator.initialize("EC".equals(keyAlgorithm) ? 256 : 2048);
+        val keyPair = generator.generateKeyPair();
+        val properties = new SecurityConfigProperties();
+        properties.setJwtAlgorithm(algorithm);
+        properties.setJwtPublicKey("-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----");
+        properties.setJwtPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        val signer = new JWTSignerAdapter(properties);
+        properties.setJwtPrivateKey(null);
+        val verifier = new JWTSignerAdapter(properties);
+
+        // when
+        val token = JWT.create().setSubject("1").setSigner(signer).sign();
+
+        // then
+        assertThat(JWT.of(token).getHeader("alg")).isEqualTo(algorithm);
+        assertThat(JwtCodec.decode(token, verifier).subject()).isEqualTo("1");
+        assertThat(JWT.of(token).verify(verifier)).isTrue();
+        if ("ES256".equals(algorithm)) {
+            assertThat(Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1))).hasSize(64);
+        }
+        assertThatThrownBy(() -> JWT.create().setSubject("1").setSigner(verifier).sign())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+}
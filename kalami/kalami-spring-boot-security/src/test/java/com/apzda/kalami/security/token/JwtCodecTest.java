@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.apzda.kalami.security.exception.TokenException;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class JwtCodecTest {
+
+    @Test
+    void decode_should_verify_and_extract_claims() {
+        // given
+        val properties = new SecurityConfigProperties();
+        properties.setJwtKey("123456");
+        val signer = new JWTSignerAdapter(properties);
+        val exp = System.currentTimeMillis() / 1000 + 60;
+        val token = JWT.create()
+            .setSubject("1")
+            .setPayload("f", "12")
+            .setPayload("s", "2")
+            .setPayload("x", new int[] { 1, 2 })
+            .setExpiresAt(new Date(exp * 1000))
+            .setSigner(JWTSignerUtil.hs256("123456".getBytes()))
+            .sign();
+
+        // when
+        val claims = JwtCodec.decode(token, signer);
+        val claims1 = JwtCodec.decode(token, JWTSignerUtil.hs256("123456".getBytes()));
+
+        // then
+        assertThat(claims).isEqualTo(claims1);
+        assertThat(claims.subject()).isEqualTo("1");
+        assertThat(claims.flag()).isEqualTo("12");
+        assertThat(claims.runas()).isEqualTo("2");
+        assertThat(claims.uid()).isNull();
+        assertThat(claims.exp()).isEqualTo(exp);
+        assertThat(claims.validate(0)).isTrue();
+
+        val parts = token.split("\\.");
+        val tampered = parts[0] + "." + JWT.create().setSubject("2").getPayloads().toString() + "." + parts[2];
+        assertThatThrownBy(() -> JwtCodec.decode(tampered, signer)).isSameAs(TokenException.INVALID_TOKEN);
+        assertThatThrownBy(() -> JwtCodec.decode(parts[0] + "." + parts[1], signer))
+            .isSameAs(TokenException.INVALID_TOKEN);
+        assertThatThrownBy(() -> JwtCodec.decode(token, JWTSignerUtil.hs256("654321".getBytes())))
+            .isSameAs(TokenException.INVALID_TOKEN);
+    }
+
+}
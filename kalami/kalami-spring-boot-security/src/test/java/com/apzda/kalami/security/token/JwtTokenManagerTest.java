@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import cn.hutool.jwt.signers.JWTSigner;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.apzda.kalami.security.authentication.JwtTokenAuthentication;
+import com.apzda.kalami.security.config.SecurityConfigProperties;
+import com.apzda.kalami.security.exception.TokenException;
+import com.apzda.kalami.security.user.DefaultMetaUserDetailsService;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class JwtTokenManagerTest {
+
+    @Test
+    void verified_token_should_be_cached() {
+        // given
+        val signer = new CountingSigner(JWTSignerUtil.hs256("123456".getBytes()));
+        val properties = new SecurityConfigProperties();
+        val tokenManager = new JwtTokenManager(new DefaultMetaUserDetailsService(),
+                new StaticListableBeanFactory().getBeanProvider(JwtTokenCustomizer.class), properties, signer);
+        val user = User.withUsername("1").password("123").build();
+        val jwtToken = tokenManager.create(JwtTokenAuthentication.unauthenticated(user, "123"));
+        val accessToken = jwtToken.getAccessToken();
+
+        // when
+        val auth1 = tokenManager.restore(accessToken);
+        val auth2 = tokenManager.restore(accessToken);
+
+        // then
+        assertThat(auth1.getName()).isEqualTo("1");
+        assertThat(auth2.getName()).isEqualTo("1");
+        assertThat(auth2.isAuthenticated()).isTrue();
+        assertThat(signer.verified.get()).isEqualTo(1);
+
+        // when
+        tokenManager.remove(auth2);
+        tokenManager.restore(accessToken);
+
+        // then
+        assertThat(signer.verified.get()).isEqualTo(2);
+        assertThatThrownBy(() -> tokenManager.restore(accessToken + "x")).isSameAs(TokenException.INVALID_TOKEN);
+    }
+
+    @Test
+    void removed_token_should_be_revoked() throws Exception {
+        // given
+        val registry = new TokenRevocationRegistry(new LocalTokenRevocationStore(), Duration.ZERO, 1000, 0.001);
+        registry.afterPropertiesSet();
+        val properties = new SecurityConfigProperties();
+        val tokenManager = new JwtTokenManager(new DefaultMetaUserDetailsService(),
+                new StaticListableBeanFactory().getBeanProvider(JwtTokenCustomizer.class), properties,
+                JWTSignerUtil.hs256("123456".getBytes()), registry);
+        val user = User.withUsername("1").password("123").build();
+        val accessToken = tokenManager.create(JwtTokenAuthentication.unauthenticated(user, "123")).getAccessToken();
+        // 同一秒内签发的相同声明令牌完全一样，通过标志区分
+        val locked = User.withUsername("1").password("123").accountLocked(true).build();
+        val another = tokenManager.create(JwtTokenAuthentication.unauthenticated(locked, "123")).getAccessToken();
+        val authentication = tokenManager.restore(accessToken);
+
+        // when
+        tokenManager.remove(authentication);
+
+        // then
+        assertThatThrownBy(() -> tokenManager.restore(accessToken)).isSameAs(TokenException.REVOKED);
+        assertThat(tokenManager.restore(another).getName()).isEqualTo("1");
+
+        // when
+        registry.revokeAll("1", Duration.ofDays(1));
+
+        // then
+        assertThatThrownBy(() -> tokenManager.restore(another)).isSameAs(TokenException.REVOKED);
+        // 吊销之后签发的令牌即使与吊销同在一秒内也依然有效
+        Thread.sleep(2);
+        val fresh = tokenManager.create(JwtTokenAuthentication.unauthenticated(user, "123")).getAccessToken();
+        assertThat(tokenManager.restore(fresh).getName()).isEqualTo("1");
+        registry.destroy();
+    }
+
+    static class CountingSigner implements JWTSigner {
+
+        private final JWTSigner signer;
+
+        private final AtomicInteger verified = new AtomicInteger();
+
+        CountingSigner(JWTSigner signer) {
+            this.signer = signer;
+        }
+
+        @Override
+        public String sign(String headerBase64, String payloadBase64) {
+            return signer.sign(headerBase64, payloadBase64);
+        }
+
+        @Override
+        public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
+            verified.incrementAndGet();
+            return signer.verify(headerBase64, payloadBase64, signBase64);
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return signer.getAlgorithm();
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.token;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class TokenRevocationRegistryTest {
+
+    @Test
+    void only_filter_hits_should_query_store() throws Exception {
+        // given
+        val store = new CountingStore();
+        store.revoke("revoked-by-other-node", Duration.ofMinutes(5));
+        val registry = new TokenRevocationRegistry(store, Duration.ZERO, 1000, 0.001);
+        registry.afterPropertiesSet();
+
+        // when
+        registry.revoke("t1", Duration.ofMinutes(5));
+
+        // then
+        assertThat(registry.isRevoked("t1", "1", null)).isTrue();
+        assertThat(registry.isRevoked("revoked-by-other-node", "1", null)).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.isRevoked("token-" + i, "1", null)).isFalse();
+        }
+        assertThat(store.lookups.get()).isLessThan(10);
+
+        // when
+        registry.sync();
+
+        // then
+        assertThat(registry.isRevoked("t1", "1", null)).isTrue();
+        registry.destroy();
+    }
+
+    @Test
+    void revoke_all_should_reject_tokens_issued_before() throws Exception {
+        // given
+        val registry = new TokenRevocationRegistry(new LocalTokenRevocationStore(), Duration.ZERO, 1000, 0.001);
+        registry.afterPropertiesSet();
+        val now = System.currentTimeMillis();
+
+        // when
+        registry.revokeAll("1", Duration.ofDays(1));
+        val after = System.currentTimeMillis() + 1;
+
+        // then
+        assertThat(registry.isRevoked("a", "1", now - 10)).isTrue();
+        assertThat(registry.isRevoked("a", "1", null)).isTrue();
+        assertThat(registry.isRevoked("a", "1", now)).isTrue();
+        assertThat(registry.isRevoked("a", "1", after)).isFalse();
+        assertThat(registry.isRevoked("a", "2", now - 10)).isFalse();
+
+        // when
+        registry.sync();
+
+        // then
+        assertThat(registry.isRevoked("a", "1", now - 10)).isTrue();
+        registry.destroy();
+    }
+
+    static class CountingStore extends LocalTokenRevocationStore {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public boolean isRevoked(@Nonnull String tokenId) {
+            lookups.incrementAndGet();
+            return super.isRevoked(tokenId);
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.user;
+
+import jakarta.annotation.Nonnull;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class AuthorityCacheTest {
+
+    @Test
+    void authorities_should_be_cached_until_cleared() throws Exception {
+        // given
+        val loaded = new AtomicInteger();
+        val service = new MetaUserDetailsService() {
+            @Nonnull
+            @Override
+            public Collection<? extends GrantedAuthority> getAuthorities(@Nonnull UserDetails userDetails,
+                    Authentication authentication) {
+                loaded.incrementAndGet();
+                return AuthorityUtils.createAuthorityList("view:user");
+            }
+        };
+        val cache = new AuthorityCache(Duration.ofMinutes(1), 100, null);
+        cache.afterPropertiesSet();
+
+        try {
+            val user = service.create(User.withUsername("1").password("").build());
+            val other = service.create(User.withUsername("2").password("").build());
+
+            // when
+            user.getAuthorities();
+            user.getAuthorities();
+            other.getAuthorities();
+
+            // then
+            assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("view:user");
+            assertThat(loaded.get()).isEqualTo(2);
+
+            // when
+            service.clearCache(null, null, "1");
+            user.getAuthorities();
+            other.getAuthorities();
+
+            // then
+            assertThat(loaded.get()).isEqualTo(3);
+        }
+        finally {
+            cache.destroy();
+        }
+
+        // then
+        val user = service.create(User.withUsername("1").password("").build());
+        user.getAuthorities();
+        assertThat(loaded.get()).isEqualTo(4);
+    }
+
+}
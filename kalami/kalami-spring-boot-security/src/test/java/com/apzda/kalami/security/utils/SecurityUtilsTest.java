@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.security.utils;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class SecurityUtilsTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.remove();
+    }
+
+    @Test
+    void expression_root_should_be_reused_within_authentication() {
+        // given
+        val roleHierarchy = RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER");
+        new SecurityUtils.DefaultSecurityExpressionHandler(null, roleHierarchy, "ROLE_");
+        val authentication = UsernamePasswordAuthenticationToken.authenticated("1", "",
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "user.view"));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // when
+        val root = SecurityUtils.user();
+
+        // then
+        assertThat(SecurityUtils.user()).isSameAs(root);
+        assertThat(SecurityUtils.hasRole("ADMIN", "USER")).isTrue();
+        assertThat(SecurityUtils.hasRole("ROLE_USER")).isTrue();
+        assertThat(SecurityUtils.hasRole("ADMIN", "SA")).isFalse();
+        assertThat(SecurityUtils.hasAnyRole("SA", "USER")).isTrue();
+        assertThat(SecurityUtils.hasAuthority("user.view")).isTrue();
+        assertThat(SecurityUtils.hasAuthority("user.view", "user.edit")).isFalse();
+        assertThat(SecurityUtils.hasAnyAuthority("user.edit", "user.view")).isTrue();
+
+        // when
+        SecurityContextHolder.getContext()
+            .setAuthentication(UsernamePasswordAuthenticationToken.authenticated("2", "",
+                    AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // then
+        assertThat(SecurityUtils.user()).isNotSameAs(root);
+        assertThat(SecurityUtils.hasRole("ADMIN")).isFalse();
+        assertThat(SecurityUtils.hasRole("USER")).isTrue();
+    }
+
+    @Test
+    void expression_root_should_only_be_cached_within_request() {
+        // given
+        val roleHierarchy = RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER");
+        new SecurityUtils.DefaultSecurityExpressionHandler(null, roleHierarchy, "ROLE_");
+        SecurityContextHolder.getContext()
+            .setAuthentication(UsernamePasswordAuthenticationToken.authenticated("1", "",
+                    AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // when: 非请求线程
+        val root = SecurityUtils.user();
+
+        // then
+        assertThat(SecurityUtils.user()).isNotSameAs(root);
+        assertThat(SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.get()).isNull();
+
+        // given
+        val attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        // when
+        val cached = SecurityUtils.user();
+
+        // then
+        assertThat(SecurityUtils.user()).isSameAs(cached);
+
+        // when
+        attributes.requestCompleted();
+
+        // then
+        assertThat(SecurityUtils.DefaultSecurityExpressionHandler.ROOT_BOX.get()).isNull();
+    }
+
+}
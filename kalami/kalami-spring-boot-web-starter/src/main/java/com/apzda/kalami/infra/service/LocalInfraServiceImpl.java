@@ -21,27 +21,27 @@ import com.apzda.kalami.data.TempData;
 import com.apzda.kalami.service.CounterService;
 import com.apzda.kalami.service.DistributedLockService;
 import com.apzda.kalami.service.TempStorageService;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import lombok.Getter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Scheduler;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 
 import java.time.Duration;
-import java.util.*;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * 单机版基础服务. 过期由Caffeine的分层时间轮按条目管理，计数与存储均无全局锁.
+ *
  * @author ninggf (windywany@gmail.com)
  * @since 2025/05/16
  * @version 1.0.0
@@ -51,45 +51,17 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
 
     private static final Map<String, Lock> locks = new ConcurrentHashMap<>();
 
-    private final Cache<String, Object> storageCache;
-
-    private final LoadingCache<String, AtomicInteger> counterCache;
-
-    @Getter
-    private final TreeMap<Long, Set<String>> keys = new TreeMap<>();
+    private final Cache<String, Entry> storageCache;
 
-    private final Map<String, Long> pointers = new ConcurrentHashMap<>();
+    private final Cache<String, Entry> counterCache;
 
-    private final ScheduledExecutorService cleaner;
+    private final Policy.VarExpiration<String, Entry> storageExpiration;
 
     public LocalInfraServiceImpl(Duration tempMaxExpiredTime) {
-        storageCache = CacheBuilder.newBuilder().expireAfterAccess(tempMaxExpiredTime).build();
-        counterCache = CacheBuilder.newBuilder().expireAfterAccess(tempMaxExpiredTime).build(new CacheLoader<>() {
-            @Override
-            @NonNull
-            public AtomicInteger load(@NonNull String key) {
-                return new AtomicInteger(0);
-            }
-        });
-
-        cleaner = Executors.newScheduledThreadPool(1);
-
-        cleaner.scheduleWithFixedDelay(() -> {
-            try {
-                val current = DateUtil.currentSeconds();
-                var key = keys.firstKey();
-                while (key != null && key < current) {
-                    val ids = keys.remove(key);
-                    counterCache.invalidateAll(ids);
-                    storageCache.invalidateAll(ids);
-                    ids.forEach(pointers::remove);
-                    log.trace("Removed: {}", ids);
-                    key = keys.firstKey();
-                }
-            }
-            catch (Exception ignored) {
-            }
-        }, 1, 1, TimeUnit.SECONDS);
+        val expiry = new EntryExpiry(tempMaxExpiredTime.toNanos());
+        storageCache = Caffeine.newBuilder().expireAfter(expiry).scheduler(Scheduler.systemScheduler()).build();
+        counterCache = Caffeine.newBuilder().expireAfter(expiry).scheduler(Scheduler.systemScheduler()).build();
+        storageExpiration = storageCache.policy().expireVariably().orElseThrow();
     }
 
     @Override
@@ -98,9 +70,9 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
         val a = DateUtil.currentSeconds() / interval;
         val id = "counter." + key + a;
         try {
-            val ai = counterCache.get(id);
-            setExpired(id, Duration.ofSeconds(interval + 1));
-            return ai.addAndGet(1);
+            // 计数器的key按时间窗口划分，创建时设置过期时间即可
+            val entry = counterCache.get(id, k -> new Entry(new AtomicInteger(0), Duration.ofSeconds(interval + 1)));
+            return ((AtomicInteger) entry.value).incrementAndGet();
         }
         catch (Exception e) {
             log.warn("Cannot count (key={}, id={}) - {}", key, id, e.getMessage());
@@ -111,8 +83,7 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
     @Override
     public <T extends TempData> T save(@NonNull String id, @NonNull T data) throws Exception {
         val key = "storage." + id;
-        storageCache.put(key, data);
-        setExpired(key, data.getExpireTime());
+        storageCache.put(key, new Entry(data, data.getExpireTime()));
         return data;
     }
 
@@ -122,9 +93,9 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
     public <T extends TempData> Optional<T> load(@NonNull String id, @NonNull Class<T> tClass) {
         try {
             val key = "storage." + id;
-            val data = storageCache.getIfPresent(key);
-            if (data != null && data.getClass().isAssignableFrom(tClass)) {
-                return Optional.of((T) data);
+            val entry = storageCache.getIfPresent(key);
+            if (entry != null && entry.value.getClass().isAssignableFrom(tClass)) {
+                return Optional.of((T) entry.value);
             }
         }
         catch (Exception e) {
@@ -136,7 +107,7 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
     @Override
     public boolean exist(@NonNull String id) {
         val key = "storage." + id;
-        return pointers.containsKey(key);
+        return storageCache.asMap().containsKey(key);
     }
 
     @Override
@@ -147,23 +118,30 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
 
     @Override
     public void expire(@NonNull String id, Duration duration) {
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            return;
+        }
         val key = "storage." + id;
-        setExpired(key, duration);
+        val entry = storageCache.getIfPresent(key);
+        if (entry != null) {
+            entry.ttl = duration.toNanos();
+            storageExpiration.setExpiresAfter(key, duration);
+        }
     }
 
     @Override
     @NonNull
     public Duration getTtl(@NonNull String id) {
         val key = "storage." + id;
-        val ep = pointers.get(key);
-        if (ep == null) {
+        val entry = storageCache.asMap().get(key);
+        if (entry == null || entry.ttl <= 0) {
             return Duration.ZERO;
         }
-        val expire = ep - DateUtil.currentSeconds();
-        if (expire <= 0) {
+        val expire = storageExpiration.getExpiresAfter(key).orElse(Duration.ZERO);
+        if (expire.isNegative()) {
             return Duration.ZERO;
         }
-        return Duration.ofSeconds(expire);
+        return Duration.ofSeconds(expire.toSeconds());
     }
 
     @Override
@@ -180,36 +158,50 @@ public class LocalInfraServiceImpl implements CounterService, TempStorageService
     }
 
     public long getCounterSize() {
-        return counterCache.size();
+        counterCache.cleanUp();
+        return counterCache.estimatedSize();
     }
 
     public void shutdown() {
-        cleaner.shutdown();
+        storageCache.cleanUp();
+        counterCache.cleanUp();
     }
 
-    private void setExpired(String id, @NonNull Duration expired) {
-        if (expired.isZero() || expired.isNegative()) {
-            return;
+    private static final class Entry {
+
+        private final Object value;
+
+        /**
+         * 过期时间(纳秒)，不大于0时在最后一次访问后的最大过期时间后过期.
+         */
+        private volatile long ttl;
+
+        private Entry(Object value, Duration ttl) {
+            this.value = value;
+            this.ttl = ttl == null || ttl.isNegative() ? 0 : ttl.toNanos();
         }
 
-        val expiredTime = DateUtil.currentSeconds() + expired.toSeconds();
-        synchronized (keys) {
-            val ep = pointers.get(id);
-            if (ep != null) {
-                keys.computeIfPresent(ep, (k, v) -> {
-                    v.remove(id);
-                    return v;
-                });
-            }
-            pointers.put(id, expiredTime);
-            keys.compute(expiredTime, (key, v) -> {
-                if (v == null) {
-                    v = new HashSet<>();
-                }
-                v.add(id);
-                return v;
-            });
+    }
+
+    private record EntryExpiry(long maxIdle) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(@NonNull String key, @NonNull Entry entry, long currentTime) {
+            return entry.ttl > 0 ? entry.ttl : maxIdle;
         }
+
+        @Override
+        public long expireAfterUpdate(@NonNull String key, @NonNull Entry entry, long currentTime,
+                long currentDuration) {
+            return entry.ttl > 0 ? entry.ttl : maxIdle;
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull String key, @NonNull Entry entry, long currentTime,
+                long currentDuration) {
+            return entry.ttl > 0 ? currentDuration : maxIdle;
+        }
+
     }
 
 }
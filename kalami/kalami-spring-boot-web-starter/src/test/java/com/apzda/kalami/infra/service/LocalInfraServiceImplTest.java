@@ -89,6 +89,24 @@ class LocalInfraServiceImplTest {
         assertThat(duration.toSeconds()).isLessThanOrEqualTo(0);
     }
 
+    @Test
+    void expire_should_be_worked() throws Exception {
+        // given
+        val data = new TestData();
+        data.setName("expire");
+        LOCAL_INFRA_IMPL.save("biz2.expire", data);
+
+        // when
+        LOCAL_INFRA_IMPL.expire("biz2.expire", Duration.ofSeconds(1));
+        // then
+        assertThat(LOCAL_INFRA_IMPL.getTtl("biz2.expire").toSeconds()).isLessThanOrEqualTo(1);
+        // when
+        TimeUnit.MILLISECONDS.sleep(1500);
+        // then
+        assertThat(LOCAL_INFRA_IMPL.exist("biz2.expire")).isFalse();
+        assertThat(LOCAL_INFRA_IMPL.load("biz2.expire", TestData.class)).isNotPresent();
+    }
+
     @Test
     void lock_should_be_worked() throws Exception {
         // given
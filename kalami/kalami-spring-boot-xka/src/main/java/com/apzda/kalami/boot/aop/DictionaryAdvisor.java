@@ -20,14 +20,16 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.EnumUtil;
 import com.apzda.kalami.boot.config.XkaBootConfigProperties;
 import com.apzda.kalami.boot.dict.DictItem;
+import com.apzda.kalami.boot.dict.DictionaryCache;
+import com.apzda.kalami.boot.dict.DictionaryContext;
+import com.apzda.kalami.boot.dict.FillPlan;
 import com.apzda.kalami.boot.dict.TransformUtils;
 import com.apzda.kalami.boot.mapper.DictItemMapper;
 import com.apzda.kalami.data.Paged;
 import com.apzda.kalami.data.Response;
-import com.apzda.kalami.dictionary.Dict;
+import com.apzda.kalami.dictionary.Transformer;
 import com.apzda.kalami.utils.SanitizeUtils;
 import com.apzda.kalami.utils.StringUtil;
-import com.baomidou.mybatisplus.annotation.TableName;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
@@ -43,6 +45,8 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -50,14 +54,10 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 
-import static com.apzda.kalami.utils.SanitizeUtils.sanitize;
-
 /**
  * @author ninggf (windywany@gmail.com)
  * @version 1.0.0
@@ -68,22 +68,34 @@ import static com.apzda.kalami.utils.SanitizeUtils.sanitize;
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "kalami.boot.dictionary.enabled", havingValue = "true", matchIfMissing = true)
-public class DictionaryAdvisor implements ApplicationContextAware {
+public class DictionaryAdvisor implements ApplicationContextAware, SmartInitializingSingleton {
 
-    private final static ThreadLocal<Map<String, Map<String, Object>>> caches = new ThreadLocal<>();
+    private final static ThreadLocal<DictionaryContext> contexts = new ThreadLocal<>();
 
-    private final static ThreadLocal<Map<Enum<?>, Object>> enumCaches = new ThreadLocal<>();
+    /**
+     * 批量查询时<code>IN</code>中值的最大数量
+     */
+    private final static int BATCH_SIZE = 500;
 
     private final XkaBootConfigProperties properties;
 
     private final DictItemMapper dictItemMapper;
 
+    private final ObjectProvider<DictionaryCache> dictionaryCacheProvider;
+
+    private DictionaryCache dictionaryCache;
+
     @Override
     public void setApplicationContext(@Nonnull ApplicationContext applicationContext) throws BeansException {
         TransformUtils.setApplicationContext(applicationContext);
         SanitizeUtils.setApplicationContext(applicationContext);
     }
 
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.dictionaryCache = dictionaryCacheProvider.getIfAvailable();
+    }
+
     @Pointcut("execution(@com.apzda.kalami.annotation.Dictionary public com.apzda.kalami.data.Response *(..))")
     public void dictionaryPointcut() {
     }
@@ -93,10 +105,17 @@ public class DictionaryAdvisor implements ApplicationContextAware {
         val returnObj = pjp.proceed();
 
         if (returnObj instanceof Response<?> response) {
+            val context = new DictionaryContext();
+            val data = response.getData();
+            if (properties.getMode() == XkaBootConfigProperties.Mode.STREAM && data != null
+                    && !BeanUtils.isSimpleProperty(data.getClass()) && context.bind()) {
+                // 序列化时由DictionaryBeanSerializerModifier翻译
+                prefetch(context, getRecords(data));
+                return returnObj;
+            }
+
             try {
-                caches.set(new HashMap<>());
-                enumCaches.set(new HashMap<>());
-                val data = response.getData();
+                contexts.set(context);
                 val realReturn = new Response<>();
                 realReturn.setErrCode(response.getErrCode());
                 realReturn.setErrMsg(response.getErrMsg());
@@ -105,15 +124,18 @@ public class DictionaryAdvisor implements ApplicationContextAware {
                 realReturn.setHttpCode(response.getHttpCode());
 
                 if (data instanceof Collection<?> collection) {
+                    prefetch(context, collection);
                     realReturn.setData(collection.stream().map(this::fill).toList());
                 }
                 else if (data instanceof IPage<?> page) {
                     val newPage = Page.of(page.getCurrent(), page.getSize(), page.getTotal(), page.searchCount());
+                    prefetch(context, page.getRecords());
                     newPage.setRecords(page.getRecords().stream().map(this::fill).toList());
                     realReturn.setData(newPage);
                 }
                 else if (data instanceof Paged<?> page) {
                     val newPage = Page.of(page.getCurrent(), page.getSize(), page.getTotal(), true);
+                    prefetch(context, page.getRecords());
                     newPage.setRecords(page.getRecords().stream().map(this::fill).toList());
                     realReturn.setData(newPage);
                 }
@@ -126,8 +148,7 @@ public class DictionaryAdvisor implements ApplicationContextAware {
                 }
             }
             finally {
-                caches.remove();
-                enumCaches.remove();
+                contexts.remove();
             }
         }
 
@@ -143,107 +164,294 @@ public class DictionaryAdvisor implements ApplicationContextAware {
         if (BeanUtils.isSimpleProperty(data.getClass())) {
             return data;
         }
-        val map = new HashMap<String, Object>();
 
-        val properties = BeanUtil.getPropertyDescriptorMap(data.getClass(), false);
-        if (CollectionUtils.isEmpty(properties)) {
+        val plan = FillPlan.of(data.getClass());
+        if (plan.isEmpty()) {
             return data;
         }
 
-        val fields = com.apzda.kalami.utils.BeanUtils.getAllFieldsMap(data);
-
-        for (Map.Entry<String, PropertyDescriptor> property : properties.entrySet()) {
-            val name = property.getKey();
-            val pd = property.getValue();
-            val method = pd.getReadMethod();
-            if (method != null) {
-                try {
-                    val field = fields.get(name);
-                    val value = sanitize(field, method, method.invoke(data));
-                    if (value == null) {
-                        continue;
-                    }
-                    map.put(name, value);
-                    fillDict(field, method, name, value, map);
+        var context = contexts.get();
+        if (context == null) {
+            context = new DictionaryContext();
+        }
+        val map = new HashMap<String, Object>();
+        for (val property : plan.getProperties()) {
+            val name = property.getName();
+            try {
+                val value = property.read(data);
+                if (value == null) {
+                    continue;
                 }
-                catch (IllegalAccessException | InvocationTargetException e) {
-                    log.warn("Cannot get value of property [{}] from [{}]", name, data.getClass());
+                map.put(name, value);
+                if (property.getDict() != null) {
+                    map.put(getTextName(name), translate(context, property.getDict(), value));
                 }
             }
+            catch (RuntimeException e) {
+                log.warn("Cannot get value of property [{}] from [{}]", name, data.getClass());
+            }
         }
 
         return map;
     }
 
+    /**
+     * 字典翻译结果属性名.
+     */
+    @Nonnull
+    public String getTextName(@Nonnull String name) {
+        return name + StringUtils.defaultIfBlank(this.properties.getLabelSuffix(), "Text");
+    }
+
+    /**
+     * 翻译属性值.
+     * @param context 翻译缓存
+     * @param dict 属性的字典元数据
+     * @param value 属性值
+     * @return 翻译结果
+     */
+    @Nullable
     @SuppressWarnings("unchecked")
-    private void fillDict(Field field, @Nonnull Method method, String name, Object value,
-            @Nonnull HashMap<String, Object> map) {
-        Dict annotation = method.getAnnotation(Dict.class);
-        if (annotation == null && field != null) {
-            annotation = field.getAnnotation(Dict.class);
+    public Object translate(@Nonnull DictionaryContext context, @Nonnull FillPlan.DictSpec dict,
+            @Nonnull Object value) {
+        val label = dict.getLabel();
+        if (dict.isTransform()) {
+            val cache = context.cache(dict.getGroup());
+            val key = value.toString();
+            // 预取时已批量转换(结果可能为null)
+            if (cache.containsKey(key)) {
+                return cache.get(key);
+            }
+            val transformer = (Transformer<Object>) dict.getTransformer();
+            val dictVal = transformer != null ? transformer.transform(value, dict.isObject()) : null;
+            cache.put(key, dictVal);
+            return dictVal;
         }
 
-        if (annotation == null) {
-            return;
+        val table = dict.getTable();
+        val code = dict.getCode();
+
+        if (EnumUtil.isEnum(value)) {
+            return context.enums().computeIfAbsent((Enum<?>) value, (v) -> getTextFromEnum(v, label));
         }
-        val dictFieldName = name + StringUtils.defaultIfBlank(this.properties.getLabelSuffix(), "Text");
-        val label = annotation.value();
-        val transformerClz = annotation.transformer();
-        val object = "*".equals(label);
-        if (!transformerClz.isInterface()) {
-            val cache = caches.get().computeIfAbsent("transformer." + transformerClz, (key) -> new HashMap<>());
-            val dictVal = cache.computeIfAbsent(value.toString(), (key) -> {
-                val transformer = TransformUtils.getTransformer(transformerClz);
-                if (transformer != null) {
-                    return transformer.transform(value, object);
+        else if (StringUtils.isNotBlank(table)) {
+            val group = dict.getGroup();
+            val cache = context.cache(group);
+            val key = value.toString();
+            // 预取时未找到的值也缓存(为null)，不再逐个查询
+            if (cache.containsKey(key)) {
+                return cache.get(key);
+            }
+            Object dictText;
+            val shared = dictionaryCache != null ? dictionaryCache.getAll(table, group, List.of(key)) : null;
+            if (shared != null && shared.containsKey(key)) {
+                dictText = shared.get(key);
+            }
+            else {
+                dictText = dict.isRow() ? getRowFromTable(table, code, key) : getTextFromTable(table, code, key, label);
+                if (dictionaryCache != null) {
+                    dictionaryCache.putAll(table, group, Collections.singletonMap(key, dictText));
                 }
-                return null;
-            });
-            map.put(dictFieldName, dictVal);
+            }
+            cache.put(key, dictText);
+            return dictText;
+        }
+        else if (StringUtils.isNotBlank(code)) {
+            return context.cache("." + code, (key) -> getDictItems(code)).get(value.toString());
+        }
+        return StringUtils.isNotBlank(label) ? label : null;
+    }
+
+    @Nullable
+    private static Collection<?> getRecords(@Nonnull Object data) {
+        if (data instanceof Collection<?> collection) {
+            return collection;
+        }
+        else if (data instanceof IPage<?> page) {
+            return page.getRecords();
+        }
+        else if (data instanceof Paged<?> page) {
+            return page.getRecords();
+        }
+        return null;
+    }
+
+    /**
+     * 预取记录中需要从表中翻译的值: 先按(表, 字段, 标签)收集所有不同的值，再每组用<code>IN</code>批量查询一次.
+     * 转换器同样先收集所有不同的值，再通过{@link Transformer#transformAll(Collection, boolean)}批量转换.
+     */
+    private void prefetch(@Nonnull DictionaryContext context, @Nullable Collection<?> records) {
+        if (CollectionUtils.isEmpty(records)) {
             return;
         }
+        val groups = new HashMap<String, TableLookup>();
+        val transforms = new HashMap<String, TransformLookup>();
 
-        var table = annotation.table();
-        if (StringUtils.isBlank(table)) {
-            val entity = annotation.entity();
-            if (entity.isAnnotationPresent(TableName.class)) {
-                val ann = entity.getAnnotation(TableName.class);
-                table = ann.value();
+        for (val data : records) {
+            if (data == null || BeanUtils.isSimpleProperty(data.getClass())) {
+                continue;
+            }
+            val plan = FillPlan.of(data.getClass());
+            for (val property : plan.getTransformProperties()) {
+                try {
+                    val value = property.read(data);
+                    if (value == null) {
+                        continue;
+                    }
+                    val dict = property.getDict();
+                    transforms.computeIfAbsent(dict.getGroup(), (key) -> new TransformLookup(dict))
+                        .values()
+                        .putIfAbsent(value.toString(), value);
+                }
+                catch (RuntimeException e) {
+                    log.warn("Cannot get value of property [{}] from [{}]", property.getName(), data.getClass());
+                }
+            }
+            for (val property : plan.getTableProperties()) {
+                try {
+                    val value = property.read(data);
+                    if (value == null || EnumUtil.isEnum(value)) {
+                        continue;
+                    }
+                    val dict = property.getDict();
+                    groups.computeIfAbsent(dict.getGroup(), (key) -> new TableLookup(dict))
+                        .values()
+                        .add(value.toString());
+                }
+                catch (RuntimeException e) {
+                    log.warn("Cannot get value of property [{}] from [{}]", property.getName(), data.getClass());
+                }
             }
         }
-        val realTable = table;
-        val code = StringUtils.defaultIfBlank(annotation.code(), "id");
 
-        if (EnumUtil.isEnum(value)) {
-            val dictText = enumCaches.get().computeIfAbsent((Enum<?>) value, (v) -> getTextFromEnum(v, label));
-            map.put(dictFieldName, dictText);
+        for (val group : groups.entrySet()) {
+            val cache = context.cache(group.getKey());
+            val lookup = group.getValue();
+            lookup.values().removeAll(cache.keySet());
+            if (!lookup.values().isEmpty() && dictionaryCache != null) {
+                val shared = dictionaryCache.getAll(lookup.dict().getTable(), group.getKey(), lookup.values());
+                cache.putAll(shared);
+                lookup.values().removeAll(shared.keySet());
+            }
+            if (!lookup.values().isEmpty()) {
+                val loaded = loadFromTable(lookup);
+                cache.putAll(loaded);
+                if (dictionaryCache != null) {
+                    dictionaryCache.putAll(lookup.dict().getTable(), group.getKey(), loaded);
+                }
+            }
         }
-        else if (StringUtils.isNotBlank(table)) {
-            val cache = caches.get().computeIfAbsent(table + "." + code, (key) -> new HashMap<>());
-            val dictText = cache.computeIfAbsent(value.toString(), (key) -> {
-                if ("*".equals(label) || StringUtils.isBlank(label)) {
-                    return getRowFromTable(realTable, code, key);
+
+        for (val group : transforms.entrySet()) {
+            transformAll(context.cache(group.getKey()), group.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void transformAll(@Nonnull Map<String, Object> cache, @Nonnull TransformLookup lookup) {
+        val values = lookup.values();
+        values.keySet().removeAll(cache.keySet());
+        val dict = lookup.dict();
+        val transformer = (Transformer<Object>) dict.getTransformer();
+        if (values.isEmpty() || transformer == null) {
+            return;
+        }
+        try {
+            val transformed = transformer.transformAll(values.values(), dict.isObject());
+            values.forEach((key, value) -> cache.put(key, transformed.get(value)));
+        }
+        catch (RuntimeException e) {
+            // 填充时再逐个转换
+            log.warn("Cannot transform values by [{}]: {}", dict.getTransformerClass(), e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private Map<String, Object> loadFromTable(@Nonnull TableLookup lookup) {
+        val cache = new HashMap<String, Object>();
+        val dict = lookup.dict();
+        val table = dict.getTable();
+        val code = dict.getCode();
+        val label = dict.getLabel();
+        val row = dict.isRow();
+        val values = new ArrayList<>(lookup.values());
+
+        for (int i = 0; i < values.size(); i += BATCH_SIZE) {
+            val ids = values.subList(i, Math.min(i + BATCH_SIZE, values.size()));
+            val requested = new HashSet<>(ids);
+            // 数据库返回但与请求值字面不相等的记录数(如排序规则、'007'与INT 7)
+            var unmatched = 0;
+            if (row) {
+                for (val r : dictItemMapper.getDictRows(table, code, ids)) {
+                    val id = getColumnValue(r, code);
+                    if (id != null && requested.contains(id.toString())) {
+                        cache.put(id.toString(), toCamelMap(r));
+                    }
+                    else {
+                        unmatched++;
+                    }
                 }
-                else {
-                    return getTextFromTable(realTable, code, key, label);
+            }
+            else {
+                for (val item : dictItemMapper.getDictLabels(table, code, label, ids)) {
+                    if (item.getVal() != null && requested.contains(item.getVal())) {
+                        cache.put(item.getVal(), item.getLabel());
+                    }
+                    else {
+                        unmatched++;
+                    }
                 }
-            });
-            map.put(dictFieldName, dictText);
-        }
-        else if (StringUtils.isNotBlank(code)) {
-            val cache = caches.get().computeIfAbsent("." + code, (key) -> {
-                val kv = new HashMap<String, Object>();
-                val items = getTextFromDictItemTable(code);
-                for (DictItem item : items) {
-                    kv.put(item.getVal(), item.getLabel());
+            }
+            if (unmatched > 0) {
+                // 无法按字面值对应的记录交由数据库逐个匹配
+                for (val value : ids) {
+                    if (!cache.containsKey(value)) {
+                        cache.put(value, row ? getRowFromTable(table, code, value)
+                                : getTextFromTable(table, code, value, label));
+                    }
                 }
-                return kv;
-            });
-            map.put(dictFieldName, cache.get(value.toString()));
+            }
+        }
+
+        for (val value : values) {
+            cache.putIfAbsent(value, row ? Collections.emptyMap() : null);
+        }
+        return cache;
+    }
+
+    @Nullable
+    private static Object getColumnValue(@Nonnull Map<String, Object> row, @Nonnull String column) {
+        val value = row.get(column);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, Object> kv : row.entrySet()) {
+            if (column.equalsIgnoreCase(kv.getKey())) {
+                return kv.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private Map<String, Object> getDictItems(String code) {
+        val shared = dictionaryCache;
+        if (shared != null) {
+            val items = shared.getItems(code);
+            if (items != null) {
+                return items;
+            }
+        }
+
+        val kv = new HashMap<String, Object>();
+        val items = getTextFromDictItemTable(code);
+        for (DictItem item : items) {
+            kv.put(item.getVal(), item.getLabel());
         }
-        else if (StringUtils.isNotBlank(label)) {
-            map.put(dictFieldName, label);
+        if (shared != null) {
+            shared.putItems(code, kv);
         }
+        return kv;
     }
 
     private List<DictItem> getTextFromDictItemTable(String code) {
@@ -272,6 +480,11 @@ public class DictionaryAdvisor implements ApplicationContextAware {
             return Collections.emptyMap();
         }
 
+        return toCamelMap(row);
+    }
+
+    @Nonnull
+    private static Map<String, Object> toCamelMap(@Nonnull Map<String, Object> row) {
         Map<String, Object> map = new HashMap<>(row.size());
         row.forEach((k, v) -> {
             map.put(StringUtil.toCamel(k), v);
@@ -279,6 +492,22 @@ public class DictionaryAdvisor implements ApplicationContextAware {
         return map;
     }
 
+    private record TableLookup(FillPlan.DictSpec dict, Set<String> values) {
+
+        TableLookup(FillPlan.DictSpec dict) {
+            this(dict, new LinkedHashSet<>());
+        }
+
+    }
+
+    private record TransformLookup(FillPlan.DictSpec dict, Map<String, Object> values) {
+
+        TransformLookup(FillPlan.DictSpec dict) {
+            this(dict, new LinkedHashMap<>());
+        }
+
+    }
+
     private static Object getTextFromEnum(@Nonnull Enum<?> value, String label) {
         val type = value.getClass();
         val fields = com.apzda.kalami.utils.BeanUtils.getAllFieldsMap(value);
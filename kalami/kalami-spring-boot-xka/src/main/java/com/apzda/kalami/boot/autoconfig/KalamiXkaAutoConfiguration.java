@@ -16,16 +16,26 @@
  */
 package com.apzda.kalami.boot.autoconfig;
 
+import com.apzda.kalami.boot.aop.DictionaryAdvisor;
 import com.apzda.kalami.boot.config.XkaBootConfigProperties;
+import com.apzda.kalami.boot.dict.DictionaryBeanSerializerModifier;
+import com.apzda.kalami.boot.dict.DictionaryCache;
 import com.apzda.kalami.boot.utils.DataSourceUtils;
 import com.apzda.kalami.boot.utils.DictionaryUtils;
+import com.apzda.kalami.dictionary.DictionaryCacheStore;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import jakarta.annotation.Nonnull;
+import lombok.val;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
 import javax.sql.DataSource;
@@ -39,6 +49,25 @@ import javax.sql.DataSource;
 @Import(KalamiXkaConfiguration.class)
 public class KalamiXkaAutoConfiguration implements ApplicationContextAware {
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "kalami.boot.dictionary.cache", name = "enabled", havingValue = "true")
+    DictionaryCache kalamiDictionaryCache(XkaBootConfigProperties properties,
+            ObjectProvider<DictionaryCacheStore> dictionaryCacheStore) {
+        val config = properties.getCache();
+        return new DictionaryCache(config.getTtl(), config.getNegativeTtl(), config.getMaximumSize(),
+                dictionaryCacheStore.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "kalamiDictionaryModule")
+    @ConditionalOnProperty(prefix = "kalami.boot.dictionary", name = "mode", havingValue = "stream")
+    SimpleModule kalamiDictionaryModule(ObjectProvider<DictionaryAdvisor> dictionaryAdvisor) {
+        val module = new SimpleModule("kalamiDictionaryModule");
+        module.setSerializerModifier(new DictionaryBeanSerializerModifier(dictionaryAdvisor));
+        return module;
+    }
+
     @Override
     public void setApplicationContext(@Nonnull ApplicationContext applicationContext) throws BeansException {
         DataSourceUtils.setDataSource(applicationContext.getBean(DataSource.class));
@@ -19,6 +19,8 @@ package com.apzda.kalami.boot.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * @author ninggf (windywany@gmail.com)
  * @version 1.0.0
@@ -43,4 +45,49 @@ public class XkaBootConfigProperties {
 
     private String labelSuffix = "Text";
 
+    /**
+     * 字典填充方式
+     */
+    private Mode mode = Mode.MAP;
+
+    private CacheConfig cache = new CacheConfig();
+
+    public enum Mode {
+
+        /**
+         * 将记录转换为Map后填充翻译结果
+         */
+        MAP,
+        /**
+         * 序列化时输出翻译结果，不再生成中间Map
+         */
+        STREAM
+
+    }
+
+    @Data
+    public static class CacheConfig {
+
+        /**
+         * 是否跨请求缓存字典
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存时间
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * 未找到的字典项的缓存时间，不超过ttl
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        /**
+         * 本地缓存的最大数量
+         */
+        private long maximumSize = 10000;
+
+    }
+
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import com.apzda.kalami.boot.aop.DictionaryAdvisor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 流式字典填充: 序列化时输出{@code @Sanitized}消毒后的值及{@code @Dict}翻译结果(<code>xxxText</code>)，
+ * 不再将记录转换为Map.
+ * <p/>
+ * 仅在{@code @Dictionary}方法所在请求中(即当前请求绑定了{@link DictionaryContext})生效，其它时候按原样输出.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class DictionaryBeanSerializerModifier extends BeanSerializerModifier {
+
+    private final ObjectProvider<DictionaryAdvisor> advisorProvider;
+
+    public DictionaryBeanSerializerModifier(@Nonnull ObjectProvider<DictionaryAdvisor> advisorProvider) {
+        this.advisorProvider = advisorProvider;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+            List<BeanPropertyWriter> beanProperties) {
+        val type = beanDesc.getBeanClass();
+        if (BeanUtils.isSimpleProperty(type)) {
+            return beanProperties;
+        }
+
+        val properties = new HashMap<String, FillPlan.Property>();
+        try {
+            for (val property : FillPlan.of(type).getProperties()) {
+                if (property.getDict() != null || property.getSanitized() != null) {
+                    properties.put(property.getName(), property);
+                }
+            }
+        }
+        catch (Exception e) {
+            log.warn("Cannot create fill plan of [{}]: {}", type, e.getMessage());
+            return beanProperties;
+        }
+        if (properties.isEmpty()) {
+            return beanProperties;
+        }
+
+        // 属性可能通过@JsonProperty等改名
+        val internalNames = new HashMap<String, String>();
+        for (BeanPropertyDefinition definition : beanDesc.findProperties()) {
+            internalNames.put(definition.getName(), definition.getInternalName());
+        }
+
+        val writers = new ArrayList<BeanPropertyWriter>(beanProperties.size());
+        for (val writer : beanProperties) {
+            val property = properties.get(internalNames.getOrDefault(writer.getName(), writer.getName()));
+            writers.add(property == null ? writer : new DictionaryPropertyWriter(writer, property, advisorProvider));
+        }
+        return writers;
+    }
+
+    static class DictionaryPropertyWriter extends BeanPropertyWriter {
+
+        private final FillPlan.Property property;
+
+        private final ObjectProvider<DictionaryAdvisor> advisorProvider;
+
+        DictionaryPropertyWriter(BeanPropertyWriter base, FillPlan.Property property,
+                ObjectProvider<DictionaryAdvisor> advisorProvider) {
+            super(base);
+            this.property = property;
+            this.advisorProvider = advisorProvider;
+        }
+
+        DictionaryPropertyWriter(DictionaryPropertyWriter base, PropertyName name) {
+            super(base, name);
+            this.property = base.property;
+            this.advisorProvider = base.advisorProvider;
+        }
+
+        @Override
+        protected BeanPropertyWriter _new(PropertyName newName) {
+            return new DictionaryPropertyWriter(this, newName);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            val context = DictionaryContext.current();
+            val advisor = context != null ? advisorProvider.getIfAvailable() : null;
+            if (advisor == null) {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+
+            Object value;
+            try {
+                value = property.read(bean);
+            }
+            catch (RuntimeException e) {
+                log.warn("Cannot get value of property [{}] from [{}]", property.getName(), bean.getClass());
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+
+            if (value == null || property.getSanitized() == null) {
+                super.serializeAsField(bean, gen, prov);
+            }
+            else {
+                serializeSanitized(value, gen, prov);
+            }
+
+            val dict = property.getDict();
+            if (value != null && dict != null) {
+                val text = advisor.translate(context, dict, value);
+                if (text != null || !_suppressNulls) {
+                    prov.defaultSerializeField(advisor.getTextName(getName()), text, gen);
+                }
+            }
+        }
+
+        /**
+         * 与{@link BeanPropertyWriter#serializeAsField}一致地输出消毒后的值: 使用属性的序列化器(含{@code @JsonFormat}、
+         * {@code @JsonSerialize})并遵循包含规则. 消毒结果与声明类型不符时按实际类型查找序列化器.
+         */
+        private void serializeSanitized(Object value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            JsonSerializer<Object> ser = _serializer;
+            if (ser == null || !_declaredType.getRawClass().isInstance(value)) {
+                val cls = value.getClass();
+                val map = _dynamicSerializers;
+                ser = map.serializerFor(cls);
+                if (ser == null) {
+                    ser = _findAndAddDynamic(map, cls, prov);
+                }
+            }
+            if (_suppressableValue != null) {
+                if (MARKER_FOR_EMPTY == _suppressableValue) {
+                    if (ser.isEmpty(prov, value)) {
+                        return;
+                    }
+                }
+                else if (_suppressableValue.equals(value)) {
+                    return;
+                }
+            }
+            gen.writeFieldName(_name);
+            if (_typeSerializer == null) {
+                ser.serialize(value, gen, prov);
+            }
+            else {
+                ser.serializeWithType(value, gen, prov, _typeSerializer);
+            }
+        }
+
+    }
+
+}
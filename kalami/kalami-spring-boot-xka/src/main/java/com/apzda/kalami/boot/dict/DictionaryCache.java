@@ -0,0 +1,295 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import com.apzda.kalami.dictionary.DictionaryCacheStore;
+import com.apzda.kalami.event.DictionaryChangedEvent;
+import com.apzda.kalami.tenant.TenantManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 跨请求共享的字典缓存.
+ * <p/>
+ * 一级为本地Caffeine缓存(按数量与时间淘汰)，可选的二级为{@link DictionaryCacheStore}. 字典表按字典编码缓存整组字典项，
+ * 业务表按(表, 字段, 标签)+值缓存，已确认不存在的值同样缓存但使用较短的<code>negativeTtl</code>，以便新增的数据尽快可见.
+ * 字典查询经过租户插件，因此缓存键包含当前租户: <code>items:{编码}:{租户}:</code>与
+ * <code>table:{表}:{租户}:{分组}:{值}</code>. 收到{@link DictionaryChangedEvent}时清除相应(租户的)缓存.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class DictionaryCache implements ApplicationListener<DictionaryChangedEvent>, InitializingBean {
+
+    static final String ITEMS_PREFIX = "items:";
+
+    static final String TABLE_PREFIX = "table:";
+
+    static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    private static final Object MISSING = new Object();
+
+    private final Cache<String, Object> cache;
+
+    private final Duration ttl;
+
+    private final Duration negativeTtl;
+
+    private final DictionaryCacheStore store;
+
+    private final Supplier<String> tenantResolver;
+
+    public DictionaryCache(@Nonnull Duration ttl, long maximumSize, @Nullable DictionaryCacheStore store) {
+        this(ttl, DEFAULT_NEGATIVE_TTL, maximumSize, store);
+    }
+
+    public DictionaryCache(@Nonnull Duration ttl, @Nonnull Duration negativeTtl, long maximumSize,
+            @Nullable DictionaryCacheStore store) {
+        this(ttl, negativeTtl, maximumSize, store, TenantManager::tenantId);
+    }
+
+    DictionaryCache(@Nonnull Duration ttl, @Nonnull Duration negativeTtl, long maximumSize,
+            @Nullable DictionaryCacheStore store, @Nonnull Supplier<String> tenantResolver) {
+        this.tenantResolver = tenantResolver;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl.compareTo(ttl) < 0 ? negativeTtl : ttl;
+        this.store = store;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(Expiry.<String, Object>writing((key, value) -> isNegative(value) ? this.negativeTtl : ttl))
+            .build();
+    }
+
+    /**
+     * 字典编码对应的字典项(值 -> 标签)，未缓存时返回null.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getItems(@Nonnull String code) {
+        val key = itemsKey(code);
+        val value = getAll(List.of(key)).get(key);
+        return value instanceof Map<?, ?> items ? (Map<String, Object>) items : null;
+    }
+
+    public void putItems(@Nonnull String code, @Nonnull Map<String, Object> items) {
+        put(Map.of(itemsKey(code), items));
+    }
+
+    /**
+     * 批量读取业务表翻译结果，只返回已缓存的值(值为null表示已确认不存在).
+     * @param table 业务表
+     * @param group 由表、字段与标签组成的分组
+     */
+    @Nonnull
+    public Map<String, Object> getAll(@Nonnull String table, @Nonnull String group,
+            @Nonnull Collection<String> values) {
+        val prefix = tablePrefix(table) + group + ":";
+        val keys = new ArrayList<String>(values.size());
+        for (val value : values) {
+            keys.add(prefix + value);
+        }
+        val found = getAll(keys);
+        val result = new HashMap<String, Object>(found.size());
+        found.forEach((key, value) -> result.put(key.substring(prefix.length()), value));
+        return result;
+    }
+
+    public void putAll(@Nonnull String table, @Nonnull String group, @Nonnull Map<String, Object> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        val prefix = tablePrefix(table) + group + ":";
+        val entries = new HashMap<String, Object>(values.size());
+        values.forEach((value, text) -> entries.put(prefix + value, text));
+        put(entries);
+    }
+
+    /**
+     * 清除所有租户字典编码的缓存(集群内)
+     */
+    public void evictCode(@Nonnull String code) {
+        evictCode(code, null);
+    }
+
+    /**
+     * 清除字典编码的缓存(集群内)
+     * @param tenantId 租户，为null时清除所有租户的缓存
+     */
+    public void evictCode(@Nonnull String code, @Nullable String tenantId) {
+        evict(ITEMS_PREFIX + code + ":" + (tenantId != null ? tenant(tenantId) : ""));
+    }
+
+    /**
+     * 清除所有租户业务表的全部翻译缓存(集群内)
+     */
+    public void evictTable(@Nonnull String table) {
+        evictTable(table, null);
+    }
+
+    /**
+     * 清除业务表的全部翻译缓存(集群内)
+     * @param tenantId 租户，为null时清除所有租户的缓存
+     */
+    public void evictTable(@Nonnull String table, @Nullable String tenantId) {
+        evict(TABLE_PREFIX + table + ":" + (tenantId != null ? tenant(tenantId) : ""));
+    }
+
+    /**
+     * 清除全部字典缓存(集群内)
+     */
+    public void evictAll() {
+        evict(null);
+    }
+
+    @Override
+    public void onApplicationEvent(@Nonnull DictionaryChangedEvent event) {
+        val table = event.getTable();
+        val code = event.getCode();
+        if (StringUtils.isBlank(table) && StringUtils.isBlank(code)) {
+            evictAll();
+            return;
+        }
+        if (StringUtils.isNotBlank(table)) {
+            evictTable(table, event.getTenantId());
+        }
+        if (StringUtils.isNotBlank(code)) {
+            evictCode(code, event.getTenantId());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (store != null) {
+            store.subscribe(this::evictLocal);
+        }
+    }
+
+    @Nonnull
+    private Map<String, Object> getAll(@Nonnull Collection<String> keys) {
+        val found = new HashMap<String, Object>();
+        val misses = new ArrayList<String>();
+        for (val key : keys) {
+            val value = cache.getIfPresent(key);
+            if (value == null) {
+                misses.add(key);
+            }
+            else {
+                found.put(key, value == MISSING ? null : value);
+            }
+        }
+
+        if (store != null && !misses.isEmpty()) {
+            try {
+                val stored = store.getAll(misses);
+                stored.forEach((key, value) -> {
+                    cache.put(key, value == null ? MISSING : value);
+                    found.put(key, value);
+                });
+            }
+            catch (Exception e) {
+                log.warn("Cannot load dictionaries from {}: {}", store.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+
+        return found;
+    }
+
+    private void put(@Nonnull Map<String, Object> entries) {
+        entries.forEach((key, value) -> cache.put(key, value == null ? MISSING : value));
+        if (store != null) {
+            try {
+                val found = new HashMap<String, Object>(entries.size());
+                val missing = new HashMap<String, Object>();
+                entries.forEach((key, value) -> (isNegative(value) ? missing : found).put(key, value));
+                if (!found.isEmpty()) {
+                    store.putAll(found, ttl);
+                }
+                if (!missing.isEmpty()) {
+                    store.putAll(missing, negativeTtl);
+                }
+            }
+            catch (Exception e) {
+                log.warn("Cannot save dictionaries to {}: {}", store.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void evict(@Nullable String prefix) {
+        evictLocal(prefix);
+        if (store != null) {
+            try {
+                store.evict(prefix);
+            }
+            catch (Exception e) {
+                log.warn("Cannot evict dictionaries from {}: {}", store.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void evictLocal(@Nullable String prefix) {
+        if (prefix == null) {
+            cache.invalidateAll();
+        }
+        else {
+            cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    @Nonnull
+    private String itemsKey(@Nonnull String code) {
+        return ITEMS_PREFIX + code + ":" + tenant(tenantResolver.get());
+    }
+
+    @Nonnull
+    private String tablePrefix(@Nonnull String table) {
+        return TABLE_PREFIX + table + ":" + tenant(tenantResolver.get());
+    }
+
+    /**
+     * 租户作为键的一段(转义其中的分隔符)，无租户时为空串
+     */
+    @Nonnull
+    private static String tenant(@Nullable String tenantId) {
+        return (tenantId == null ? "" : tenantId.replace("%", "%25").replace(":", "%3A")) + ":";
+    }
+
+    /**
+     * 未找到的字典项: 标签为null或整行为空
+     */
+    private static boolean isNegative(@Nullable Object value) {
+        return value == null || value == MISSING || (value instanceof Map<?, ?> map && map.isEmpty());
+    }
+
+}
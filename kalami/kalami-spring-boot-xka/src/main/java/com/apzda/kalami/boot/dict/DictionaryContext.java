@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.val;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 一次字典填充(通常为一个请求)内的翻译缓存.
+ * <p/>
+ * 流式填充时，上下文在{@code @Dictionary}方法返回后绑定到当前请求，序列化响应时使用.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public final class DictionaryContext {
+
+    private static final String ATTR_NAME = DictionaryContext.class.getName();
+
+    private final Map<String, Map<String, Object>> caches = new HashMap<>();
+
+    private final Map<Enum<?>, Object> enums = new HashMap<>();
+
+    /**
+     * 指定分组的缓存(值 -> 翻译结果).
+     */
+    @Nonnull
+    public Map<String, Object> cache(@Nonnull String group) {
+        return caches.computeIfAbsent(group, (key) -> new HashMap<>());
+    }
+
+    /**
+     * 指定分组的缓存，不存在时通过<code>loader</code>加载.
+     */
+    @Nonnull
+    public Map<String, Object> cache(@Nonnull String group,
+            @Nonnull Function<String, Map<String, Object>> loader) {
+        return caches.computeIfAbsent(group, loader);
+    }
+
+    @Nonnull
+    public Map<Enum<?>, Object> enums() {
+        return enums;
+    }
+
+    /**
+     * 将上下文绑定到当前请求.
+     * @return 当前线程没有请求时返回false
+     */
+    public boolean bind() {
+        val attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        attributes.setAttribute(ATTR_NAME, this, RequestAttributes.SCOPE_REQUEST);
+        return true;
+    }
+
+    /**
+     * 当前请求绑定的上下文.
+     */
+    @Nullable
+    public static DictionaryContext current() {
+        val attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (DictionaryContext) attributes.getAttribute(ATTR_NAME, RequestAttributes.SCOPE_REQUEST);
+    }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import cn.hutool.core.bean.BeanUtil;
+import com.apzda.kalami.dictionary.Dict;
+import com.apzda.kalami.dictionary.Transformer;
+import com.apzda.kalami.sanitizer.Sanitized;
+import com.apzda.kalami.sanitizer.Sanitizer;
+import com.apzda.kalami.utils.BeanUtils;
+import com.apzda.kalami.utils.SanitizeUtils;
+import com.baomidou.mybatisplus.annotation.TableName;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 类的字典填充计划.
+ * <p/>
+ * 每个类只解析一次: 可读属性的顺序、属性读取器(优先通过LambdaMetafactory生成，失败时退回到MethodHandle)、
+ * {@link Sanitized}消毒器及{@link Dict}元数据(包括转换器实例)均预先解析，填充时不再进行反射扫描.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+@Getter
+public final class FillPlan {
+
+    /**
+     * 计划挂在类上，类(及其类加载器)卸载时一并回收
+     */
+    private static final ClassValue<FillPlan> plans = new ClassValue<>() {
+        @Override
+        protected FillPlan computeValue(@Nonnull Class<?> type) {
+            return new FillPlan(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    /**
+     * 全部可读属性(按属性描述符顺序)
+     */
+    private final List<Property> properties;
+
+    /**
+     * 需要从业务表翻译的属性
+     */
+    private final List<Property> tableProperties;
+
+    /**
+     * 通过转换器转换的属性
+     */
+    private final List<Property> transformProperties;
+
+    private FillPlan(@Nonnull Class<?> type) {
+        this.type = type;
+        val descriptors = BeanUtil.getPropertyDescriptorMap(type, false);
+        val fields = BeanUtils.getAllFieldsMap(type);
+        val properties = new ArrayList<Property>(descriptors.size());
+        val tableProperties = new ArrayList<Property>();
+        val transformProperties = new ArrayList<Property>();
+
+        for (val pd : descriptors.entrySet()) {
+            val method = pd.getValue().getReadMethod();
+            if (method == null) {
+                continue;
+            }
+            val name = pd.getKey();
+            val field = fields.get(name);
+            val property = new Property(name, getter(type, method), getAnnotation(method, field, Sanitized.class),
+                    DictSpec.of(getAnnotation(method, field, Dict.class)));
+            properties.add(property);
+            if (property.dict != null && property.dict.isTable()) {
+                tableProperties.add(property);
+            }
+            else if (property.dict != null && property.dict.isTransform()) {
+                transformProperties.add(property);
+            }
+        }
+
+        this.properties = Collections.unmodifiableList(properties);
+        this.tableProperties = Collections.unmodifiableList(tableProperties);
+        this.transformProperties = Collections.unmodifiableList(transformProperties);
+    }
+
+    /**
+     * 获取类的填充计划.
+     */
+    @Nonnull
+    public static FillPlan of(@Nonnull Class<?> type) {
+        return plans.get(type);
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    @Nullable
+    private static <A extends Annotation> A getAnnotation(@Nonnull Method method,
+            @Nullable Field field, @Nonnull Class<A> annotationType) {
+        A annotation = method.getAnnotation(annotationType);
+        if (annotation == null && field != null) {
+            annotation = field.getAnnotation(annotationType);
+        }
+        return annotation;
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(@Nonnull Class<?> type, @Nonnull Method method) {
+        MethodHandle handle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        }
+        catch (IllegalAccessException e) {
+            log.trace("Cannot access [{}] of [{}] via MethodHandle, use reflection: {}", method.getName(), type,
+                    e.getMessage());
+            method.trySetAccessible();
+            return bean -> {
+                try {
+                    return method.invoke(bean);
+                }
+                catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+            try {
+                val site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class), handle,
+                        MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            }
+            catch (Throwable e) {
+                log.trace("Cannot create getter for [{}] of [{}], use MethodHandle: {}", method.getName(), type,
+                        e.getMessage());
+            }
+        }
+
+        val generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return generic.invokeExact(bean);
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * 属性填充信息
+     */
+    @Getter
+    public static final class Property {
+
+        private final String name;
+
+        private final Function<Object, Object> getter;
+
+        private final Sanitized sanitized;
+
+        private final DictSpec dict;
+
+        Property(String name, Function<Object, Object> getter, Sanitized sanitized, DictSpec dict) {
+            this.name = name;
+            this.getter = getter;
+            this.sanitized = sanitized;
+            this.dict = dict;
+        }
+
+        /**
+         * 读取属性值，有{@link Sanitized}注解时返回消毒后的值.
+         */
+        @Nullable
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public Object read(@Nonnull Object bean) {
+            val value = getter.apply(bean);
+            if (value == null || sanitized == null) {
+                return value;
+            }
+            // 消毒器实例已缓存在SanitizeUtils中
+            Sanitizer sanitizer = SanitizeUtils.getSanitizer(sanitized.sanitizer());
+            if (sanitizer != null && sanitizer.supports(value)) {
+                return sanitizer.sanitize(value, sanitized.value());
+            }
+            return value;
+        }
+
+    }
+
+    /**
+     * 预解析的{@link Dict}元数据
+     */
+    @Getter
+    public static final class DictSpec {
+
+        private final Dict annotation;
+
+        /**
+         * {@link Dict#value()}
+         */
+        private final String label;
+
+        /**
+         * 关联字段，未指定时为<code>id</code>
+         */
+        private final String code;
+
+        /**
+         * 业务表(table或entity上的{@link TableName})
+         */
+        private final String table;
+
+        private final Class<? extends Transformer> transformerClass;
+
+        /**
+         * 是否返回整个对象(整行)
+         */
+        private final boolean object;
+
+        /**
+         * 翻译结果的缓存分组: 业务表为(表, 字段, 标签)，转换器为(转换器, 是否返回整个对象)
+         */
+        private final String group;
+
+        private DictSpec(@Nonnull Dict annotation) {
+            this.annotation = annotation;
+            this.label = annotation.value();
+            this.code = StringUtils.defaultIfBlank(annotation.code(), "id");
+            this.table = getTable(annotation);
+            this.transformerClass = annotation.transformer();
+            this.object = "*".equals(label);
+            if (!transformerClass.isInterface()) {
+                this.group = "transformer." + transformerClass.getName() + (object ? "#*" : "");
+            }
+            else {
+                this.group = StringUtils.isNotBlank(table) ? groupOf(table, code, label) : null;
+            }
+        }
+
+        @Nullable
+        static DictSpec of(@Nullable Dict annotation) {
+            return annotation == null ? null : new DictSpec(annotation);
+        }
+
+        /**
+         * 是否通过转换器转换
+         */
+        public boolean isTransform() {
+            return !transformerClass.isInterface();
+        }
+
+        /**
+         * 是否从业务表翻译
+         */
+        public boolean isTable() {
+            return !isTransform() && group != null;
+        }
+
+        /**
+         * 从业务表翻译时是否返回整行数据
+         */
+        public boolean isRow() {
+            return object || StringUtils.isBlank(label);
+        }
+
+        /**
+         * 转换器实例. 计划按类全局缓存，实例每次经{@link TransformUtils}(已缓存)解析，不随计划固定.
+         */
+        @Nullable
+        public Transformer<?> getTransformer() {
+            return isTransform() ? TransformUtils.getTransformer(transformerClass) : null;
+        }
+
+        @Nonnull
+        public static String groupOf(String table, String code, String label) {
+            return table + "." + code + "#" + StringUtils.defaultIfBlank(label, "*");
+        }
+
+        @Nullable
+        private static String getTable(@Nonnull Dict annotation) {
+            var table = annotation.table();
+            if (StringUtils.isBlank(table)) {
+                val entity = annotation.entity();
+                if (entity.isAnnotationPresent(TableName.class)) {
+                    val ann = entity.getAnnotation(TableName.class);
+                    table = ann.value();
+                }
+            }
+            return table;
+        }
+
+    }
+
+}
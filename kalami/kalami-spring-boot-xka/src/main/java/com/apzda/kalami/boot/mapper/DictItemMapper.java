@@ -22,6 +22,7 @@ import com.baomidou.mybatisplus.core.toolkit.sql.SqlInjectionUtils;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -97,4 +98,40 @@ public interface DictItemMapper {
     @Select("SELECT * from ${table} WHERE ${idField} = #{id} LIMIT 1")
     Map<String, Object> getDictRow(String table, String idField, String id);
 
+    @Select("""
+            <script>SELECT ${labelField} AS label, ${idField} AS val from ${table} WHERE ${idField} IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach></script>""")
+    List<DictItem> getDictItemLabels(String table, String idField, Collection<String> ids, String labelField);
+
+    /**
+     * 批量查询标签, 返回的{@link DictItem#getVal()}为<code>idField</code>的值.
+     */
+    default List<DictItem> getDictLabels(String table, String idField, String labelField, Collection<String> ids) {
+        if (SqlInjectionUtils.check(table)) {
+            throw new MybatisPlusException("Discovering SQL injection table: " + table);
+        }
+        if (SqlInjectionUtils.check(idField)) {
+            throw new MybatisPlusException("Discovering SQL injection column: " + idField);
+        }
+        if (SqlInjectionUtils.check(labelField)) {
+            throw new MybatisPlusException("Discovering SQL injection column: " + labelField);
+        }
+        return getDictItemLabels(table, idField, ids, labelField);
+    }
+
+    @Select("""
+            <script>SELECT * from ${table} WHERE ${idField} IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach></script>""")
+    List<Map<String, Object>> getDictRowList(String table, String idField, Collection<String> ids);
+
+    default List<Map<String, Object>> getDictRows(String table, String idField, Collection<String> ids) {
+        if (SqlInjectionUtils.check(table)) {
+            throw new MybatisPlusException("Discovering SQL injection table: " + table);
+        }
+        if (SqlInjectionUtils.check(idField)) {
+            throw new MybatisPlusException("Discovering SQL injection column: " + idField);
+        }
+        return getDictRowList(table, idField, ids);
+    }
+
 }
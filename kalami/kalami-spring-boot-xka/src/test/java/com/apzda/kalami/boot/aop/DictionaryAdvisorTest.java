@@ -19,6 +19,7 @@ package com.apzda.kalami.boot.aop;
 import com.apzda.kalami.boot.TestApp;
 import com.apzda.kalami.boot.autoconfig.KalamiXkaAutoConfiguration;
 import com.apzda.kalami.boot.controller.TestController;
+import com.apzda.kalami.boot.dict.DictItem;
 import com.apzda.kalami.boot.dict.TransformUtils;
 import com.apzda.kalami.boot.mapper.DictItemMapper;
 import com.apzda.kalami.boot.transformer.Upper;
@@ -42,6 +43,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -108,8 +110,10 @@ class DictionaryAdvisorTest {
             assertThat(user2.get("rolesText")).isEqualTo("r2");
             assertThat(user2.get("typeText")).isEqualTo("test3");
 
-            verify(dictItemMapper, times(2)).getDictLabel(any(), any(), any(), any());
+            verify(dictItemMapper, never()).getDictLabel(any(), any(), any(), any());
+            verify(dictItemMapper, times(1)).getDictLabels(any(), any(), any(), any());
             verify(dictItemMapper, times(1)).getDictLabel(any(), any(), any(), any(), any());
+            verify(upper, times(1)).transformAll(any(), anyBoolean());
             verify(upper, times(3)).transform(any(), anyBoolean());
         }
     }
@@ -130,8 +134,29 @@ class DictionaryAdvisorTest {
         assertThat(user2.get("rolesText")).isEqualTo("r2");
         assertThat(user2.get("typeText")).isEqualTo("test3");
 
-        verify(dictItemMapper, times(2)).getDictLabel(any(), any(), any(), any());
+        verify(dictItemMapper, never()).getDictLabel(any(), any(), any(), any());
+        verify(dictItemMapper, times(1)).getDictLabels(any(), any(), any(), any());
         verify(dictItemMapper, times(1)).getDictLabel(any(), any(), any(), any(), any());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void unmatched_table_values_should_fall_back_to_single_lookup() {
+        // given: 数据库返回的值与请求值字面不相等(如排序规则、'007'与INT 7)
+        val item = new DictItem();
+        item.setVal("01");
+        item.setLabel("r1");
+        doReturn(List.of(item)).when(dictItemMapper).getDictLabels(any(), any(), any(), any());
+
+        // when
+        val users = testController.getUserList();
+
+        // then
+        val data = objectMapper.convertValue(users.getData(), List.class);
+        assertThat(((Map<String, String>) data.get(0)).get("rolesText")).isEqualTo("r1");
+        assertThat(((Map<String, String>) data.get(1)).get("rolesText")).isEqualTo("r2");
+        verify(dictItemMapper, times(1)).getDictLabel(any(), any(), any(), eq("1"));
+        verify(dictItemMapper, times(1)).getDictLabel(any(), any(), any(), eq("2"));
+    }
+
 }
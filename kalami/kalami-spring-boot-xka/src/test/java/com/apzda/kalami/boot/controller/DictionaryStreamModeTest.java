@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.controller;
+
+import com.apzda.kalami.boot.TestApp;
+import com.apzda.kalami.boot.autoconfig.KalamiXkaAutoConfiguration;
+import com.apzda.kalami.boot.dict.DictionaryContext;
+import com.apzda.kalami.boot.enums.TestStatus;
+import com.apzda.kalami.boot.mapper.DictItemMapper;
+import com.apzda.kalami.boot.vo.TestVo;
+import com.apzda.kalami.mybatisplus.autoconfig.KalamiMyBatisPlusAutoConfiguration;
+import com.apzda.kalami.security.autoconfig.KalamiSecurityAutoConfiguration;
+import com.apzda.kalami.web.autoconfig.KalamiWebAutoConfiguration;
+import com.apzda.kalami.sanitizer.PhoneNumberSanitizer;
+import com.apzda.kalami.sanitizer.Sanitized;
+import com.baomidou.mybatisplus.test.autoconfigure.AutoConfigureMybatisPlus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Data;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@WebMvcTest(TestController.class)
+@ContextConfiguration(classes = TestApp.class)
+@ImportAutoConfiguration({ KalamiWebAutoConfiguration.class, KalamiXkaAutoConfiguration.class,
+        KalamiMyBatisPlusAutoConfiguration.class, KalamiSecurityAutoConfiguration.class, AopAutoConfiguration.class })
+@AutoConfigureMockMvc
+@AutoConfigureMybatisPlus
+@Sql(value = "classpath:/schema.sql")
+@WithMockUser(authorities = "*:user.*")
+@ComponentScan("com.apzda.kalami.boot.service")
+@TestPropertySource(properties = { "kalami.boot.dictionary.mode=stream" })
+class DictionaryStreamModeTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private DictItemMapper dictItemMapper;
+
+    @Test
+    void should_fill_dictionaries_while_serializing() throws Exception {
+        mvc.perform(get("/user/test/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.name").value("test = 1"))
+            .andExpect(jsonPath("$.data.statusText").value("status1"))
+            .andExpect(jsonPath("$.data.status2Text").value("status2"))
+            .andExpect(jsonPath("$.data.status3Text").value("T3"))
+            .andExpect(jsonPath("$.data.phone").value("131****6666"))
+            .andExpect(jsonPath("$.data.phone1").value("131****6666"))
+            .andExpect(jsonPath("$.data.phone2").value("13166666666"))
+            .andExpect(jsonPath("$.data.phone2Text").value("13166666666-test"))
+            // 翻译结果紧跟在属性之后输出
+            .andExpect(content().string(containsString("\"status\":0,\"statusText\":\"status1\"")));
+    }
+
+    @Test
+    void should_prefetch_table_dictionaries_of_page() throws Exception {
+        mvc.perform(post("/user").contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .content("pageSize=10&pageNumber=1&pageSorts=uid"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.records[0].id").value("1"))
+            .andExpect(jsonPath("$.data.records[0].rolesText").value("r1"))
+            .andExpect(jsonPath("$.data.records[0].typeText").value("Test1"))
+            .andExpect(jsonPath("$.data.records[1].rolesText").value("r2"))
+            .andExpect(jsonPath("$.data.records[2].rolesText").value("r1"));
+
+        verify(dictItemMapper, never()).getDictLabel(any(), any(), any(), any());
+        verify(dictItemMapper, times(1)).getDictLabels(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_not_fill_outside_dictionary_methods() throws Exception {
+        // given
+        val vo = new TestVo();
+        vo.setStatus(TestStatus.T1);
+        vo.setPhone("13166666666");
+
+        // when
+        val json = objectMapper.writeValueAsString(vo);
+
+        // then
+        assertThat(json).contains("13166666666").doesNotContain("statusText");
+    }
+
+    @Test
+    void sanitized_value_should_honour_property_serializer_and_inclusion() throws Exception {
+        // given
+        val vo = new SanitizedVo();
+        vo.setPhone("13166666666");
+        vo.setMobile("");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertThat(new DictionaryContext().bind()).isTrue();
+
+            // when
+            val json = objectMapper.writeValueAsString(vo);
+
+            // then
+            assertThat(json).isEqualTo("{\"phone\":\"<131****6666>\"}");
+        }
+        finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Data
+    static class SanitizedVo {
+
+        @Sanitized(sanitizer = PhoneNumberSanitizer.class)
+        @JsonSerialize(using = BracketSerializer.class)
+        private String phone;
+
+        @Sanitized(sanitizer = PhoneNumberSanitizer.class)
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        private String mobile;
+
+    }
+
+    static class BracketSerializer extends StdSerializer<String> {
+
+        BracketSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString("<" + value + ">");
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import com.apzda.kalami.dictionary.DictionaryCacheStore;
+import com.apzda.kalami.event.DictionaryChangedEvent;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class DictionaryCacheTest {
+
+    @Test
+    void should_cache_items_and_missing_values() {
+        // given
+        val cache = new DictionaryCache(Duration.ofMinutes(1), 100, null);
+        val values = new HashMap<String, Object>();
+        values.put("1", "admin");
+        values.put("2", null);
+
+        // when
+        cache.putItems("status", Map.of("1", "status1"));
+        cache.putAll("t_user", "t_user.id#name", values);
+
+        // then
+        assertThat(cache.getItems("status")).containsEntry("1", "status1");
+        assertThat(cache.getItems("gender")).isNull();
+        val found = cache.getAll("t_user", "t_user.id#name", List.of("1", "2", "3"));
+        assertThat(found).hasSize(2).containsEntry("1", "admin").containsEntry("2", null);
+    }
+
+    @Test
+    void should_evict_by_event() {
+        // given
+        val cache = new DictionaryCache(Duration.ofMinutes(1), 100, null);
+        cache.putItems("status", Map.of("1", "status1"));
+        cache.putAll("t_user", "t_user.id#name", Map.of("1", "admin"));
+        cache.putAll("t_role", "t_role.id#name", Map.of("1", "root"));
+
+        // when
+        cache.onApplicationEvent(DictionaryChangedEvent.ofTable(this, "t_user"));
+
+        // then
+        assertThat(cache.getAll("t_user", "t_user.id#name", List.of("1"))).isEmpty();
+        assertThat(cache.getAll("t_role", "t_role.id#name", List.of("1"))).containsEntry("1", "root");
+        assertThat(cache.getItems("status")).isNotNull();
+
+        // when
+        cache.onApplicationEvent(new DictionaryChangedEvent(this, null, null));
+
+        // then
+        assertThat(cache.getAll("t_role", "t_role.id#name", List.of("1"))).isEmpty();
+        assertThat(cache.getItems("status")).isNull();
+    }
+
+    @Test
+    void should_read_through_and_evict_store() throws Exception {
+        // given
+        val store = mock(DictionaryCacheStore.class);
+        when(store.getAll(anyCollection()))
+            .thenReturn(Collections.singletonMap("table:t_user::t_user.id#name:1", "admin"));
+        val cache = new DictionaryCache(Duration.ofMinutes(1), Duration.ofSeconds(30), 100, store, () -> null);
+        cache.afterPropertiesSet();
+
+        // when
+        val first = cache.getAll("t_user", "t_user.id#name", List.of("1"));
+        val second = cache.getAll("t_user", "t_user.id#name", List.of("1"));
+        cache.evictCode("status");
+
+        // then
+        assertThat(first).containsEntry("1", "admin");
+        assertThat(second).containsEntry("1", "admin");
+        verify(store, times(1)).getAll(anyCollection());
+        verify(store).subscribe(any());
+        verify(store).evict("items:status:");
+    }
+
+    @Test
+    void entries_should_be_kept_per_tenant() {
+        // given
+        val tenant = new AtomicReference<>("t1");
+        val cache = new DictionaryCache(Duration.ofMinutes(1), Duration.ofSeconds(30), 100, null, tenant::get);
+        cache.putItems("status", Map.of("1", "status1"));
+        cache.putAll("t_user", "t_user.id#name", Map.of("1", "admin"));
+
+        // when
+        tenant.set("t2");
+        val items = cache.getItems("status");
+        val found = cache.getAll("t_user", "t_user.id#name", List.of("1"));
+        cache.putAll("t_user", "t_user.id#name", Map.of("1", "guest"));
+        cache.onApplicationEvent(new DictionaryChangedEvent(this, "t_user", null, "t2"));
+
+        // then
+        assertThat(items).isNull();
+        assertThat(found).isEmpty();
+        assertThat(cache.getAll("t_user", "t_user.id#name", List.of("1"))).isEmpty();
+        tenant.set("t1");
+        assertThat(cache.getItems("status")).containsEntry("1", "status1");
+        assertThat(cache.getAll("t_user", "t_user.id#name", List.of("1"))).containsEntry("1", "admin");
+    }
+
+    @Test
+    void missing_values_should_expire_sooner() throws Exception {
+        // given
+        val store = mock(DictionaryCacheStore.class);
+        val cache = new DictionaryCache(Duration.ofMinutes(1), Duration.ofMillis(50), 100, store, () -> null);
+        val values = new HashMap<String, Object>();
+        values.put("1", "admin");
+        values.put("2", null);
+        values.put("3", Collections.emptyMap());
+
+        // when
+        cache.putAll("t_user", "t_user.id#name", values);
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // then
+        assertThat(cache.getAll("t_user", "t_user.id#name", List.of("1", "2", "3"))).hasSize(1).containsEntry("1", "admin");
+        verify(store).putAll(Map.of("table:t_user::t_user.id#name:1", "admin"), Duration.ofMinutes(1));
+        verify(store).putAll(argThat(entries -> entries.size() == 2
+                && entries.containsKey("table:t_user::t_user.id#name:2")
+                && entries.containsKey("table:t_user::t_user.id#name:3")), eq(Duration.ofMillis(50)));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.boot.dict;
+
+import com.apzda.kalami.boot.enums.TestStatus;
+import com.apzda.kalami.boot.transformer.TestTransformer;
+import com.apzda.kalami.boot.vo.TestVo;
+import com.apzda.kalami.dictionary.Dict;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class FillPlanTest {
+
+    @Test
+    void should_build_plan_once_per_class() {
+        // when
+        val plan = FillPlan.of(TestVo.class);
+
+        // then
+        assertThat(FillPlan.of(TestVo.class)).isSameAs(plan);
+        val properties = plan.getProperties()
+            .stream()
+            .collect(Collectors.toMap(FillPlan.Property::getName, Function.identity()));
+        assertThat(properties).containsKeys("name", "status", "phone", "phone1", "phone2");
+        assertThat(properties.get("name").getDict()).isNull();
+        assertThat(properties.get("status2").getDict().getLabel()).isEqualTo("description");
+        assertThat(properties.get("phone2").getDict().isTransform()).isTrue();
+        assertThat(properties.get("phone2").getDict().getTransformerClass()).isEqualTo(TestTransformer.class);
+        assertThat(plan.getTableProperties()).isEmpty();
+    }
+
+    @Test
+    void should_read_and_sanitize_values() {
+        // given
+        val vo = new TestVo();
+        vo.setName("test");
+        vo.setStatus(TestStatus.T1);
+        vo.setPhone("13166666666");
+        vo.setPhone1("13166666666");
+        vo.setPhone2("13166666666");
+        val properties = FillPlan.of(TestVo.class)
+            .getProperties()
+            .stream()
+            .collect(Collectors.toMap(FillPlan.Property::getName, Function.identity()));
+
+        // when
+        val name = properties.get("name").read(vo);
+        val status = properties.get("status").read(vo);
+        val phone = properties.get("phone").read(vo);
+        val phone1 = properties.get("phone1").read(vo);
+        val phone2 = properties.get("phone2").read(vo);
+
+        // then
+        assertThat(name).isEqualTo("test");
+        assertThat(status).isEqualTo(TestStatus.T1);
+        assertThat(phone).isEqualTo("131****6666");
+        assertThat(phone1).isEqualTo("131****6666");
+        assertThat(phone2).isEqualTo("13166666666");
+    }
+
+    @Test
+    void should_resolve_table_dictionaries_of_super_class() {
+        // given
+        val vo = new UserVo();
+        vo.setAge(18);
+        vo.setRoleId("1");
+
+        // when
+        val plan = FillPlan.of(UserVo.class);
+
+        // then
+        assertThat(plan.getTableProperties()).hasSize(1);
+        val property = plan.getTableProperties().get(0);
+        assertThat(property.getName()).isEqualTo("roleId");
+        assertThat(property.read(vo)).isEqualTo("1");
+        assertThat(property.getDict().getGroup()).isEqualTo("t_role.rid#name");
+        assertThat(property.getDict().isRow()).isFalse();
+        val age = plan.getProperties().stream().filter(p -> p.getName().equals("age")).findFirst().orElseThrow();
+        assertThat(age.read(vo)).isEqualTo(18);
+    }
+
+    @Data
+    static class BaseVo {
+
+        @Dict(table = "t_role", code = "rid", value = "name")
+        private String roleId;
+
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class UserVo extends BaseVo {
+
+        private int age;
+
+    }
+
+}
@@ -16,9 +16,16 @@
  */
 package com.apzda.kalami.redis.autoconfig;
 
+import com.apzda.kalami.dictionary.DictionaryCacheStore;
+import com.apzda.kalami.redis.dictionary.RedisDictionaryCacheStore;
+import com.apzda.kalami.redis.security.RedisAuthorityCacheStore;
+import com.apzda.kalami.redis.security.RedisTokenRevocationStore;
 import com.apzda.kalami.redis.service.RedisBasedInfraServiceImpl;
+import com.apzda.kalami.security.token.TokenRevocationStore;
+import com.apzda.kalami.security.user.AuthorityCacheStore;
 import com.apzda.kalami.web.autoconfig.KalamiWebAutoConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -27,7 +34,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -40,12 +49,54 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @ConditionalOnClass({ StringRedisTemplate.class })
 public class KalamiRedisAutoConfiguration {
 
+    /**
+     * 锁、权限缓存、令牌吊销与字典缓存共享同一个监听容器(同一条订阅连接).
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({ RedisConnectionFactory.class })
+    RedisMessageListenerContainer kalamiRedisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        val container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean({ StringRedisTemplate.class })
     RedisBasedInfraServiceImpl kalamiInfraCounterService(StringRedisTemplate stringRedisTemplate,
-            ObjectMapper objectMapper) {
-        return new RedisBasedInfraServiceImpl(stringRedisTemplate, objectMapper);
+            ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer) {
+        return new RedisBasedInfraServiceImpl(stringRedisTemplate, objectMapper, listenerContainer);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DictionaryCacheStore.class)
+    @ConditionalOnBean({ StringRedisTemplate.class })
+    RedisDictionaryCacheStore kalamiRedisDictionaryCacheStore(StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer) {
+        return new RedisDictionaryCacheStore(stringRedisTemplate, objectMapper, listenerContainer);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.apzda.kalami.security.user.AuthorityCacheStore")
+    static class KalamiRedisSecurityConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(AuthorityCacheStore.class)
+        @ConditionalOnBean({ StringRedisTemplate.class })
+        RedisAuthorityCacheStore kalamiRedisAuthorityCacheStore(StringRedisTemplate stringRedisTemplate,
+                ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer) {
+            return new RedisAuthorityCacheStore(stringRedisTemplate, objectMapper, listenerContainer);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(TokenRevocationStore.class)
+        @ConditionalOnBean({ StringRedisTemplate.class })
+        RedisTokenRevocationStore kalamiRedisTokenRevocationStore(StringRedisTemplate stringRedisTemplate,
+                ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer) {
+            return new RedisTokenRevocationStore(stringRedisTemplate, objectMapper, listenerContainer);
+        }
+
     }
 
 }
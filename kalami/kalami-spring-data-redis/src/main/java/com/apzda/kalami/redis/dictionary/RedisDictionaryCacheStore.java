@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.dictionary;
+
+import com.apzda.kalami.dictionary.DictionaryCacheStore;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.apzda.kalami.redis.utils.RedisKeyUtils.deleteByPattern;
+import static com.apzda.kalami.redis.utils.RedisKeyUtils.glob;
+
+/**
+ * 基于Redis的字典缓存存储.
+ * <p/>
+ * 值以带类型信息的JSON保存(已确认不存在的字典项保存为<code>null</code>)，读出的值与从数据库读取时类型一致;
+ * 失效时通过pub/sub通知集群内所有节点清除本地缓存.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisDictionaryCacheStore implements DictionaryCacheStore {
+
+    static final String PREFIX = "kalami.dict:";
+
+    static final String CHANNEL = "kalami.dict.evicted";
+
+    /**
+     * 广播全部失效时使用的消息
+     */
+    private static final String ALL = "*";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 为非自然类型(如Long、BigDecimal、时间)写入类型信息的ObjectMapper
+     */
+    private final ObjectMapper objectMapper;
+
+    private final List<EvictionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public RedisDictionaryCacheStore(@Nonnull StringRedisTemplate stringRedisTemplate,
+            @Nonnull ObjectMapper objectMapper, @Nonnull RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = typed(objectMapper);
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, Object> getAll(@Nonnull Collection<String> keys) {
+        val redisKeys = new ArrayList<String>(keys.size());
+        for (val key : keys) {
+            redisKeys.add(PREFIX + key);
+        }
+        val values = stringRedisTemplate.opsForValue().multiGet(redisKeys);
+        val found = new HashMap<String, Object>();
+        if (values == null) {
+            return found;
+        }
+        int i = 0;
+        for (val key : keys) {
+            val value = values.get(i++);
+            if (value == null) {
+                continue;
+            }
+            try {
+                found.put(key, deserialize(value));
+            }
+            catch (Exception e) {
+                log.warn("Cannot parse cached dictionary {}: {}", key, e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(@Nonnull Map<String, Object> entries, @Nonnull Duration ttl) {
+        val serialized = new HashMap<byte[], byte[]>(entries.size());
+        for (val entry : entries.entrySet()) {
+            try {
+                serialized.put((PREFIX + entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                        serialize(entry.getValue()));
+            }
+            catch (Exception e) {
+                log.warn("Cannot cache dictionary {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        if (serialized.isEmpty()) {
+            return;
+        }
+        val expiration = Expiration.from(ttl);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            serialized.forEach((key, value) -> connection.stringCommands()
+                .set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+            return null;
+        });
+    }
+
+    @Override
+    public void evict(@Nullable String prefix) {
+        try {
+            deleteByPattern(stringRedisTemplate, PREFIX + (prefix == null ? "" : glob(prefix)) + "*");
+        }
+        catch (Exception e) {
+            log.warn("Cannot delete cached dictionaries of {}: {}", prefix, e.getMessage());
+        }
+
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, prefix == null ? ALL : prefix);
+        }
+        catch (Exception e) {
+            log.warn("Cannot publish dictionary eviction of {}: {}", prefix, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(@Nonnull EvictionListener listener) {
+        listeners.add(listener);
+        if (subscribed.compareAndSet(false, true)) {
+            try {
+                listenerContainer.addMessageListener((message, pattern) -> {
+                    val prefix = new String(message.getBody(), StandardCharsets.UTF_8);
+                    for (val l : listeners) {
+                        try {
+                            l.onEvicted(ALL.equals(prefix) ? null : prefix);
+                        }
+                        catch (Exception e) {
+                            log.warn("Cannot handle dictionary eviction: {}", e.getMessage());
+                        }
+                    }
+                }, new ChannelTopic(CHANNEL));
+            }
+            catch (Exception e) {
+                log.warn("Cannot subscribe to {}, local dictionary cache will only expire by ttl: {}", CHANNEL,
+                        e.getMessage());
+            }
+        }
+    }
+
+    @Nonnull
+    byte[] serialize(@Nullable Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Nullable
+    Object deserialize(@Nonnull String value) throws JsonProcessingException {
+        return objectMapper.readValue(value, Object.class);
+    }
+
+    @Nonnull
+    private static ObjectMapper typed(@Nonnull ObjectMapper objectMapper) {
+        // 只允许JDK中的值类型，避免反序列化任意类
+        val validator = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("java.lang.")
+            .allowIfSubType("java.math.")
+            .allowIfSubType("java.time.")
+            .allowIfSubType("java.sql.")
+            .allowIfSubType("java.util.")
+            .allowIfSubTypeIsArray()
+            .build();
+        val typer = new ObjectMapper.DefaultTypeResolverBuilder(ObjectMapper.DefaultTyping.JAVA_LANG_OBJECT,
+                validator) {
+            @Override
+            public boolean useForType(JavaType t) {
+                return !t.isPrimitive();
+            }
+        }.init(JsonTypeInfo.Id.CLASS, null).inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+        return objectMapper.copy().setDefaultTyping(typer);
+    }
+
+}
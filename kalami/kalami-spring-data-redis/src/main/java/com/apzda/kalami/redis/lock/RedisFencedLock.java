@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.lock;
+
+import com.apzda.kalami.service.FencedLock;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于Redis的可重入锁. 同一进程内的竞争由本地锁排队，只有排在最前的线程访问Redis;
+ * 锁被释放时通过发布订阅唤醒，等待时间以锁的剩余租期为上限，因此订阅消息丢失也不会无限等待.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisFencedLock implements FencedLock {
+
+    /**
+     * 单次等待的上限(毫秒)，防止错过释放通知.
+     */
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    private static final long MIN_WAIT_MILLIS = 10;
+
+    private final String key;
+
+    private final RedisLockRegistry registry;
+
+    private final ReentrantLock localLock = new ReentrantLock();
+
+    private final Semaphore released = new Semaphore(0);
+
+    private String token;
+
+    private long fencingToken;
+
+    private ScheduledFuture<?> renewal;
+
+    RedisFencedLock(@Nonnull String key, @Nonnull RedisLockRegistry registry) {
+        this.key = key;
+        this.registry = registry;
+    }
+
+    @Override
+    public long getFencingToken() {
+        return localLock.isHeldByCurrentThread() ? fencingToken : 0;
+    }
+
+    @Override
+    public void lock() {
+        var interrupted = false;
+        while (true) {
+            try {
+                lockInterruptibly();
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        localLock.lockInterruptibly();
+        if (localLock.getHoldCount() > 1) {
+            return;
+        }
+        var acquired = false;
+        try {
+            acquired = acquire(Long.MAX_VALUE);
+        }
+        catch (InterruptedException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw new IllegalMonitorStateException(String.format("Cannot lock %s - %s", key, e.getMessage()));
+        }
+        finally {
+            if (!acquired) {
+                localLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!localLock.tryLock()) {
+            return false;
+        }
+        if (localLock.getHoldCount() > 1) {
+            return true;
+        }
+        var acquired = false;
+        try {
+            val token = UUID.randomUUID().toString();
+            val result = registry.acquire(key, token);
+            if (result > 0) {
+                acquired(token, result);
+                acquired = true;
+            }
+        }
+        catch (Exception e) {
+            log.warn("Cannot lock {}: {}", key, e.getMessage());
+        }
+        finally {
+            if (!acquired) {
+                localLock.unlock();
+            }
+        }
+        return acquired;
+    }
+
+    @Override
+    public boolean tryLock(long time, @Nonnull TimeUnit unit) throws InterruptedException {
+        val timeout = Math.max(0, unit.toNanos(time));
+        val start = System.nanoTime();
+        if (!localLock.tryLock(timeout, TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        if (localLock.getHoldCount() > 1) {
+            return true;
+        }
+        var acquired = false;
+        try {
+            acquired = acquire(Math.max(0, timeout - (System.nanoTime() - start)));
+        }
+        catch (InterruptedException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            // 获取redis锁出错时仅释放本地锁
+            log.warn("Cannot lock {}: {}", key, e.getMessage());
+        }
+        finally {
+            if (!acquired) {
+                localLock.unlock();
+            }
+        }
+        return acquired;
+    }
+
+    @Override
+    public void unlock() {
+        if (!localLock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException(String.format("Lock %s is not held by current thread", key));
+        }
+        try {
+            if (localLock.getHoldCount() == 1) {
+                renewal.cancel(false);
+                if (!registry.release(key, token)) {
+                    log.warn("Lock {} had expired before it was released", key);
+                }
+            }
+        }
+        catch (Exception e) {
+            log.error("Cannot unlock {}, it will be released after its lease expires: {}", key, e.getMessage());
+        }
+        finally {
+            if (localLock.getHoldCount() == 1) {
+                token = null;
+                fencingToken = 0;
+                renewal = null;
+                registry.unpin(this);
+            }
+            localLock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("Condition is not supported by distributed lock");
+    }
+
+    @Nonnull
+    String getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisFencedLock(" + key + ")";
+    }
+
+    void signal() {
+        released.release();
+    }
+
+    /**
+     * 在Redis上加锁，调用时当前线程必须已持有本地锁.
+     * @param timeout 超时时间(纳秒)，{@link Long#MAX_VALUE}表示一直等待
+     */
+    private boolean acquire(long timeout) throws InterruptedException {
+        val token = UUID.randomUUID().toString();
+        val deadline = timeout == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + timeout;
+        while (true) {
+            released.drainPermits();
+            val result = registry.acquire(key, token);
+            if (result > 0) {
+                acquired(token, result);
+                return true;
+            }
+            val remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            val ttl = -result;
+            val wait = ttl > 0 ? Math.min(ttl, MAX_WAIT_MILLIS) : MIN_WAIT_MILLIS;
+            released.tryAcquire(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(wait)), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void acquired(String token, long fencingToken) {
+        this.token = token;
+        this.fencingToken = fencingToken;
+        this.renewal = registry.watch(key, token);
+        registry.pin(this);
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.lock;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Redis的锁注册表.
+ * <ul>
+ * <li>以{@code SET NX PX}加锁，锁值为持有者令牌，只有持有者才能续期和释放.</li>
+ * <li>看门狗按租期的1/3定时续期，持有者崩溃后锁在租期后自动释放.</li>
+ * <li>释放时发布通知，等待者被唤醒后立即重试，无需轮询.</li>
+ * <li>每次加锁返回单调递增的防护令牌.</li>
+ * <li>锁对象以弱引用缓存，不再使用的锁会被回收；被持有的锁在释放前一直被强引用，不会被回收.</li>
+ * </ul>
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisLockRegistry {
+
+    public static final Duration DEFAULT_LEASE = Duration.ofSeconds(30);
+
+    static final String CHANNEL = "kalami.lock.released";
+
+    /**
+     * 加锁成功返回防护令牌(大于0)，否则返回锁剩余时间(毫秒)的相反数.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return redis.call('INCR', KEYS[2])
+            end
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl < 0 then
+                ttl = 0
+            end
+            return -ttl
+            """, Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                redis.call('PUBLISH', ARGV[2], KEYS[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Duration lease;
+
+    private final Cache<String, RedisFencedLock> locks = CacheBuilder.newBuilder().weakValues().build();
+
+    /**
+     * 被持有的锁，保证{@code obtain(key).lock(); ... obtain(key).unlock();}总是作用于同一个锁对象.
+     */
+    private final Map<String, RedisFencedLock> held = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService watchdog;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 监听容器是否由本注册表创建(需由本注册表启动与销毁)
+     */
+    private final boolean ownsContainer;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public RedisLockRegistry(@Nonnull StringRedisTemplate stringRedisTemplate) {
+        this(stringRedisTemplate, DEFAULT_LEASE);
+    }
+
+    public RedisLockRegistry(@Nonnull StringRedisTemplate stringRedisTemplate, @Nonnull Duration lease) {
+        this(stringRedisTemplate, lease, null);
+    }
+
+    /**
+     * @param listenerContainer 共享的监听容器，为<code>null</code>时创建私有容器
+     */
+    public RedisLockRegistry(@Nonnull StringRedisTemplate stringRedisTemplate, @Nonnull Duration lease,
+            @Nullable RedisMessageListenerContainer listenerContainer) {
+        Assert.isTrue(lease.toMillis() >= 300, "lease must not be less than 300ms");
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.lease = lease;
+        if (listenerContainer != null) {
+            this.listenerContainer = listenerContainer;
+            this.ownsContainer = false;
+        }
+        else {
+            val connectionFactory = stringRedisTemplate.getConnectionFactory();
+            Assert.state(connectionFactory != null, "RedisConnectionFactory is required");
+            this.listenerContainer = new RedisMessageListenerContainer();
+            this.listenerContainer.setConnectionFactory(connectionFactory);
+            this.ownsContainer = true;
+        }
+        val executor = new ScheduledThreadPoolExecutor(1, r -> {
+            val thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("redis-lock-watchdog");
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.watchdog = executor;
+    }
+
+    /**
+     * 获取锁，同一个key在被引用或被持有期间总是返回同一个锁对象.
+     * @param key 锁在Redis中的key
+     */
+    @Nonnull
+    public RedisFencedLock obtain(@Nonnull String key) {
+        subscribe();
+        val lock = held.get(key);
+        if (lock != null) {
+            return lock;
+        }
+        try {
+            return locks.get(key, () -> new RedisFencedLock(key, this));
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void remove(@Nonnull String key) {
+        locks.invalidate(key);
+    }
+
+    public void shutdown() {
+        watchdog.shutdownNow();
+        if (ownsContainer) {
+            try {
+                listenerContainer.destroy();
+            }
+            catch (Exception e) {
+                log.warn("Cannot stop lock listener container: {}", e.getMessage());
+            }
+        }
+    }
+
+    long acquire(@Nonnull String key, @Nonnull String token) {
+        val result = stringRedisTemplate.execute(ACQUIRE_SCRIPT, List.of(key, fenceKey(key)), token,
+                String.valueOf(lease.toMillis()));
+        return result == null ? 0 : result;
+    }
+
+    void pin(@Nonnull RedisFencedLock lock) {
+        held.put(lock.getKey(), lock);
+    }
+
+    void unpin(@Nonnull RedisFencedLock lock) {
+        held.remove(lock.getKey(), lock);
+    }
+
+    /**
+     * 令牌计数器的key，通过hash tag保证集群模式下与锁位于同一槽.
+     */
+    @Nonnull
+    static String fenceKey(@Nonnull String key) {
+        val start = key.indexOf('{');
+        if (start >= 0) {
+            val end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                // 已含hash tag
+                return key + ".fence";
+            }
+        }
+        return "{" + key + "}.fence";
+    }
+
+    boolean release(@Nonnull String key, @Nonnull String token) {
+        val result = stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key), token, CHANNEL);
+        return result != null && result == 1;
+    }
+
+    ScheduledFuture<?> watch(@Nonnull String key, @Nonnull String token) {
+        val period = lease.toMillis() / 3;
+        return watchdog.scheduleAtFixedRate(() -> {
+            try {
+                val result = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(key), token,
+                        String.valueOf(lease.toMillis()));
+                if (result == null || result == 0) {
+                    log.warn("Lock {} was lost before it was released", key);
+                    throw new IllegalStateException("Lock lost: " + key);
+                }
+            }
+            catch (IllegalStateException e) {
+                // 停止续期
+                throw e;
+            }
+            catch (Exception e) {
+                log.warn("Cannot renew lock {}: {}", key, e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void subscribe() {
+        if (!subscribed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener((message, pattern) -> {
+                val key = new String(message.getBody(), StandardCharsets.UTF_8);
+                val lock = locks.getIfPresent(key);
+                if (lock != null) {
+                    lock.signal();
+                }
+            }, new ChannelTopic(CHANNEL));
+            if (ownsContainer && !listenerContainer.isRunning()) {
+                listenerContainer.afterPropertiesSet();
+                listenerContainer.start();
+            }
+        }
+        catch (Exception e) {
+            // 订阅失败时等待者退化为按剩余租期定时重试
+            log.warn("Cannot subscribe to {}, lock waiters will fall back to timed retries: {}", CHANNEL,
+                    e.getMessage());
+        }
+    }
+
+}
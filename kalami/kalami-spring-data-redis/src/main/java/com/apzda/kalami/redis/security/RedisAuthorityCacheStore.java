@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.security;
+
+import com.apzda.kalami.security.user.AuthorityCacheStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.apzda.kalami.redis.utils.RedisKeyUtils.deleteByPattern;
+import static com.apzda.kalami.redis.utils.RedisKeyUtils.escape;
+import static com.apzda.kalami.redis.utils.RedisKeyUtils.glob;
+
+/**
+ * 基于Redis的权限缓存存储.
+ * <p/>
+ * 权限以字符串列表保存(恢复为{@link SimpleGrantedAuthority})，失效时通过pub/sub通知集群内所有节点清除本地缓存.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisAuthorityCacheStore implements AuthorityCacheStore {
+
+    static final String PREFIX = "kalami.authorities:";
+
+    static final String CHANNEL = "kalami.authorities.evicted";
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<EvictionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public RedisAuthorityCacheStore(@Nonnull StringRedisTemplate stringRedisTemplate,
+            @Nonnull ObjectMapper objectMapper, @Nonnull RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    @Nullable
+    public Collection<? extends GrantedAuthority> get(@Nonnull Key key) {
+        val value = stringRedisTemplate.opsForValue().get(redisKey(key.tenantId(), key.orgId(), key.username()));
+        if (value == null) {
+            return null;
+        }
+        try {
+            val authorities = objectMapper.readValue(value, STRING_LIST);
+            val granted = new ArrayList<GrantedAuthority>(authorities.size());
+            for (val authority : authorities) {
+                granted.add(new SimpleGrantedAuthority(authority));
+            }
+            return granted;
+        }
+        catch (Exception e) {
+            log.warn("Cannot parse cached authorities of {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(@Nonnull Key key, @Nonnull Collection<? extends GrantedAuthority> authorities,
+            @Nonnull Duration ttl) {
+        val values = new ArrayList<String>(authorities.size());
+        for (val authority : authorities) {
+            values.add(authority.getAuthority());
+        }
+        try {
+            stringRedisTemplate.opsForValue()
+                .set(redisKey(key.tenantId(), key.orgId(), key.username()), objectMapper.writeValueAsString(values),
+                        ttl);
+        }
+        catch (Exception e) {
+            log.warn("Cannot cache authorities of {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(@Nullable String tenantId, @Nullable String orgId, @Nullable String username) {
+        try {
+            if (tenantId != null && orgId != null && username != null) {
+                stringRedisTemplate.delete(redisKey(tenantId, orgId, username));
+            }
+            else {
+                deleteByPattern(stringRedisTemplate, PREFIX + pattern(tenantId) + ":" + pattern(orgId) + ":"
+                        + pattern(username));
+            }
+        }
+        catch (Exception e) {
+            log.warn("Cannot delete cached authorities of {}/{}/{}: {}", tenantId, orgId, username, e.getMessage());
+        }
+
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL,
+                    objectMapper.writeValueAsString(Arrays.asList(tenantId, orgId, username)));
+        }
+        catch (Exception e) {
+            log.warn("Cannot publish authorities eviction of {}/{}/{}: {}", tenantId, orgId, username,
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(@Nonnull EvictionListener listener) {
+        listeners.add(listener);
+        if (subscribed.compareAndSet(false, true)) {
+            try {
+                listenerContainer.addMessageListener((message, pattern) -> {
+                    try {
+                        val args = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                                STRING_LIST);
+                        if (args.size() == 3) {
+                            for (val l : listeners) {
+                                l.onEvicted(args.get(0), args.get(1), args.get(2));
+                            }
+                        }
+                    }
+                    catch (Exception e) {
+                        log.warn("Cannot handle authorities eviction: {}", e.getMessage());
+                    }
+                }, new ChannelTopic(CHANNEL));
+            }
+            catch (Exception e) {
+                log.warn("Cannot subscribe to {}, local authorities cache will only expire by ttl: {}", CHANNEL,
+                        e.getMessage());
+            }
+        }
+    }
+
+    @Nonnull
+    static String redisKey(String tenantId, String orgId, String username) {
+        return PREFIX + escape(tenantId) + ":" + escape(orgId) + ":" + escape(username);
+    }
+
+    @Nonnull
+    private static String pattern(@Nullable String value) {
+        return value == null ? "*" : glob(escape(value));
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.security;
+
+import com.apzda.kalami.security.token.TokenRevocationStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于Redis的令牌吊销存储.
+ * <p/>
+ * 令牌吊销记录保存在一个以过期时间为分值的ZSET中，用户吊销时间点保存在一个HASH中(过期时间另存于ZSET)，
+ * 周期同步只需按分值读取与清理，无需扫描整个键空间. 吊销时通过pub/sub通知集群内所有节点更新本地副本.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    static final String TOKENS_KEY = "{kalami.revoked}.tokens";
+
+    static final String USERS_KEY = "{kalami.revoked}.users";
+
+    static final String USERS_EXPIRY_KEY = "{kalami.revoked}.users.expiry";
+
+    static final String CHANNEL = "kalami.tokens.revoked";
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private static final RedisScript<Long> REVOKE_USER_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * 分批清除已过期的用户吊销记录，避免unpack参数过多
+     */
+    private static final RedisScript<Long> PRUNE_USERS_SCRIPT = new DefaultRedisScript<>("""
+            local pruned = 0
+            while true do
+                local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, 500)
+                if #expired == 0 then
+                    return pruned
+                end
+                redis.call('HDEL', KEYS[1], unpack(expired))
+                redis.call('ZREM', KEYS[2], unpack(expired))
+                pruned = pruned + #expired
+            end
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<RevocationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public RedisTokenRevocationStore(@Nonnull StringRedisTemplate stringRedisTemplate,
+            @Nonnull ObjectMapper objectMapper, @Nonnull RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    public void revoke(@Nonnull String tokenId, @Nonnull Duration ttl) {
+        stringRedisTemplate.opsForZSet().add(TOKENS_KEY, tokenId, System.currentTimeMillis() + ttl.toMillis());
+        publish(tokenId, null, 0);
+    }
+
+    @Override
+    public boolean isRevoked(@Nonnull String tokenId) {
+        val expireAt = stringRedisTemplate.opsForZSet().score(TOKENS_KEY, tokenId);
+        return expireAt != null && expireAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revokeBefore(@Nonnull String uid, long notBefore, @Nonnull Duration ttl) {
+        stringRedisTemplate.execute(REVOKE_USER_SCRIPT, List.of(USERS_KEY, USERS_EXPIRY_KEY), uid,
+                String.valueOf(notBefore), String.valueOf(System.currentTimeMillis() + ttl.toMillis()));
+        publish(null, uid, notBefore);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<String> revokedTokens() {
+        val now = System.currentTimeMillis();
+        val zSet = stringRedisTemplate.opsForZSet();
+        zSet.removeRangeByScore(TOKENS_KEY, Double.NEGATIVE_INFINITY, now);
+        val tokens = zSet.rangeByScore(TOKENS_KEY, now, Double.POSITIVE_INFINITY);
+        return tokens == null ? List.of() : tokens;
+    }
+
+    @Override
+    @Nonnull
+    public Map<String, Long> notBefore() {
+        stringRedisTemplate.execute(PRUNE_USERS_SCRIPT, List.of(USERS_KEY, USERS_EXPIRY_KEY),
+                String.valueOf(System.currentTimeMillis()));
+        val entries = stringRedisTemplate.<String, String>opsForHash().entries(USERS_KEY);
+        val notBefore = new HashMap<String, Long>(entries.size());
+        entries.forEach((uid, value) -> notBefore.put(uid, NumberUtils.toLong(value)));
+        return notBefore;
+    }
+
+    @Override
+    public void subscribe(@Nonnull RevocationListener listener) {
+        listeners.add(listener);
+        if (subscribed.compareAndSet(false, true)) {
+            try {
+                listenerContainer.addMessageListener((message, pattern) -> {
+                    try {
+                        val args = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                                STRING_LIST);
+                        if (args.size() == 3) {
+                            val notBefore = NumberUtils.toLong(args.get(2));
+                            for (val l : listeners) {
+                                l.onRevoked(args.get(0), args.get(1), notBefore);
+                            }
+                        }
+                    }
+                    catch (Exception e) {
+                        log.warn("Cannot handle token revocation: {}", e.getMessage());
+                    }
+                }, new ChannelTopic(CHANNEL));
+            }
+            catch (Exception e) {
+                log.warn("Cannot subscribe to {}, revoked tokens will only be synced periodically: {}", CHANNEL,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void publish(String tokenId, String uid, long notBefore) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL,
+                    objectMapper.writeValueAsString(Arrays.asList(tokenId, uid, String.valueOf(notBefore))));
+        }
+        catch (Exception e) {
+            log.warn("Cannot publish token revocation of {}/{}: {}", tokenId, uid, e.getMessage());
+        }
+    }
+
+}
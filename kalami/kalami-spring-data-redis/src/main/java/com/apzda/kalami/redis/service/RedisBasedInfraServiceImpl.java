@@ -19,29 +19,29 @@ package com.apzda.kalami.redis.service;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.crypto.digest.DigestUtil;
 import com.apzda.kalami.data.TempData;
+import com.apzda.kalami.redis.lock.RedisLockRegistry;
 import com.apzda.kalami.service.CounterService;
 import com.apzda.kalami.service.DistributedLockService;
 import com.apzda.kalami.service.TempStorageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Pattern;
 
 /**
  * @author ninggf (windywany@gmail.com)
@@ -51,66 +51,91 @@ import java.util.regex.Pattern;
 @Slf4j
 public class RedisBasedInfraServiceImpl implements CounterService, TempStorageService, DistributedLockService {
 
-    private final static Pattern ID_PATTERN = Pattern.compile("^(.+?)@(.+)$");
-
-    private static final Map<String, Lock> locks = new ConcurrentHashMap<>();
-
     private final StringRedisTemplate stringRedisTemplate;
 
     private final ObjectMapper objectMapper;
 
-    private final LoadingCache<String, Boolean> idCache = CacheBuilder.newBuilder()
-        .expireAfterAccess(Duration.ofSeconds(10))
-        .build(new CacheLoader<>() {
-            @Override
-            @NonNull
-            public Boolean load(@NonNull String key) {
-                try {
-                    val matcher = ID_PATTERN.matcher(key);
-                    if (matcher.find()) {
-                        val id = matcher.group(1);
-                        val interval = Long.parseLong(matcher.group(2));
-                        stringRedisTemplate.expire(id, interval + 1, TimeUnit.SECONDS);
-                    }
-                }
-                catch (Exception e) {
-                    log.warn("Cannot set expired time of the key of counter '{}': {}", key, e.getMessage());
-                }
-                return true;
-            }
-        });
+    private final RedisLockRegistry lockRegistry;
+
+    /**
+     * INCR并在首次计数时设置过期时间，一次往返完成.
+     */
+    private static final RedisScript<Long> COUNTER_SCRIPT = new DefaultRedisScript<>("""
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+                redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """, Long.class);
+
+    private static final byte[] COUNTER_SCRIPT_BYTES = COUNTER_SCRIPT.getScriptAsString()
+        .getBytes(StandardCharsets.UTF_8);
 
     public RedisBasedInfraServiceImpl(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this(stringRedisTemplate, objectMapper, null);
+    }
+
+    public RedisBasedInfraServiceImpl(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+            @Nullable RedisMessageListenerContainer listenerContainer) {
         Assert.notNull(stringRedisTemplate, "stringRedisTemplate");
         Assert.notNull(objectMapper, "objectMapper");
         this.stringRedisTemplate = stringRedisTemplate;
         this.objectMapper = objectMapper;
+        this.lockRegistry = new RedisLockRegistry(stringRedisTemplate, RedisLockRegistry.DEFAULT_LEASE,
+                listenerContainer);
     }
 
     @Override
     public int count(@NonNull String key, long interval) {
         Assert.isTrue(interval > 0, "interval = " + interval + " <= 0");
-        val a = DateUtil.currentSeconds() / interval;
-        val id = "counter." + DigestUtil.md5Hex(key + "." + a);
+        val id = counterId(key, DateUtil.currentSeconds() / interval);
         try {
-            var increment = stringRedisTemplate.opsForValue().increment(id);
-            if (increment == null) {
-                increment = Long.parseLong(Objects.requireNonNull(stringRedisTemplate.opsForValue().get(id)));
-            }
-            return Math.toIntExact(increment);
+            val increment = stringRedisTemplate.execute(COUNTER_SCRIPT, List.of(id), String.valueOf(interval + 1));
+            return Math.toIntExact(Objects.requireNonNull(increment));
         }
         catch (Exception e) {
             log.warn("Cannot get try count for {} - {}", key, e.getMessage());
             return Integer.MAX_VALUE;
         }
-        finally {
-            try {
-                idCache.getUnchecked(id + "@" + interval);
-            }
-            catch (Exception e) {
-                log.warn("Cannot set TTL of the key of counter '{}': {}", key, e.getMessage());
+    }
+
+    /**
+     * 以管道方式一次往返完成批量计数，每个key独立执行脚本，兼容集群模式.
+     * <p/>
+     * 管道中使用EVAL而非EVALSHA: 集群中部分节点的脚本缓存被清空时，EVALSHA只有部分命令失败，重放整个管道会导致已成功的key重复计数.
+     */
+    @Override
+    @NonNull
+    public Map<String, Integer> countAll(@NonNull Collection<String> keys, long interval) {
+        Assert.isTrue(interval > 0, "interval = " + interval + " <= 0");
+        val a = DateUtil.currentSeconds() / interval;
+        val distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        if (distinct.isEmpty()) {
+            return counts;
+        }
+        val ttl = String.valueOf(interval + 1).getBytes(StandardCharsets.UTF_8);
+        try {
+            val increments = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (val key : distinct) {
+                    val id = counterId(key, a).getBytes(StandardCharsets.UTF_8);
+                    connection.scriptingCommands().eval(COUNTER_SCRIPT_BYTES, ReturnType.INTEGER, 1, id, ttl);
+                }
+                return null;
+            });
+            for (int i = 0; i < distinct.size(); i++) {
+                counts.put(distinct.get(i), Math.toIntExact(((Number) increments.get(i)).longValue()));
             }
         }
+        catch (Exception e) {
+            log.warn("Cannot get try count for {} - {}", distinct, e.getMessage());
+            distinct.forEach(key -> counts.put(key, Integer.MAX_VALUE));
+        }
+        return counts;
+    }
+
+    private static String counterId(String key, long window) {
+        return "counter." + DigestUtil.md5Hex(key + "." + window);
     }
 
     @Override
@@ -198,133 +223,22 @@ public class RedisBasedInfraServiceImpl implements CounterService, TempStorageSe
     @Override
     @NonNull
     public Lock getLock(@NonNull String id) {
-        val key = "lock." + DigestUtil.md5Hex(id);
-
-        return locks.computeIfAbsent(key, k -> new SimpleRedisLock(k, stringRedisTemplate));
+        return lockRegistry.obtain(lockKey(id));
     }
 
     @Override
     public void deleteLock(@NonNull String id) {
-        val key = "lock." + DigestUtil.md5Hex(id);
-        locks.remove(key);
+        lockRegistry.remove(lockKey(id));
     }
 
-    @SuppressWarnings("all")
-    static class SimpleRedisLock extends ReentrantLock {
-
-        private final static Duration DEFAULT_TIMEOUT = Duration.ofSeconds(300);
-
-        private final StringRedisTemplate stringRedisTemplate;
-
-        private final String lockName;
-
-        private final ThreadLocal<String> holder = new ThreadLocal<>();
-
-        SimpleRedisLock(String lockName, StringRedisTemplate redisTemplate) {
-            super();
-            this.lockName = lockName;
-            this.stringRedisTemplate = redisTemplate;
-        }
-
-        @Override
-        public boolean isLocked() {
-            return Objects.equals(Thread.currentThread().getName(), holder.get()) && super.isLocked();
-        }
-
-        @Override
-        public void unlock() {
-            try {
-                if (isLocked() && isHeldByCurrentThread()) {
-                    super.unlock();
-                    try {
-                        stringRedisTemplate.delete(lockName);
-                    }
-                    catch (Exception e) {
-                        log.error("Cannot unlock {}. Please unlock it manually: DEL {} - {}", lockName, lockName,
-                                e.getMessage());
-                    }
-                }
-            }
-            catch (Exception ignored) {
-                log.error("Cannot unlock {}", lockName);
-            }
-            finally {
-                this.holder.remove();
-            }
-        }
-
-        @Override
-        public void lock() {
-            if (!tryLock()) {
-                throw new IllegalMonitorStateException(String.format("Cannot lock %s - %s", lockName));
-            }
-        }
-
-        @Override
-        public void lockInterruptibly() throws InterruptedException {
-            if (!tryLock(DEFAULT_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
-                throw new IllegalMonitorStateException(String.format("Cannot lock %s", lockName));
-            }
-        }
-
-        @Override
-        public boolean tryLock() {
-            try {
-                return tryLock(DEFAULT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
-            }
-            catch (Exception e) {
-                return false;
-            }
-        }
-
-        @Override
-        public boolean tryLock(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
-            val start = System.currentTimeMillis();
-            if (Objects.equals(Thread.currentThread().getName(), holder.get()) && isHeldByCurrentThread()) {
-                return true;
-            }
-            if (super.tryLock(timeout, unit)) {
-                val end = System.currentTimeMillis();
-                try {
-                    lock_(Duration.ofMillis(unit.toMillis(timeout) - (end - start)));
-                }
-                catch (Exception e) {
-                    log.warn(e.getMessage());
-                    // 获取redis锁出错时仅释放本地锁
-                    super.unlock();
-                    return false;
-                }
-                return true;
-            }
-
-            return false;
-        }
-
-        private void lock_(Duration duration) throws InterruptedException {
-            try {
-                long count = Optional.ofNullable(duration).orElse(DEFAULT_TIMEOUT).toMillis() / 100;
-                do {
-                    val increment = stringRedisTemplate.opsForValue().increment(lockName);
-                    if (increment != null && increment == 1) {
-                        holder.set(Thread.currentThread().getName());
-                        break;
-                    }
-                    count--;
-                    if (count < 0) {
-                        throw new InterruptedException(String.format("Timeout while waiting for lock %s", lockName));
-                    }
-                    TimeUnit.MILLISECONDS.sleep(100);
-                }
-                while (true);
-            }
-            catch (InterruptedException e) {
-                throw e;
-            }
-            catch (Exception e) {
-                throw new IllegalMonitorStateException(String.format("Cannot lock %s - %s", lockName, e.getMessage()));
-            }
-        }
+    @Override
+    public void shutdown() {
+        lockRegistry.shutdown();
+    }
 
+    private static String lockKey(String id) {
+        // 与之前的版本使用相同的key，滚动升级期间新旧节点仍互斥
+        return "lock." + DigestUtil.md5Hex(id);
     }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.utils;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.val;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+
+/**
+ * Redis key工具.
+ *
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+public abstract class RedisKeyUtils {
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 转义key中的一段，使以<code>:</code>拼接的多段key不会相互冲突.
+     * @param value 值，<code>null</code>视为空串
+     * @return 不含<code>:</code>的值
+     */
+    @Nonnull
+    public static String escape(@Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (value.indexOf('%') < 0 && value.indexOf(':') < 0) {
+            return value;
+        }
+        return value.replace("%", "%25").replace(":", "%3A");
+    }
+
+    /**
+     * 转义SCAN匹配模式中的通配符.
+     * @param value 值，<code>null</code>表示匹配任意值
+     * @return 匹配模式
+     */
+    @Nonnull
+    public static String glob(@Nullable String value) {
+        if (value == null) {
+            return "*";
+        }
+        val sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            val c = value.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 通过SCAN分批删除匹配的key，不会阻塞Redis.
+     * @param stringRedisTemplate 模板
+     * @param pattern 匹配模式
+     * @return 删除的key数量
+     */
+    public static long deleteByPattern(@Nonnull StringRedisTemplate stringRedisTemplate, @Nonnull String pattern) {
+        long deleted = 0;
+        val keys = new ArrayList<String>();
+        try (val cursor = stringRedisTemplate
+            .scan(ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build())) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() >= BATCH_SIZE) {
+                    deleted += delete(stringRedisTemplate, keys);
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            deleted += delete(stringRedisTemplate, keys);
+        }
+        return deleted;
+    }
+
+    private static long delete(StringRedisTemplate stringRedisTemplate, ArrayList<String> keys) {
+        val deleted = stringRedisTemplate.delete(keys);
+        keys.clear();
+        return deleted == null ? 0 : deleted;
+    }
+
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.test.context.ContextConfiguration;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,6 +39,7 @@ class KalamiRedisAutoConfigurationTest {
             assertThat(counterService).isInstanceOf(RedisBasedInfraServiceImpl.class);
             assertThat(tempStorageService).isInstanceOf(RedisBasedInfraServiceImpl.class);
             assertThat(lockService).isInstanceOf(RedisBasedInfraServiceImpl.class);
+            assertThat(context).hasSingleBean(RedisMessageListenerContainer.class);
         });
     }
 
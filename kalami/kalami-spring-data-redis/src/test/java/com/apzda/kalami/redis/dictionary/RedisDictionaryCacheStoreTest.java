@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.dictionary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class RedisDictionaryCacheStoreTest {
+
+    private final RedisDictionaryCacheStore store = new RedisDictionaryCacheStore(mock(StringRedisTemplate.class),
+            new ObjectMapper().registerModule(new JavaTimeModule()), mock(RedisMessageListenerContainer.class));
+
+    @Test
+    void row_values_should_keep_their_types() throws Exception {
+        // given
+        val row = new HashMap<String, Object>();
+        row.put("id", 7L);
+        row.put("name", "admin");
+        row.put("amount", new BigDecimal("10.50"));
+        row.put("createdAt", LocalDateTime.of(2026, 10, 18, 8, 0));
+        row.put("updatedAt", new Timestamp(1760774400000L));
+        row.put("enabled", true);
+        row.put("deleted", null);
+
+        // when
+        val restored = roundTrip(row);
+
+        // then
+        assertThat(restored).isEqualTo(row);
+        assertThat(((Map<?, ?>) restored).get("id")).isInstanceOf(Long.class);
+    }
+
+    @Test
+    void labels_and_missing_values_should_round_trip() throws Exception {
+        assertThat(roundTrip("admin")).isEqualTo("admin");
+        assertThat(roundTrip(null)).isNull();
+        assertThat(roundTrip(Collections.emptyMap())).isEqualTo(Collections.emptyMap());
+    }
+
+    @Test
+    void should_reject_non_jdk_types() {
+        assertThatThrownBy(() -> store.deserialize("[\"com.example.Gadget\",{}]")).isNotNull();
+    }
+
+    private Object roundTrip(Object value) throws Exception {
+        return store.deserialize(new String(store.serialize(value), StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.lock;
+
+import com.apzda.kalami.redis.TestConfig;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+@JsonTest
+@ContextConfiguration(classes = RedisLockRegistryTest.class)
+@ImportAutoConfiguration({ RedisAutoConfiguration.class })
+@TestPropertySource(properties = { "spring.data.redis.database=1" })
+@Import({ TestConfig.class })
+class RedisLockRegistryTest {
+
+    private static final Duration LEASE = Duration.ofMillis(600);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private RedisLockRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RedisLockRegistry(stringRedisTemplate, LEASE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void held_lock_should_survive_gc_and_stop_watchdog_after_unlock() throws InterruptedException {
+        // given
+        val key = "lock." + UUID.randomUUID();
+        registry.obtain(key).lock();
+        val token = stringRedisTemplate.opsForValue().get(key);
+        assertThat(token).isNotBlank();
+
+        // when
+        System.gc();
+        TimeUnit.MILLISECONDS.sleep(LEASE.toMillis() * 2);
+        val owner = stringRedisTemplate.opsForValue().get(key);
+        registry.obtain(key).unlock();
+
+        // then
+        assertThat(owner).isEqualTo(token);
+        assertThat(stringRedisTemplate.hasKey(key)).isFalse();
+
+        // when: 模拟残留的租约，看门狗已停止则不会再续期
+        stringRedisTemplate.opsForValue().set(key, token, LEASE);
+        TimeUnit.MILLISECONDS.sleep(LEASE.toMillis() * 2);
+
+        // then
+        assertThat(stringRedisTemplate.hasKey(key)).isFalse();
+    }
+
+    @Test
+    void fence_key_should_share_slot_with_lock_key() {
+        assertThat(RedisLockRegistry.fenceKey("lock.abc")).isEqualTo("{lock.abc}.fence");
+        assertThat(RedisLockRegistry.fenceKey("lock.{abc}")).isEqualTo("lock.{abc}.fence");
+        assertThat(RedisLockRegistry.fenceKey("lock.{}")).isEqualTo("{lock.{}}.fence");
+    }
+
+}
@@ -19,6 +19,7 @@ package com.apzda.kalami.redis.service;
 import com.apzda.kalami.redis.TestConfig;
 import com.apzda.kalami.redis.autoconfig.KalamiRedisAutoConfiguration;
 import com.apzda.kalami.service.CounterService;
+import com.apzda.kalami.service.FencedLock;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -28,10 +29,12 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -91,6 +94,39 @@ class RedisBasedInfraServiceImplTest {
         assertThat(count1).isEqualTo(1);
     }
 
+    @Test
+    void count_all() throws InterruptedException {
+        // given: 两次计数落在同一个时间窗口内
+        CounterService counter = new RedisBasedInfraServiceImpl(stringRedisTemplate, objectMapper);
+        val interval = 60;
+        val left = interval - System.currentTimeMillis() / 1000 % interval;
+        if (left < 5) {
+            TimeUnit.SECONDS.sleep(left + 1);
+        }
+        val suffix = System.nanoTime();
+        val a = "count_all.a." + suffix;
+        val b = "count_all.b." + suffix;
+        counter.count(a, interval);
+
+        // when
+        val counts = counter.countAll(List.of(a, b, a), interval);
+
+        // then
+        assertThat(counts).containsOnlyKeys(a, b);
+        assertThat(counts.get(b)).isEqualTo(1);
+        assertThat(counts.get(a)).isEqualTo(2);
+
+        // when: 脚本缓存被清空后不受影响，也不会重复计数
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
+        val again = counter.countAll(List.of(a), interval);
+
+        // then
+        assertThat(again.get(a)).isEqualTo(3);
+    }
+
     @Test
     void storage_should_be_worked() throws Exception {
         // given
@@ -159,4 +195,25 @@ class RedisBasedInfraServiceImplTest {
         storage.deleteLock("test_lock");
     }
 
+    @Test
+    void fencing_token_should_increase() throws Exception {
+        // given
+        val storage = new RedisBasedInfraServiceImpl(stringRedisTemplate, objectMapper);
+        val lock = (FencedLock) storage.getLock("fenced_lock");
+
+        // when
+        assertThat(lock.tryLock(5, TimeUnit.SECONDS)).isTrue();
+        val first = lock.getFencingToken();
+        lock.unlock();
+        assertThat(lock.tryLock(5, TimeUnit.SECONDS)).isTrue();
+        val second = lock.getFencingToken();
+        lock.unlock();
+
+        // then
+        assertThat(first).isGreaterThan(0);
+        assertThat(second).isGreaterThan(first);
+        assertThat(lock.getFencingToken()).isEqualTo(0);
+        storage.shutdown();
+    }
+
 }
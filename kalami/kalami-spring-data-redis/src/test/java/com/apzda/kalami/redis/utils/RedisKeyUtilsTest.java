@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.apzda.kalami.redis.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author ninggf (windywany@gmail.com)
+ * @since 2026/10/18
+ * @version 1.0.0
+ */
+class RedisKeyUtilsTest {
+
+    @Test
+    void escaped_parts_should_not_collide() {
+        // given
+        String a = RedisKeyUtils.escape("a:b") + ":" + RedisKeyUtils.escape("c");
+        String b = RedisKeyUtils.escape("a") + ":" + RedisKeyUtils.escape("b:c");
+
+        // then
+        assertThat(a).isNotEqualTo(b);
+        assertThat(RedisKeyUtils.escape("a%3Ab")).isNotEqualTo(RedisKeyUtils.escape("a:b"));
+        assertThat(RedisKeyUtils.escape("abc")).isEqualTo("abc");
+        assertThat(RedisKeyUtils.escape(null)).isEmpty();
+    }
+
+    @Test
+    void glob_should_escape_wildcards() {
+        assertThat(RedisKeyUtils.glob(null)).isEqualTo("*");
+        assertThat(RedisKeyUtils.glob("a*b?[c]\\")).isEqualTo("a\\*b\\?\\[c\\]\\\\");
+    }
+
+}